@@ -0,0 +1,111 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.benchmarks;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import fr.greencodeinitiative.java.checks.ArrayCopyCheck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.java.model.JavaTree;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static fr.greencodeinitiative.java.utils.JavaParserTestUtils.parse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Analysis of nested loops by EC27 : the time per loop should not depend on the nesting depth.
+ * <p>
+ * Subscription visitors can not drive the visit : the tree is walked here as the analyzer does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayCopyCheckBenchmark {
+
+    @Param({"5", "10", "20"})
+    private int depth;
+
+    private CompilationUnitTree tree;
+    private JavaFileScannerContext context;
+
+    @Setup
+    public void setup() {
+        StringBuilder source = new StringBuilder(16_384)
+                .append("import java.util.*;\n")
+                .append("class A {\n  void m(int[][] src, int[][] dst, List<Integer> list) {\n");
+        for (int i = 0; i < depth; i++) {
+            source.append("for (int i").append(i).append(" = 0; i").append(i).append(" < src.length; i")
+                    .append(i).append("++) {\n")
+                    .append("  dst[0][i").append(i).append("] = src[0][i").append(i).append("];\n")
+                    .append("  if (list.isEmpty()) { list.add(src[1][i").append(i).append("]); }\n")
+                    .append("  list.add(list.get(i").append(i).append("));\n");
+        }
+        for (int i = 0; i < depth; i++) {
+            source.append("}\n");
+        }
+        tree = parse(source.append("  }\n}\n").toString());
+        context = mock(JavaFileScannerContext.class, withSettings().stubOnly());
+        when(context.getTree()).thenReturn(tree);
+    }
+
+    @Benchmark
+    public ArrayCopyCheck scanNestedLoops() {
+        ArrayCopyCheck check = new ArrayCopyCheck();
+        check.setContext(context);
+        walk(check, EnumSet.copyOf(check.nodesToVisit()), tree);
+        check.leaveFile(context);
+        return check;
+    }
+
+    private static void walk(ArrayCopyCheck check, Set<Tree.Kind> kinds, Tree tree) {
+        boolean subscribed = kinds.contains(tree.kind());
+        if (subscribed) {
+            check.visitNode(tree);
+        }
+        JavaTree javaTree = (JavaTree) tree;
+        if (!javaTree.isLeaf()) {
+            for (Tree child : javaTree.getChildren()) {
+                if (child != null) {
+                    walk(check, kinds, child);
+                }
+            }
+        }
+        if (subscribed) {
+            check.leaveNode(tree);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import fr.greencodeinitiative.java.checks.enums.ConstOrLiteralDeclare;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static fr.greencodeinitiative.java.utils.JavaParserTestUtils.collect;
+import static fr.greencodeinitiative.java.utils.JavaParserTestUtils.parse;
+
+/**
+ * Classification of the arguments of EC78 setters : indexed lookup versus the former scan of all the enum values.
+ * <p>
+ * The former implementation is reproduced in {@link FormerConstOrLiteralDeclare}. It only knew the wrapper types and
+ * {@code BigDecimal} : the source only uses these types, so both variants classify the same trees, which is checked
+ * before timing them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstOrLiteralDeclareBenchmark {
+
+    private List<MemberSelectExpressionTree> memberSelects;
+    private List<MethodInvocationTree> invocations;
+
+    @Setup
+    public void setup() {
+        StringBuilder source = new StringBuilder(16_384)
+                .append("import java.math.*;\nimport java.util.*;\n")
+                .append("class A {\n  void m(java.sql.PreparedStatement stmt, List<String> data) throws Exception {\n");
+        for (int i = 0; i < 200; i++) {
+            source.append("    stmt.setInt(1, Integer.MAX_VALUE);\n")
+                    .append("    stmt.setBigDecimal(2, BigDecimal.valueOf(").append(i).append("));\n")
+                    .append("    stmt.setString(3, data.get(").append(i).append("));\n")
+                    .append("    stmt.setObject(4, Long.valueOf(data.size()));\n")
+                    .append("    stmt.setObject(5, Boolean.TRUE);\n");
+        }
+        CompilationUnitTree tree = parse(source.append("  }\n}\n").toString());
+        memberSelects = collect(tree, Tree.Kind.MEMBER_SELECT, MemberSelectExpressionTree.class);
+        invocations = collect(tree, Tree.Kind.METHOD_INVOCATION, MethodInvocationTree.class);
+        int indexed = indexedLookup();
+        int scanned = linearScan();
+        if (indexed != scanned) {
+            throw new IllegalStateException("Variants classify different trees: " + indexed + " != " + scanned);
+        }
+    }
+
+    @Benchmark
+    public int indexedLookup() {
+        int count = 0;
+        for (MemberSelectExpressionTree memberSelect : memberSelects) {
+            if (ConstOrLiteralDeclare.isWellKnownConstant(memberSelect)) {
+                count++;
+            }
+        }
+        for (MethodInvocationTree invocation : invocations) {
+            if (ConstOrLiteralDeclare.isFactoryMethod(invocation)
+                    && invocation.arguments().stream().allMatch(ConstOrLiteralDeclare::isLiteral)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int count = 0;
+        for (MemberSelectExpressionTree memberSelect : memberSelects) {
+            if (Stream.of(FormerConstOrLiteralDeclare.values()).anyMatch(o -> o.isPublicMember(memberSelect))) {
+                count++;
+            }
+        }
+        for (MethodInvocationTree invocation : invocations) {
+            if (Stream.of(FormerConstOrLiteralDeclare.values()).anyMatch(o -> o.isLiteralDeclare(invocation))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Copy of {@code ConstOrLiteralDeclare} before types were indexed by class name.
+     */
+    private enum FormerConstOrLiteralDeclare {
+        BOOLEAN(Boolean.class, Set.of("TRUE", "FALSE")),
+        BYTE(Byte.class, Defaults.NUMBER_MEMBERS),
+        SHORT(Short.class, Defaults.NUMBER_MEMBERS),
+        INTEGER(Integer.class, Defaults.NUMBER_MEMBERS),
+        LONG(Long.class, Defaults.NUMBER_MEMBERS),
+        FLOAT(Float.class, Defaults.NUMBER_MEMBERS),
+        DOUBLE(Double.class, Defaults.NUMBER_MEMBERS),
+        CHARACTER(Character.class, Defaults.NUMBER_MEMBERS),
+        BIGDECIMAL(BigDecimal.class, Set.of("ZERO", "ONE", "TEN"));
+
+        private static final class Defaults {
+            private static final Set<String> NUMBER_MEMBERS = Set.of("MIN_VALUE", "MAX_VALUE");
+            private static final MethodMatchers VALUE_OF = MethodMatchers.create()
+                    .ofSubTypes(Number.class.getName(), Boolean.class.getName(), Character.class.getName())
+                    .names("valueOf")
+                    .addParametersMatcher(args -> !args.isEmpty()).build();
+        }
+
+        private final Class<?> type;
+        private final Set<String> publicMembers;
+
+        FormerConstOrLiteralDeclare(Class<?> type, Set<String> publicMembers) {
+            this.type = type;
+            this.publicMembers = publicMembers;
+        }
+
+        boolean isPublicMember(MemberSelectExpressionTree tree) {
+            return type.getName().equals(tree.expression().symbolType().fullyQualifiedName())
+                    && publicMembers.contains(tree.identifier().toString());
+        }
+
+        boolean isLiteralDeclare(MethodInvocationTree tree) {
+            return Defaults.VALUE_OF.matches(tree)
+                    && tree.arguments().stream().allMatch(ConstOrLiteralDeclare::isLiteral);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import fr.greencodeinitiative.java.utils.LinearRegex;
+import fr.greencodeinitiative.java.utils.SqlStatement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scan of large literals : SQL tokenizer and RE2J ({@link LinearRegex}) versus {@code java.util.regex}.
+ * <p>
+ * Run in sample time mode to compare the worst-case latency ({@code p1.00}) on top of the throughput : the
+ * {@code adversarial} literal (a repeated {@code select} without {@code from}) makes the backtracking of
+ * {@code java.util.regex} quadratic.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiteralScanBenchmark {
+
+    private static final String SELECT_COLUMNS = "select\\s+[\\w\\s,]*\\s+from";
+
+    private static final LinearRegex LINEAR = LinearRegex.compileIgnoreCase(SELECT_COLUMNS);
+    private static final java.util.regex.Pattern BACKTRACKING =
+            java.util.regex.Pattern.compile(SELECT_COLUMNS, java.util.regex.Pattern.CASE_INSENSITIVE);
+
+    @Param({"sql", "text", "adversarial"})
+    public String corpus;
+
+    private String literal;
+
+    @Setup
+    public void setup() {
+        StringBuilder text = new StringBuilder(16_384);
+        switch (corpus) {
+            case "sql":
+                text.append("SELECT id");
+                for (int i = 0; text.length() < 8_192; i++) {
+                    text.append(", column").append(i);
+                }
+                text.append(" FROM my_table WHERE name LIKE '%bob%' ORDER BY id");
+                break;
+            case "text":
+                while (text.length() < 8_192) {
+                    text.append("Please select the columns of the table, then update the form. ");
+                }
+                break;
+            default:
+                while (text.length() < 8_192) {
+                    text.append("select ");
+                }
+                break;
+        }
+        literal = text.toString();
+    }
+
+    @Benchmark
+    public boolean tokenizer() {
+        SqlStatement statement = SqlStatement.parse(literal);
+        return statement != null && statement.has(SqlStatement.Feature.SELECT_WITHOUT_LIMIT);
+    }
+
+    @Benchmark
+    public boolean linearRegex() {
+        return LINEAR.find(literal);
+    }
+
+    @Benchmark
+    public boolean backtrackingRegex() {
+        return BACKTRACKING.matcher(literal).find();
+    }
+}
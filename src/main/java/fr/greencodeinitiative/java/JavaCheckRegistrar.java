@@ -21,20 +21,32 @@ import java.util.Collections;
 import java.util.List;
 
 import fr.greencodeinitiative.java.checks.ArrayCopyCheck;
+import fr.greencodeinitiative.java.checks.AvoidBlockingCallsInSynchronized;
+import fr.greencodeinitiative.java.checks.AvoidEagerLogMessageBuilding;
+import fr.greencodeinitiative.java.checks.AvoidExceptionsAsControlFlowInLoops;
 import fr.greencodeinitiative.java.checks.AvoidFullSQLRequest;
 import fr.greencodeinitiative.java.checks.AvoidGettingSizeCollectionInLoop;
+import fr.greencodeinitiative.java.checks.AvoidInefficientStreamPipelines;
+import fr.greencodeinitiative.java.checks.AvoidLoadingWholeResultSet;
 import fr.greencodeinitiative.java.checks.AvoidMultipleIfElseStatement;
+import fr.greencodeinitiative.java.checks.AvoidParallelStreamMisuse;
 import fr.greencodeinitiative.java.checks.AvoidRegexPatternNotStatic;
 import fr.greencodeinitiative.java.checks.AvoidSQLRequestInLoop;
 import fr.greencodeinitiative.java.checks.AvoidSetConstantInBatchUpdate;
 import fr.greencodeinitiative.java.checks.AvoidSpringRepositoryCallInLoopOrStreamCheck;
 import fr.greencodeinitiative.java.checks.AvoidStatementForDMLQueries;
+import fr.greencodeinitiative.java.checks.AvoidSynchronizedHotPaths;
+import fr.greencodeinitiative.java.checks.AvoidThreadPoolMisuse;
+import fr.greencodeinitiative.java.checks.AvoidUnboundedMemoizationCache;
+import fr.greencodeinitiative.java.checks.AvoidUnboundedQueryInRequestHandler;
 import fr.greencodeinitiative.java.checks.AvoidUsageOfStaticCollections;
 import fr.greencodeinitiative.java.checks.FreeResourcesOfAutoCloseableInterface;
 import fr.greencodeinitiative.java.checks.IncrementCheck;
 import fr.greencodeinitiative.java.checks.InitializeBufferWithAppropriateSize;
 import fr.greencodeinitiative.java.checks.NoFunctionCallWhenDeclaringForLoop;
 import fr.greencodeinitiative.java.checks.OptimizeReadFileExceptions;
+import fr.greencodeinitiative.java.checks.ReuseJdbcConnectionsAndStatements;
+import fr.greencodeinitiative.java.checks.UseJdbcFetchAndBatchSize;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonarsource.api.sonarlint.SonarLintSide;
@@ -62,7 +74,19 @@ public class JavaCheckRegistrar implements CheckRegistrar {
             InitializeBufferWithAppropriateSize.class,
             AvoidSetConstantInBatchUpdate.class,
             FreeResourcesOfAutoCloseableInterface.class,
-            AvoidMultipleIfElseStatement.class
+            AvoidMultipleIfElseStatement.class,
+            AvoidUnboundedMemoizationCache.class,
+            ReuseJdbcConnectionsAndStatements.class,
+            AvoidUnboundedQueryInRequestHandler.class,
+            AvoidLoadingWholeResultSet.class,
+            UseJdbcFetchAndBatchSize.class,
+            AvoidExceptionsAsControlFlowInLoops.class,
+            AvoidEagerLogMessageBuilding.class,
+            AvoidSynchronizedHotPaths.class,
+            AvoidBlockingCallsInSynchronized.class,
+            AvoidThreadPoolMisuse.class,
+            AvoidParallelStreamMisuse.class,
+            AvoidInefficientStreamPipelines.class
     );
 
     /**
@@ -17,6 +17,7 @@
  */
 package fr.greencodeinitiative.java;
 
+import fr.greencodeinitiative.java.utils.AnalysisBudget;
 import org.sonar.api.Plugin;
 
 public class JavaPlugin implements Plugin {
@@ -29,6 +30,9 @@ public class JavaPlugin implements Plugin {
         // batch extensions -> objects are instantiated during code analysis
         context.addExtension(JavaCheckRegistrar.class);
 
+        // properties
+        context.addExtension(AnalysisBudget.budgetProperty());
+
     }
 
 }
@@ -17,29 +17,40 @@
  */
 package fr.greencodeinitiative.java.checks;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.ParametersAreNonnullByDefault;
 
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.ArrayAccessExpressionTree;
 import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.BlockTree;
-import org.sonar.plugins.java.api.tree.CatchTree;
+import org.sonar.plugins.java.api.tree.BreakStatementTree;
+import org.sonar.plugins.java.api.tree.ContinueStatementTree;
 import org.sonar.plugins.java.api.tree.DoWhileStatementTree;
 import org.sonar.plugins.java.api.tree.ExpressionStatementTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.ForEachStatement;
 import org.sonar.plugins.java.api.tree.ForStatementTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
-import org.sonar.plugins.java.api.tree.IfStatementTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.NewArrayTree;
 import org.sonar.plugins.java.api.tree.StatementTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
-import org.sonar.plugins.java.api.tree.TryStatementTree;
+import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 import org.sonar.plugins.java.api.tree.WhileStatementTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
@@ -49,6 +60,19 @@ import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 /**
  * Array Copy Check
+ * <p>
+ * Reports loops copying element by element :
+ * <ul>
+ *     <li>an array into another array (System.arraycopy, or Arrays.copyOf when the copy is used to resize)</li>
+ *     <li>a collection into an array (toArray)</li>
+ *     <li>an array into a collection (Collections.addAll)</li>
+ *     <li>a collection into another collection (copy constructor or addAll)</li>
+ *     <li>a row of a two-dimensional array into another (System.arraycopy or clone of the row)</li>
+ * </ul>
+ * Also reports System.arraycopy called once per element in a loop.
+ * Array copies are reported even when conditional, other copies only when done at each iteration : not under a
+ * condition and not after a {@code continue} or {@code break} of the loop. Elements read by index must be read
+ * with the loop counter.
  *
  * @author Aubay
  * @formatter:off
@@ -59,67 +83,386 @@ public class ArrayCopyCheck extends IssuableSubscriptionVisitor {
 
     //@formatter:on
     protected static final String MESSAGERULE = "Use System.arraycopy to copy arrays";
+    protected static final String MESSAGE_RESIZE = "Use Arrays.copyOf to copy and resize arrays";
+    protected static final String MESSAGE_COLLECTION_TO_ARRAY = "Use toArray(new T[0]) to copy a collection into an array";
+    protected static final String MESSAGE_ARRAY_TO_COLLECTION = "Use Collections.addAll or Arrays.asList to copy an array into a collection";
+    protected static final String MESSAGE_COLLECTION_COPY = "Use new ArrayList<>(collection) or addAll to copy a collection";
+    protected static final String MESSAGE_ROW_COPY = "Use System.arraycopy or clone to copy each row of the array";
+    protected static final String MESSAGE_ARRAYCOPY_PER_ELEMENT = "Use a single System.arraycopy call to copy all the elements";
+
+    private static final MethodMatchers LIST_GET = MethodMatchers.create()
+            .ofSubTypes("java.util.List")
+            .names("get")
+            .addParametersMatcher("int")
+            .build();
+
+    private static final MethodMatchers COLLECTION_ADD = MethodMatchers.create()
+            .ofSubTypes("java.util.Collection")
+            .names("add")
+            .addParametersMatcher(parameters -> parameters.size() == 1)
+            .build();
+
+    private static final MethodMatchers SYSTEM_ARRAYCOPY = MethodMatchers.create()
+            .ofTypes("java.lang.System")
+            .names("arraycopy")
+            .addParametersMatcher("java.lang.Object", "int", "java.lang.Object", "int", "int")
+            .build();
+
+    /**
+     * Loops being visited, innermost first. Lambdas and classes push a {@link Bloc#BARRIER} : their statements
+     * are not executed by the enclosing loop.
+     */
+    private final Deque<Bloc> blocs = new ArrayDeque<>();
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        blocs.clear();
+    }
 
     @Override
     public List<Kind> nodesToVisit() {
-        return Arrays.asList(Kind.FOR_STATEMENT, Kind.WHILE_STATEMENT, Kind.DO_STATEMENT, Kind.FOR_EACH_STATEMENT);
+        return Arrays.asList(
+                // loops
+                Kind.FOR_STATEMENT, Kind.WHILE_STATEMENT, Kind.DO_STATEMENT, Kind.FOR_EACH_STATEMENT,
+                // statements not executed at each iteration
+                Kind.IF_STATEMENT, Kind.CATCH, Kind.SWITCH_STATEMENT, Kind.SWITCH_EXPRESSION,
+                // jumps making the following statements conditional
+                Kind.CONTINUE_STATEMENT, Kind.BREAK_STATEMENT,
+                // statements not executed by the loop
+                Kind.LAMBDA_EXPRESSION, Kind.CLASS, Kind.ENUM, Kind.INTERFACE, Kind.RECORD,
+                // copies
+                Kind.EXPRESSION_STATEMENT);
     }
 
     /**
      * Check a node. Report issue when found.
+     * <p>
+     * All the file is visited in a single pass : each statement is checked once, against the innermost loop.
      */
     @Override
     public void visitNode(final Tree tree) {
-        // Determine blocks to be analyzed
-        final List<Bloc> blocs = getBlocsOfCode(tree);
+        final Bloc bloc = blocs.peek();
+        switch (tree.kind()) {
+            case FOR_STATEMENT:
+            case WHILE_STATEMENT:
+            case DO_STATEMENT:
+            case FOR_EACH_STATEMENT:
+                blocs.push(newBloc(tree));
+                break;
+            case EXPRESSION_STATEMENT:
+                if (bloc != null && bloc != Bloc.BARRIER && !isForInitializer(bloc, tree)) {
+                    handleExpression(bloc, ((ExpressionStatementTree) tree).expression());
+                }
+                break;
+            case IF_STATEMENT:
+            case CATCH:
+            case SWITCH_STATEMENT:
+            case SWITCH_EXPRESSION:
+                if (bloc != null && bloc != Bloc.BARRIER) {
+                    bloc.enterConditional();
+                }
+                break;
+            case CONTINUE_STATEMENT:
+            case BREAK_STATEMENT:
+                if (bloc != null && bloc != Bloc.BARRIER) {
+                    handleJump(bloc, tree);
+                }
+                break;
+            default:
+                blocs.push(Bloc.BARRIER);
+                break;
+        }
+    }
 
-        // Analyze blocks
-        for (final Bloc bloc : blocs) {
-            if (bloc.isForeach()) {
-                handleForEachAssignments(tree, bloc);
+    @Override
+    public void leaveNode(final Tree tree) {
+        switch (tree.kind()) {
+            case EXPRESSION_STATEMENT:
+            case CONTINUE_STATEMENT:
+            case BREAK_STATEMENT:
+                break;
+            case IF_STATEMENT:
+            case CATCH:
+            case SWITCH_STATEMENT:
+            case SWITCH_EXPRESSION:
+                final Bloc bloc = blocs.peek();
+                if (bloc != null && bloc != Bloc.BARRIER) {
+                    bloc.leaveConditional();
+                }
+                break;
+            default:
+                blocs.pop();
+                break;
+        }
+    }
+
+    /**
+     * Statements following a jump out of the current iteration are not executed at each iteration.
+     * A labeled jump may leave several loops : all of them are marked.
+     *
+     * @param bloc
+     * @param jump
+     */
+    private void handleJump(final Bloc bloc, final Tree jump) {
+        final IdentifierTree label = jump.is(Kind.CONTINUE_STATEMENT)
+                ? ((ContinueStatementTree) jump).label()
+                : ((BreakStatementTree) jump).label();
+        if (label != null) {
+            for (final Bloc enclosing : blocs) {
+                if (enclosing == Bloc.BARRIER) {
+                    break;
+                }
+                enclosing.markJumped();
+            }
+        } else if (jump.is(Kind.CONTINUE_STATEMENT) || !isSwitchBreak(bloc, jump)) {
+            bloc.markJumped();
+        }
+    }
+
+    /**
+     * @param bloc
+     * @param jump unlabeled break
+     * @return true if the break leaves a switch enclosed in the loop, not the loop itself
+     */
+    private static boolean isSwitchBreak(final Bloc bloc, final Tree jump) {
+        Tree parent = jump.parent();
+        while (parent != null && parent != bloc.getLoop()) {
+            if (parent.is(Kind.SWITCH_STATEMENT)) {
+                return true;
             }
-            handleAssignments(tree, bloc);
+            parent = parent.parent();
         }
+        return false;
     }
 
     /**
-     * Handle for-each assignments controls.
+     * Initializers of a for loop are only executed once.
      *
-     * @param tree
      * @param bloc
+     * @param statement
+     * @return true if the statement is an initializer of the loop
      */
-    private void handleForEachAssignments(final Tree tree, final Bloc bloc) {
-        for (final AssignmentExpressionTree assignment : extractAssignments(tree, bloc)) {
-            final ExpressionTree destination = assignment.variable();
-            final ExpressionTree source = assignment.expression();
-            if (isArray(destination) && isVariable(source)) {
-                final String destinationIdentifier = getArrayIdentifier(destination);
-                final String sourceIdentifier = ((IdentifierTree) source).name();
-                if (bloc.getValue().equals(sourceIdentifier) && !bloc.getIterable().equals(destinationIdentifier)) {
-                    reportIssue(tree, MESSAGERULE);
+    private static boolean isForInitializer(final Bloc bloc, final Tree statement) {
+        final Tree loop = bloc.getLoop();
+        return loop.is(Kind.FOR_STATEMENT) && statement.parent() == ((ForStatementTree) loop).initializer();
+    }
+
+    /**
+     * Report the loop if the expression copies an element.
+     *
+     * @param bloc
+     * @param expression
+     */
+    private void handleExpression(final Bloc bloc, final ExpressionTree expression) {
+        String message = null;
+        if (expression.is(Kind.ASSIGNMENT)) {
+            message = handleAssignment(bloc, (AssignmentExpressionTree) expression);
+        } else if (expression.is(Kind.METHOD_INVOCATION)) {
+            final MethodInvocationTree invocation = (MethodInvocationTree) expression;
+            if (isArraycopyOfOneElement(invocation)) {
+                message = MESSAGE_ARRAYCOPY_PER_ELEMENT;
+            } else if (!bloc.isConditional()) {
+                message = handleAdd(bloc, invocation);
+            }
+        }
+        if (message != null) {
+            reportIssue(bloc.getLoop(), message);
+        }
+    }
+
+    /**
+     * Handle assignments controls : {@code dest[i] = src[i]}, {@code dest[i] = value} (value of for-each loop)
+     * or {@code dest[i] = list.get(i)}.
+     *
+     * @param bloc
+     * @param assignment
+     * @return message of the issue to report, null if none
+     */
+    @CheckForNull
+    private String handleAssignment(final Bloc bloc, final AssignmentExpressionTree assignment) {
+        final ExpressionTree destination = assignment.variable();
+        final ExpressionTree source = assignment.expression();
+        if (!isArray(destination)) {
+            return null;
+        }
+        if (isRowElementCopy(destination, source)) {
+            return MESSAGE_ROW_COPY;
+        }
+        final String destinationIdentifier = getArrayIdentifier(destination);
+        if (isArray(source)) {
+            final String sourceIdentifier = getArrayIdentifier(source);
+            if (destinationIdentifier != null && !destinationIdentifier.equals(sourceIdentifier)) {
+                return isResize(bloc.getLoop(), destination, sourceIdentifier) ? MESSAGE_RESIZE : MESSAGERULE;
+            }
+        } else if (bloc.isForeach() && isVariable(source)) {
+            final String sourceIdentifier = ((IdentifierTree) source).name();
+            if (bloc.getValue().equals(sourceIdentifier) && !bloc.getIterable().equals(destinationIdentifier)
+                    && isIncrementedIndex(getIndex(destination))) {
+                if (bloc.isIterableArray()) {
+                    return MESSAGERULE;
                 }
+                return bloc.isConditional() ? null : MESSAGE_COLLECTION_TO_ARRAY;
             }
+        } else if (!bloc.isConditional() && source.is(Kind.METHOD_INVOCATION) && LIST_GET.matches((MethodInvocationTree) source)
+                && bloc.isCounter(getIndex(destination)) && bloc.isCounter(((MethodInvocationTree) source).arguments().get(0))) {
+            return MESSAGE_COLLECTION_TO_ARRAY;
         }
+        return null;
+    }
+
+    private static ExpressionTree getIndex(final ExpressionTree arrayAccess) {
+        return ((ArrayAccessExpressionTree) arrayAccess).dimension().expression();
     }
 
     /**
-     * Handle assignments controls.
+     * The index of an array filled by a for-each loop must be incremented at each element : {@code dest[i++] = value}.
+     *
+     * @param index
+     * @return true if the index is a variable incremented in place
+     */
+    private static boolean isIncrementedIndex(final ExpressionTree index) {
+        return index.is(Kind.POSTFIX_INCREMENT, Kind.PREFIX_INCREMENT) && isVariable(((UnaryExpressionTree) index).expression());
+    }
+
+    /**
+     * Handle collection additions controls : {@code list.add(src[i])}, {@code list.add(other.get(i))}
+     * or {@code list.add(value)} (value of for-each loop).
      *
-     * @param tree
      * @param bloc
+     * @param invocation
+     * @return message of the issue to report, null if none
+     */
+    @CheckForNull
+    private String handleAdd(final Bloc bloc, final MethodInvocationTree invocation) {
+        if (!COLLECTION_ADD.matches(invocation)) {
+            return null;
+        }
+        final String collectionIdentifier = getReceiverIdentifier(invocation);
+        final ExpressionTree element = invocation.arguments().get(0);
+        if (isArray(element)) {
+            return bloc.isCounter(((ArrayAccessExpressionTree) element).dimension().expression())
+                    ? MESSAGE_ARRAY_TO_COLLECTION : null;
+        }
+        if (element.is(Kind.METHOD_INVOCATION) && LIST_GET.matches((MethodInvocationTree) element)) {
+            if (!bloc.isCounter(((MethodInvocationTree) element).arguments().get(0))) {
+                return null;
+            }
+            final String sourceIdentifier = getReceiverIdentifier((MethodInvocationTree) element);
+            return sourceIdentifier != null && sourceIdentifier.equals(collectionIdentifier) ? null : MESSAGE_COLLECTION_COPY;
+        }
+        if (bloc.isForeach() && isVariable(element) && bloc.getValue().equals(((IdentifierTree) element).name())
+                && !bloc.getIterable().equals(collectionIdentifier)) {
+            return bloc.isIterableArray() ? MESSAGE_ARRAY_TO_COLLECTION : MESSAGE_COLLECTION_COPY;
+        }
+        return null;
+    }
+
+    /**
+     * Verify if an element of a row is copied into the same element of a row of another two-dimensional array :
+     * {@code dest[i][j] = src[i][j]}.
+     *
+     * @param destination
+     * @param source
+     * @return true if the row of the source is copied element by element
+     */
+    private static boolean isRowElementCopy(final ExpressionTree destination, final ExpressionTree source) {
+        if (!(source instanceof ArrayAccessExpressionTree)) {
+            return false;
+        }
+        final ArrayAccessExpressionTree destinationElement = (ArrayAccessExpressionTree) destination;
+        final ArrayAccessExpressionTree sourceElement = (ArrayAccessExpressionTree) source;
+        if (!destinationElement.expression().is(Kind.ARRAY_ACCESS_EXPRESSION)
+                || !sourceElement.expression().is(Kind.ARRAY_ACCESS_EXPRESSION)) {
+            return false;
+        }
+        final ArrayAccessExpressionTree destinationRow = (ArrayAccessExpressionTree) destinationElement.expression();
+        final ArrayAccessExpressionTree sourceRow = (ArrayAccessExpressionTree) sourceElement.expression();
+        final String destinationIdentifier = getArrayIdentifier(destinationRow);
+        return destinationIdentifier != null && !destinationIdentifier.equals(getArrayIdentifier(sourceRow))
+                && isSameVariable(destinationRow.dimension().expression(), sourceRow.dimension().expression())
+                && isSameVariable(destinationElement.dimension().expression(), sourceElement.dimension().expression());
+    }
+
+    /**
+     * Verify if the invocation is {@code System.arraycopy(src, i, dest, j, 1)}
+     *
+     * @param invocation
+     * @return true if only one element is copied
      */
-    private void handleAssignments(final Tree tree, final Bloc bloc) {
-        for (final AssignmentExpressionTree assignment : extractAssignments(tree, bloc)) {
-            final ExpressionTree destVariable = assignment.variable();
-            final ExpressionTree srcEspression = assignment.expression();
-            if (isArray(destVariable) && isArray(srcEspression)) {
-                final String destArray = getArrayIdentifier(destVariable);
-                final String srcArray = getArrayIdentifier(srcEspression);
-                if (destArray != null && !destArray.equals(srcArray)) {
-                    reportIssue(tree, MESSAGERULE);
+    private static boolean isArraycopyOfOneElement(final MethodInvocationTree invocation) {
+        return SYSTEM_ARRAYCOPY.matches(invocation)
+                && invocation.arguments().get(4).asConstant(Integer.class).filter(length -> length == 1).isPresent();
+    }
+
+    private static boolean isSameVariable(final ExpressionTree first, final ExpressionTree second) {
+        return isVariable(first) && isVariable(second)
+                && ((IdentifierTree) first).name().equals(((IdentifierTree) second).name());
+    }
+
+    /**
+     * Verify if the destination array is only a bigger (or smaller) copy of the source array :
+     * created with a size computed from the source length, or assigned to the source after the loop.
+     *
+     * @param tree             the loop
+     * @param destination      access to the destination array
+     * @param sourceIdentifier name of the source array
+     * @return true if the copy is a resize
+     */
+    private boolean isResize(final Tree tree, final ExpressionTree destination, @CheckForNull final String sourceIdentifier) {
+        if (sourceIdentifier == null) {
+            return false;
+        }
+        final ExpressionTree destinationArray = ((ArrayAccessExpressionTree) destination).expression();
+        final Symbol destinationSymbol = ((IdentifierTree) destinationArray).symbol();
+        final Tree declaration = destinationSymbol.declaration();
+        if (declaration instanceof VariableTree) {
+            final ExpressionTree initializer = ((VariableTree) declaration).initializer();
+            if (initializer != null && initializer.is(Kind.NEW_ARRAY)
+                    && mentionsLength(((NewArrayTree) initializer).dimensions(), sourceIdentifier)) {
+                return true;
+            }
+        }
+        final Tree parent = tree.parent();
+        if (parent instanceof BlockTree) {
+            final List<StatementTree> statements = ((BlockTree) parent).body();
+            for (int i = statements.indexOf(tree) + 1; i < statements.size(); i++) {
+                if (isAssignmentOf(statements.get(i), sourceIdentifier, destinationSymbol)) {
+                    return true;
                 }
             }
         }
+        return false;
+    }
+
+    private static boolean mentionsLength(final List<? extends Tree> dimensions, final String arrayIdentifier) {
+        final boolean[] found = {false};
+        final BaseTreeVisitor visitor = new BaseTreeVisitor() {
+            @Override
+            public void visitMemberSelectExpression(final MemberSelectExpressionTree tree) {
+                if ("length".equals(tree.identifier().name()) && isVariable(tree.expression())
+                        && arrayIdentifier.equals(((IdentifierTree) tree.expression()).name())) {
+                    found[0] = true;
+                }
+                super.visitMemberSelectExpression(tree);
+            }
+        };
+        for (final Tree dimension : dimensions) {
+            dimension.accept(visitor);
+        }
+        return found[0];
+    }
+
+    private static boolean isAssignmentOf(final StatementTree statement, final String variableIdentifier,
+                                          final Symbol valueSymbol) {
+        if (statement.is(Kind.EXPRESSION_STATEMENT)
+                && ((ExpressionStatementTree) statement).expression().is(Kind.ASSIGNMENT)) {
+            final AssignmentExpressionTree assignment = (AssignmentExpressionTree) ((ExpressionStatementTree) statement).expression();
+            return isVariable(assignment.variable()) && isVariable(assignment.expression())
+                    && variableIdentifier.equals(((IdentifierTree) assignment.variable()).name())
+                    && valueSymbol.equals(((IdentifierTree) assignment.expression()).symbol());
+        }
+        return false;
     }
 
     /**
@@ -128,7 +471,8 @@ public class ArrayCopyCheck extends IssuableSubscriptionVisitor {
      * @param expression of Array
      * @return Array's name
      */
-    private String getArrayIdentifier(final ExpressionTree expression) {
+    @CheckForNull
+    private static String getArrayIdentifier(final ExpressionTree expression) {
         if (expression instanceof ArrayAccessExpressionTree) {
             final ExpressionTree identifier = ((ArrayAccessExpressionTree) expression).expression();
             if (identifier instanceof IdentifierTree) {
@@ -138,13 +482,30 @@ public class ArrayCopyCheck extends IssuableSubscriptionVisitor {
         return null;
     }
 
+    /**
+     * Extract variable's name of the object on which a method is invoked
+     *
+     * @param invocation
+     * @return name of the receiver, null if not a variable
+     */
+    @CheckForNull
+    private static String getReceiverIdentifier(final MethodInvocationTree invocation) {
+        if (invocation.methodSelect().is(Kind.MEMBER_SELECT)) {
+            final ExpressionTree receiver = ((MemberSelectExpressionTree) invocation.methodSelect()).expression();
+            if (receiver instanceof IdentifierTree) {
+                return ((IdentifierTree) receiver).name();
+            }
+        }
+        return null;
+    }
+
     /**
      * Verify if expression is an Array
      *
      * @param expression
      * @return true if instance of ArrayAccessExpressionTree, false else
      */
-    private boolean isArray(final ExpressionTree expression) {
+    private static boolean isArray(final ExpressionTree expression) {
         return expression instanceof ArrayAccessExpressionTree;
     }
 
@@ -154,139 +515,98 @@ public class ArrayCopyCheck extends IssuableSubscriptionVisitor {
      * @param source
      * @return
      */
-    private boolean isVariable(final ExpressionTree source) {
+    private static boolean isVariable(final ExpressionTree source) {
         return source instanceof IdentifierTree;
     }
 
     /**
-     * Extract nested blocks of code
+     * Create the context of a loop
      *
      * @param tree
      * @return
      */
-    private List<Bloc> getBlocsOfCode(final Tree tree) {
-        final List<Bloc> blocs = new ArrayList<>();
-        if (tree instanceof ForStatementTree) {
-            ForStatementTree castedForTree = (ForStatementTree) tree;
-            addBloc(blocs, castedForTree.statement());
-        } else if (tree instanceof ForEachStatement) {
-            ForEachStatement castedForEachTree = (ForEachStatement) tree;
-            addForEachBloc(blocs, castedForEachTree.statement(), castedForEachTree.variable(),
-                    castedForEachTree.expression());
-        } else if (tree instanceof WhileStatementTree) {
-            WhileStatementTree castedWhileTree = (WhileStatementTree) tree;
-            addBloc(blocs, castedWhileTree.statement());
-        } else if (tree instanceof DoWhileStatementTree) {
-            DoWhileStatementTree castedDoWhileTree = (DoWhileStatementTree) tree;
-            addBloc(blocs, castedDoWhileTree.statement());
-        } else if (tree instanceof IfStatementTree) {
-            IfStatementTree castedIfTree = (IfStatementTree) tree;
-            addBloc(blocs, castedIfTree.thenStatement());
-            addBloc(blocs, castedIfTree.elseStatement());
-        } else if (tree instanceof TryStatementTree) {
-            final TryStatementTree tryTree = (TryStatementTree) tree;
-            addBloc(blocs, tryTree.block());
-            addBloc(blocs, extractCatchBlocks(tryTree));
-            addBloc(blocs, tryTree.finallyBlock());
-        }
-        return blocs;
-    }
-
-    /**
-     * Assignments extraction from block of code.
-     *
-     * @param tree
-     * @param block
-     * @return
-     */
-    private List<AssignmentExpressionTree> extractAssignments(final Tree tree, final Bloc bloc) {
-        final BlockTree block = bloc.getBlockTree();
-
-        // Prepare useful predicates
-        final Predicate<StatementTree> blocksPredicate = statement -> statement.is(Kind.IF_STATEMENT)
-                || statement.is(Kind.TRY_STATEMENT);
-        final Predicate<StatementTree> assignmentPredicate = statement -> statement.is(Kind.EXPRESSION_STATEMENT)
-                && ((ExpressionStatementTree) statement).expression().is(Kind.ASSIGNMENT);
-
-        // Filter expressions to find assignments
-        final List<AssignmentExpressionTree> result = block.body().stream().filter(assignmentPredicate)
-                .map(assign -> (AssignmentExpressionTree) ((ExpressionStatementTree) assign).expression())
-                .collect(Collectors.toList());
-
-        // Recursive loop for nested blocks, add nested assignments to results
-        final List<StatementTree> ifStatements = block.body().stream().filter(blocksPredicate)
-                .collect(Collectors.toList());
-        for (final StatementTree ifstatement : ifStatements) {
-            final List<Bloc> blocs = getBlocsOfCode(ifstatement);
-            for (final Bloc b : blocs) {
-                result.addAll(extractAssignments(tree, b));
+    private static Bloc newBloc(final Tree tree) {
+        if (tree instanceof ForEachStatement) {
+            final ForEachStatement castedForEachTree = (ForEachStatement) tree;
+            final ExpressionTree expression = castedForEachTree.expression();
+            if (expression instanceof IdentifierTree) {
+                return new Bloc(tree, ((IdentifierTree) expression).identifierToken().text(),
+                        castedForEachTree.variable().simpleName().identifierToken().text(),
+                        expression.symbolType().isArray());
             }
+            return new Bloc(tree);
         }
-        return result;
-    }
-
-    /**
-     * Extract all blocks of code from try/catch statement
-     *
-     * @param tryTree
-     * @return Array of StatementTree
-     */
-    private BlockTree[] extractCatchBlocks(final TryStatementTree tryTree) {
-        final List<CatchTree> catches = tryTree.catches();
-        return catches.stream().map(CatchTree::block).collect(Collectors.toList()).toArray(new BlockTree[0]);
-    }
-
-    /**
-     * Add a Bloc in list after type checking
-     *
-     * @param blocs
-     * @param statements
-     */
-    private void addBloc(final List<Bloc> blocs, final StatementTree... statements) {
-        for (final StatementTree statement : statements) {
-            if (statement instanceof BlockTree) {
-                blocs.add(new Bloc((BlockTree) statement));
+        final Bloc bloc = new Bloc(tree);
+        if (tree.is(Kind.FOR_STATEMENT)) {
+            final ForStatementTree forTree = (ForStatementTree) tree;
+            for (final StatementTree initializer : forTree.initializer()) {
+                if (initializer.is(Kind.VARIABLE)) {
+                    bloc.addCounter(((VariableTree) initializer).simpleName().name());
+                }
+            }
+            for (final StatementTree update : forTree.update()) {
+                addUpdatedVariable(bloc, ((ExpressionStatementTree) update).expression());
             }
+        } else {
+            final ExpressionTree condition = tree.is(Kind.WHILE_STATEMENT)
+                    ? ((WhileStatementTree) tree).condition()
+                    : ((DoWhileStatementTree) tree).condition();
+            condition.accept(new BaseTreeVisitor() {
+                @Override
+                public void visitIdentifier(final IdentifierTree identifier) {
+                    bloc.addCounter(identifier.name());
+                }
+            });
         }
+        return bloc;
     }
 
     /**
-     * Add a Bloc in list after type checking
+     * Register the variable incremented, decremented or assigned by an update of a for loop.
      *
-     * @param blocs
-     * @param statement
-     * @param variable
-     * @param expression
+     * @param bloc
+     * @param update
      */
-    private void addForEachBloc(final List<Bloc> blocs, final StatementTree statement, final VariableTree variable,
-                                final ExpressionTree expression) {
-        if (statement instanceof BlockTree && expression instanceof IdentifierTree) {
-            blocs.add(new Bloc((BlockTree) statement, ((IdentifierTree) expression).identifierToken().text(),
-                    variable.simpleName().identifierToken().text()));
+    private static void addUpdatedVariable(final Bloc bloc, final ExpressionTree update) {
+        ExpressionTree variable = null;
+        if (update instanceof UnaryExpressionTree) {
+            variable = ((UnaryExpressionTree) update).expression();
+        } else if (update instanceof AssignmentExpressionTree) {
+            variable = ((AssignmentExpressionTree) update).variable();
+        }
+        if (variable != null && isVariable(variable)) {
+            bloc.addCounter(((IdentifierTree) variable).name());
         }
     }
 
     private static class Bloc {
-        private final BlockTree blockTree;
+        private static final Bloc BARRIER = new Bloc(null);
+
+        private final Tree loop;
         private String iterable;
         private String value;
+        private boolean iterableArray;
+        private int conditionalDepth;
+        private boolean jumped;
+        private final Set<String> counters = new HashSet<>();
 
-        public Bloc(final BlockTree blockTree, final String iterable, final String value) {
-            this.blockTree = blockTree;
+        public Bloc(final Tree loop, final String iterable, final String value, final boolean iterableArray) {
+            this.loop = loop;
             this.iterable = iterable;
             this.value = value;
+            this.iterableArray = iterableArray;
         }
 
         public boolean isForeach() {
             return iterable != null && value != null;
         }
 
-        public Bloc(final BlockTree blockTree) {
-            this.blockTree = blockTree;
+        public Bloc(final Tree loop) {
+            this.loop = loop;
         }
 
-        public BlockTree getBlockTree() {
-            return blockTree;
+        public Tree getLoop() {
+            return loop;
         }
 
         public String getIterable() {
@@ -297,5 +617,33 @@ public class ArrayCopyCheck extends IssuableSubscriptionVisitor {
             return value;
         }
 
+        public boolean isIterableArray() {
+            return iterableArray;
+        }
+
+        public boolean isConditional() {
+            return conditionalDepth > 0 || jumped;
+        }
+
+        public void markJumped() {
+            jumped = true;
+        }
+
+        public void addCounter(final String name) {
+            counters.add(name);
+        }
+
+        public boolean isCounter(final ExpressionTree index) {
+            return isVariable(index) && counters.contains(((IdentifierTree) index).name());
+        }
+
+        public void enterConditional() {
+            conditionalDepth++;
+        }
+
+        public void leaveConditional() {
+            conditionalDepth--;
+        }
+
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import fr.greencodeinitiative.java.utils.AnalysisBudget;
+import fr.greencodeinitiative.java.utils.AnalysisCost;
+import fr.greencodeinitiative.java.utils.RecursiveMemo;
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.BlockTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.LambdaExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Modifier;
+import org.sonar.plugins.java.api.tree.ModifierKeywordTree;
+import org.sonar.plugins.java.api.tree.ModifierTree;
+import org.sonar.plugins.java.api.tree.SynchronizedStatementTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+
+import static fr.greencodeinitiative.java.utils.BlockingMethods.BLOCKING_METHOD;
+
+/**
+ * Reports blocking calls (I/O, database requests, waits) made while holding a monitor : in a synchronized method or
+ * block, directly or through methods of the same file. A virtual thread blocked in a synchronized region pins its
+ * carrier thread, which cannot run other virtual threads.
+ */
+@Rule(key = "EC541")
+@AnalysisCost(AnalysisCost.Level.EXPENSIVE)
+public class AvoidBlockingCallsInSynchronized extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_RULE = "Use a ReentrantLock instead of synchronized around this blocking call: it pins the carrier thread of virtual threads.";
+    protected static final String MESSAGE_LOCK = "Monitor held here.";
+    protected static final String MESSAGE_BLOCKING_CALL = "Blocking call.";
+
+    /**
+     * Blocking call made by each method of the file (directly or through the methods of the file it calls).
+     */
+    private final RecursiveMemo<Symbol, Optional<MethodInvocationTree>> blockingCalls = new RecursiveMemo<>(Optional.empty());
+
+    private final AnalysisBudget budget = new AnalysisBudget(this);
+
+    @Override
+    public List<Kind> nodesToVisit() {
+        return Arrays.asList(Kind.METHOD, Kind.SYNCHRONIZED_STATEMENT);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+        budget.run(context, () -> checkSynchronized(tree));
+    }
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        blockingCalls.clear();
+        budget.reset();
+    }
+
+    private void checkSynchronized(Tree tree) {
+        if (tree.is(Kind.METHOD)) {
+            MethodTree method = (MethodTree) tree;
+            ModifierKeywordTree synchronizedModifier = getSynchronizedModifier(method);
+            if (synchronizedModifier != null && method.block() != null) {
+                checkRegion(synchronizedModifier, method.block());
+            }
+        } else if (!isInSynchronizedRegion(tree)) {
+            // nested regions are checked with the outermost one
+            SynchronizedStatementTree statement = (SynchronizedStatementTree) tree;
+            checkRegion(statement.synchronizedKeyword(), statement.block());
+        }
+    }
+
+    /**
+     * @return true if the tree is executed while holding the monitor of an enclosing synchronized block or method
+     */
+    private static boolean isInSynchronizedRegion(Tree tree) {
+        Tree parent = tree.parent();
+        while (parent != null) {
+            if (parent.is(Kind.SYNCHRONIZED_STATEMENT)) {
+                return true;
+            }
+            if (parent.is(Kind.METHOD)) {
+                return getSynchronizedModifier((MethodTree) parent) != null;
+            }
+            if (parent.is(Kind.LAMBDA_EXPRESSION, Kind.CONSTRUCTOR, Kind.INITIALIZER, Kind.STATIC_INITIALIZER)
+                    || parent instanceof ClassTree) {
+                return false;
+            }
+            parent = parent.parent();
+        }
+        return false;
+    }
+
+    private void checkRegion(Tree lock, BlockTree block) {
+        for (MethodInvocationTree invocation : new InvocationsCollector(block).invocations) {
+            List<JavaFileScannerContext.Location> secondaries = new ArrayList<>();
+            secondaries.add(new JavaFileScannerContext.Location(MESSAGE_LOCK, lock));
+            if (BLOCKING_METHOD.matches(invocation)) {
+                reportIssue(invocation, MESSAGE_RULE, secondaries, null);
+            } else {
+                MethodInvocationTree blockingCall = getBlockingCall(invocation.methodSymbol());
+                if (blockingCall != null) {
+                    secondaries.add(new JavaFileScannerContext.Location(MESSAGE_BLOCKING_CALL, blockingCall));
+                    reportIssue(invocation, MESSAGE_RULE, secondaries, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a blocking call made by the method if declared in this file, null if none
+     */
+    @CheckForNull
+    private MethodInvocationTree getBlockingCall(Symbol method) {
+        Tree declaration = method.declaration();
+        if (declaration == null || !declaration.is(Kind.METHOD) || ((MethodTree) declaration).block() == null) {
+            return null;
+        }
+        return blockingCalls.get(method, key -> computeBlockingCall((MethodTree) declaration)).orElse(null);
+    }
+
+    private Optional<MethodInvocationTree> computeBlockingCall(MethodTree method) {
+        for (MethodInvocationTree invocation : new InvocationsCollector(method.block()).invocations) {
+            MethodInvocationTree result = BLOCKING_METHOD.matches(invocation) ? invocation : getBlockingCall(invocation.methodSymbol());
+            if (result != null) {
+                return Optional.of(result);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @CheckForNull
+    private static ModifierKeywordTree getSynchronizedModifier(MethodTree method) {
+        for (ModifierTree modifier : method.modifiers()) {
+            if (modifier instanceof ModifierKeywordTree && ((ModifierKeywordTree) modifier).modifier() == Modifier.SYNCHRONIZED) {
+                return (ModifierKeywordTree) modifier;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Collects the invocations executed by a block, ignoring lambdas and classes declared in it.
+     */
+    private static class InvocationsCollector extends BaseTreeVisitor {
+
+        private final List<MethodInvocationTree> invocations = new ArrayList<>();
+
+        InvocationsCollector(BlockTree block) {
+            block.accept(this);
+        }
+
+        @Override
+        public void visitMethodInvocation(MethodInvocationTree tree) {
+            invocations.add(tree);
+            super.visitMethodInvocation(tree);
+        }
+
+        @Override
+        public void visitLambdaExpression(LambdaExpressionTree lambdaExpressionTree) {
+            // not executed by the block
+        }
+
+        @Override
+        public void visitClass(ClassTree tree) {
+            // not executed by the block
+        }
+    }
+}
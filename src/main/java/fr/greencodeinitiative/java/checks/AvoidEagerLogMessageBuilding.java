@@ -0,0 +1,188 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.tree.Arguments;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.IfStatementTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.skipParentheses;
+
+/**
+ * Reports debug and trace log statements (SLF4J, Log4j2, JUL, Sonar API) computing their message or arguments
+ * even when the level is disabled, out of an {@code isDebugEnabled()} / {@code isLoggable()} guard :
+ * <ul>
+ *     <li>message built by concatenation, {@code String.format} or {@code toString()}</li>
+ *     <li>arguments computed by an expensive method ({@code toString()}, {@code String.format}, {@code Arrays.toString},
+ *     stream collection, JSON serialization...)</li>
+ * </ul>
+ */
+@Rule(key = "EC539")
+public class AvoidEagerLogMessageBuilding extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_EAGER_MESSAGE = "Use a parameterized message or a Supplier instead of building the message when the level may be disabled.";
+    protected static final String MESSAGE_EXPENSIVE_ARGUMENT = "Guard this log statement by the level, or pass a Supplier: this argument is computed even when the level is disabled.";
+
+    private static final Set<String> GUARD_METHODS = Set.of("isDebugEnabled", "isTraceEnabled", "isLoggable", "isEnabled");
+    private static final Set<String> JUL_DEBUG_LEVELS = Set.of("FINE", "FINER", "FINEST");
+    private static final Set<String> MARKERS = Set.of("org.slf4j.Marker", "org.apache.logging.log4j.Marker");
+
+    private static final MethodMatchers DEBUG_LOG = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofSubTypes("org.slf4j.Logger", "org.apache.logging.log4j.Logger", "org.sonar.api.utils.log.Logger")
+                    .names("debug", "trace")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.util.logging.Logger")
+                    .names("fine", "finer", "finest")
+                    .withAnyParameters()
+                    .build());
+
+    private static final MethodMatchers JUL_LOG = MethodMatchers.create()
+            .ofSubTypes("java.util.logging.Logger")
+            .names("log")
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers STRING_BUILDING = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofTypes("java.lang.String")
+                    .names("format", "join", "formatted")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofAnyType()
+                    .names("toString")
+                    .addWithoutParametersMatcher()
+                    .build());
+
+    private static final MethodMatchers EXPENSIVE_METHOD = MethodMatchers.or(
+            STRING_BUILDING,
+            MethodMatchers.create()
+                    .ofTypes("java.util.Arrays")
+                    .names("toString", "deepToString")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.util.stream.Stream")
+                    .names("collect", "toList")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("com.fasterxml.jackson.databind.ObjectMapper", "com.google.gson.Gson")
+                    .names("writeValueAsString", "toJson")
+                    .withAnyParameters()
+                    .build());
+
+    @Override
+    public List<Kind> nodesToVisit() {
+        return Collections.singletonList(Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+        MethodInvocationTree invocation = (MethodInvocationTree) tree;
+        int message = messageIndex(invocation);
+        if (message < 0 || isGuarded(invocation)) {
+            return;
+        }
+        Arguments arguments = invocation.arguments();
+        if (isEagerMessage(arguments.get(message))) {
+            reportIssue(arguments.get(message), MESSAGE_EAGER_MESSAGE);
+        }
+        for (int i = message + 1; i < arguments.size(); i++) {
+            ExpressionTree argument = skipParentheses(arguments.get(i));
+            if (argument.is(Kind.METHOD_INVOCATION) && EXPENSIVE_METHOD.matches((MethodInvocationTree) argument)) {
+                reportIssue(argument, MESSAGE_EXPENSIVE_ARGUMENT);
+            }
+        }
+    }
+
+    /**
+     * @return index of the message argument of a debug log statement, -1 if not a debug log statement
+     */
+    private static int messageIndex(MethodInvocationTree invocation) {
+        Arguments arguments = invocation.arguments();
+        int index;
+        if (DEBUG_LOG.matches(invocation)) {
+            index = !arguments.isEmpty() && MARKERS.stream().anyMatch(arguments.get(0).symbolType()::isSubtypeOf) ? 1 : 0;
+        } else if (JUL_LOG.matches(invocation) && !arguments.isEmpty() && isJulDebugLevel(arguments.get(0))) {
+            index = 1;
+        } else {
+            return -1;
+        }
+        return index < arguments.size() ? index : -1;
+    }
+
+    private static boolean isJulDebugLevel(ExpressionTree level) {
+        return level.is(Kind.MEMBER_SELECT)
+                && JUL_DEBUG_LEVELS.contains(((MemberSelectExpressionTree) level).identifier().name());
+    }
+
+    private static boolean isEagerMessage(ExpressionTree message) {
+        ExpressionTree expression = skipParentheses(message);
+        if (expression.is(Kind.PLUS)) {
+            return !expression.asConstant().isPresent();
+        }
+        return expression.is(Kind.METHOD_INVOCATION) && STRING_BUILDING.matches((MethodInvocationTree) expression);
+    }
+
+    /**
+     * @return true if the statement is in an {@code if} testing the level
+     */
+    private static boolean isGuarded(Tree tree) {
+        Tree parent = tree.parent();
+        while (parent != null && !parent.is(Kind.METHOD, Kind.CONSTRUCTOR, Kind.CLASS, Kind.LAMBDA_EXPRESSION)) {
+            if (parent.is(Kind.IF_STATEMENT) && testsLevel(((IfStatementTree) parent).condition())) {
+                return true;
+            }
+            parent = parent.parent();
+        }
+        return false;
+    }
+
+    private static boolean testsLevel(ExpressionTree condition) {
+        ExpressionTree expression = skipParentheses(condition);
+        if (expression.is(Kind.CONDITIONAL_AND)) {
+            BinaryExpressionTree and = (BinaryExpressionTree) expression;
+            return testsLevel(and.leftOperand()) || testsLevel(and.rightOperand());
+        }
+        if (expression.is(Kind.METHOD_INVOCATION)) {
+            ExpressionTree select = ((MethodInvocationTree) expression).methodSelect();
+            String name = select.is(Kind.MEMBER_SELECT)
+                    ? ((MemberSelectExpressionTree) select).identifier().name()
+                    : ((IdentifierTree) select).name();
+            return GUARD_METHODS.contains(name);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CatchTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.DoWhileStatementTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.ForEachStatement;
+import org.sonar.plugins.java.api.tree.ForStatementTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.LambdaExpressionTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.ThrowStatementTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.TryStatementTree;
+import org.sonar.plugins.java.api.tree.TypeTree;
+import org.sonar.plugins.java.api.tree.UnionTypeTree;
+import org.sonar.plugins.java.api.tree.WhileStatementTree;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.getEnclosingLoop;
+
+/**
+ * Reports unchecked exceptions caught in a loop as a normal control path ({@code NumberFormatException} for input
+ * validation, {@code NoSuchElementException} as loop exit...) : the catch neither rethrows nor logs an error.
+ * Each failing iteration pays the creation of the exception and the capture of its stack trace.
+ */
+@Rule(key = "EC538")
+public class AvoidExceptionsAsControlFlowInLoops extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_RULE = "Check the value before instead of catching %s in this loop: exceptions capture a stack trace at each failing iteration.";
+    protected static final String MESSAGE_LOOP = "Loop.";
+
+    private static final String RUNTIME_EXCEPTION = "java.lang.RuntimeException";
+
+    private static final Set<String> ERROR_LOG_METHODS = Set.of("error", "fatal", "severe", "warn", "warning", "printStackTrace");
+
+    @Override
+    public List<Kind> nodesToVisit() {
+        return Collections.singletonList(Kind.TRY_STATEMENT);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+        SyntaxToken loop = getEnclosingLoopKeyword(tree);
+        if (loop == null) {
+            return;
+        }
+        for (CatchTree catchTree : ((TryStatementTree) tree).catches()) {
+            Type exception = getControlFlowException(catchTree.parameter().type());
+            if (exception != null && isNormalPath(catchTree)) {
+                reportIssue(catchTree.catchKeyword(), String.format(MESSAGE_RULE, exception.name()),
+                        Collections.singletonList(new JavaFileScannerContext.Location(MESSAGE_LOOP, loop)), null);
+            }
+        }
+    }
+
+    /**
+     * @return the first caught exception which is a specific unchecked exception, null if none
+     */
+    @CheckForNull
+    private static Type getControlFlowException(TypeTree caught) {
+        if (caught.is(Kind.UNION_TYPE)) {
+            for (TypeTree alternative : ((UnionTypeTree) caught).typeAlternatives()) {
+                Type type = getControlFlowException(alternative);
+                if (type != null) {
+                    return type;
+                }
+            }
+            return null;
+        }
+        Type type = caught.symbolType();
+        return type.isSubtypeOf(RUNTIME_EXCEPTION) && !type.is(RUNTIME_EXCEPTION) ? type : null;
+    }
+
+    private static boolean isNormalPath(CatchTree catchTree) {
+        ErrorPathVisitor visitor = new ErrorPathVisitor();
+        catchTree.block().accept(visitor);
+        return !visitor.errorPath;
+    }
+
+    /**
+     * @return the keyword of the innermost loop executing the tree at each iteration, null if none in the method
+     */
+    @CheckForNull
+    private static SyntaxToken getEnclosingLoopKeyword(Tree tree) {
+        Tree loop = getEnclosingLoop(tree);
+        if (loop == null) {
+            return null;
+        }
+        switch (loop.kind()) {
+            case FOR_STATEMENT:
+                return ((ForStatementTree) loop).forKeyword();
+            case FOR_EACH_STATEMENT:
+                return ((ForEachStatement) loop).forKeyword();
+            case WHILE_STATEMENT:
+                return ((WhileStatementTree) loop).whileKeyword();
+            default:
+                return ((DoWhileStatementTree) loop).doKeyword();
+        }
+    }
+
+    /**
+     * Looks for a rethrow or an error log in a catch block.
+     */
+    private static class ErrorPathVisitor extends BaseTreeVisitor {
+
+        private boolean errorPath;
+
+        @Override
+        public void visitThrowStatement(ThrowStatementTree tree) {
+            errorPath = true;
+        }
+
+        @Override
+        public void visitMethodInvocation(MethodInvocationTree tree) {
+            if (ERROR_LOG_METHODS.contains(methodName(tree))) {
+                errorPath = true;
+            } else {
+                super.visitMethodInvocation(tree);
+            }
+        }
+
+        private static String methodName(MethodInvocationTree tree) {
+            ExpressionTree select = tree.methodSelect();
+            return select.is(Kind.MEMBER_SELECT)
+                    ? ((MemberSelectExpressionTree) select).identifier().name()
+                    : ((IdentifierTree) select).name();
+        }
+
+        @Override
+        public void visitLambdaExpression(LambdaExpressionTree lambdaExpressionTree) {
+            // not executed by the catch block
+        }
+
+        @Override
+        public void visitClass(ClassTree tree) {
+            // not executed by the catch block
+        }
+    }
+}
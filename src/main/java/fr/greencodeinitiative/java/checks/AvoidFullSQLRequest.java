@@ -17,16 +17,17 @@
  */
 package fr.greencodeinitiative.java.checks;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Predicate;
 
-import static java.util.Collections.singletonList;
-import static java.util.regex.Pattern.CASE_INSENSITIVE;
-import static java.util.regex.Pattern.compile;
+import javax.annotation.ParametersAreNonnullByDefault;
 
+import fr.greencodeinitiative.java.utils.SqlLiterals;
+import fr.greencodeinitiative.java.utils.SqlStatement;
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
-import org.sonar.plugins.java.api.tree.LiteralTree;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
@@ -36,19 +37,29 @@ import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 public class AvoidFullSQLRequest extends IssuableSubscriptionVisitor {
 
     protected static final String MESSAGERULE = "Don't use the query SELECT * FROM";
-    private static final Predicate<String> SELECT_FROM_REGEXP =
-            compile("select\\s*\\*\\s*from", CASE_INSENSITIVE).asPredicate(); //simple regexp, more precision
+
+    private final SqlLiterals sqlLiterals = new SqlLiterals();
 
     @Override
     public List<Kind> nodesToVisit() {
-        return singletonList(Tree.Kind.STRING_LITERAL);
+        return Arrays.asList(Tree.Kind.STRING_LITERAL, Tree.Kind.TEXT_BLOCK, Tree.Kind.PLUS);
     }
 
     @Override
     public void visitNode(Tree tree) {
-        String value = ((LiteralTree) tree).value();
-        if (SELECT_FROM_REGEXP.test(value)) {
+        // concatenations are analyzed as a whole, from their outermost expression
+        if (!SqlLiterals.isStringExpression(tree) || !sqlLiterals.isRoot(tree)) {
+            return;
+        }
+        SqlStatement statement = sqlLiterals.analyze((ExpressionTree) tree);
+        if (statement != null && statement.has(SqlStatement.Feature.SELECT_STAR)) {
             reportIssue(tree, MESSAGERULE);
         }
     }
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        sqlLiterals.clear();
+    }
 }
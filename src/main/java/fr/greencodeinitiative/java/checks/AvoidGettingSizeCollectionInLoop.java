@@ -19,21 +19,37 @@ package fr.greencodeinitiative.java.checks;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.annotation.CheckForNull;
+
+import fr.greencodeinitiative.java.utils.QuickFixes;
 
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.check.Rule;
+import org.sonar.java.reporting.JavaQuickFix;
+import org.sonar.java.reporting.JavaTextEdit;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.ForStatementTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.VariableTree;
 import org.sonar.plugins.java.api.tree.WhileStatementTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
+import static fr.greencodeinitiative.java.utils.TreeUtils.isInTree;
+import static fr.greencodeinitiative.java.utils.TreeUtils.isLocalVariable;
+
 @Rule(key = "EC3")
 @DeprecatedRuleKey(repositoryKey = "greencodeinitiative-java", ruleKey = "GSCIL")
 public class AvoidGettingSizeCollectionInLoop extends IssuableSubscriptionVisitor {
@@ -47,6 +63,13 @@ public class AvoidGettingSizeCollectionInLoop extends IssuableSubscriptionVisito
     );
     private final AvoidGettingSizeCollectionInLoop.AvoidGettingSizeCollectionInLoopVisitor visitorInFile = new AvoidGettingSizeCollectionInLoop.AvoidGettingSizeCollectionInLoopVisitor();
 
+    /**
+     * Methods of collections and strings not modifying them.
+     */
+    private static final Set<String> READ_METHODS = Set.of(
+            "get", "getOrDefault", "charAt", "codePointAt", "contains", "containsKey", "containsValue", "indexOf",
+            "lastIndexOf", "isEmpty", "size", "length", "equals", "substring", "startsWith", "endsWith");
+
     private static final Logger LOGGER = Loggers.get(AvoidGettingSizeCollectionInLoop.class);
 
     @Override
@@ -93,12 +116,94 @@ public class AvoidGettingSizeCollectionInLoop extends IssuableSubscriptionVisito
         LOGGER.debug("--------------------_____-----_____----- AvoidGettingSizeCollectionInLoop.visitNode METHOD - END");
     }
 
+    /**
+     * The size is stored in a variable of the for statement, when it is known not to change : the collection or
+     * string is a local variable, only read by the loop.
+     */
+    @CheckForNull
+    private Supplier<JavaQuickFix> hoistSize(MethodInvocationTree sizeCall) {
+        if (!QuickFixes.isSupported()) {
+            return null;
+        }
+        Tree parent = sizeCall.parent();
+        while (parent != null && !parent.is(Kind.FOR_STATEMENT, Kind.WHILE_STATEMENT)) {
+            parent = parent.parent();
+        }
+        if (parent == null || !parent.is(Kind.FOR_STATEMENT) || !sizeCall.arguments().isEmpty()
+                || !sizeCall.symbolType().is("int") || !sizeCall.methodSelect().is(Kind.MEMBER_SELECT)) {
+            return null;
+        }
+        ForStatementTree forStatement = (ForStatementTree) parent;
+        ExpressionTree receiver = ((MemberSelectExpressionTree) sizeCall.methodSelect()).expression();
+        if (forStatement.initializer().size() != 1 || !forStatement.initializer().get(0).is(Kind.VARIABLE)
+                || !((VariableTree) forStatement.initializer().get(0)).type().symbolType().is("int")
+                || !receiver.is(Kind.IDENTIFIER)) {
+            return null;
+        }
+        Symbol collection = ((IdentifierTree) receiver).symbol();
+        if (!isLocalVariable(collection) || !isOnlyRead(collection, forStatement)) {
+            return null;
+        }
+        String name = collection.name() + Character.toUpperCase(sizeCall.methodSymbol().name().charAt(0)) + sizeCall.methodSymbol().name().substring(1);
+        if (isNameUsed(name, forStatement)) {
+            return null;
+        }
+        VariableTree index = (VariableTree) forStatement.initializer().get(0);
+        return () -> JavaQuickFix.newQuickFix("Store %s() in a variable of the loop", sizeCall.methodSymbol().name())
+                .addTextEdit(JavaTextEdit.insertAfterTree(index, ", " + name + " = " + QuickFixes.text(context, sizeCall)))
+                .addTextEdit(JavaTextEdit.replaceTree(sizeCall, name))
+                .build();
+    }
+
+    /**
+     * @return true if the usages of the variable in the loop only read it : calls of read-only methods
+     */
+    private static boolean isOnlyRead(Symbol variable, ForStatementTree forStatement) {
+        for (IdentifierTree usage : variable.usages()) {
+            if (!isInTree(usage, forStatement)) {
+                continue;
+            }
+            Tree parent = usage.parent();
+            if (!(parent instanceof MemberSelectExpressionTree) || parent.parent() == null
+                    || !parent.parent().is(Kind.METHOD_INVOCATION)
+                    || !READ_METHODS.contains(((MemberSelectExpressionTree) parent).identifier().name())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNameUsed(String name, ForStatementTree forStatement) {
+        Tree method = forStatement.parent();
+        while (method != null && !method.is(Kind.METHOD, Kind.CONSTRUCTOR, Kind.LAMBDA_EXPRESSION, Kind.CLASS)) {
+            method = method.parent();
+        }
+        NameFinder finder = new NameFinder(name);
+        (method == null ? forStatement : method).accept(finder);
+        return finder.found;
+    }
+
+    private static class NameFinder extends BaseTreeVisitor {
+
+        private final String name;
+        private boolean found;
+
+        NameFinder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void visitIdentifier(IdentifierTree tree) {
+            found |= name.equals(tree.name());
+        }
+    }
+
     private class AvoidGettingSizeCollectionInLoopVisitor extends BaseTreeVisitor {
         @Override
         public void visitMethodInvocation(MethodInvocationTree tree) {
-            if (SIZE_METHOD.matches(tree.symbol())) {
+            if (SIZE_METHOD.matches(tree.methodSymbol())) {
                 LOGGER.debug("sizeMethod found => launching ISSUE !!!");
-                reportIssue(tree, MESSAGERULE);
+                QuickFixes.reportIssue(AvoidGettingSizeCollectionInLoop.this, context, tree, MESSAGERULE, hoistSize(tree));
             } else {
                 LOGGER.debug("sizeMethod NOT found : bypass and go next");
                 super.visitMethodInvocation(tree);
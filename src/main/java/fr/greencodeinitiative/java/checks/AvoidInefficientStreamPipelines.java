@@ -0,0 +1,280 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.skipParentheses;
+
+/**
+ * Reports stream pipelines allocating an intermediate collection or sorting only to get one result :
+ * <ul>
+ *     <li>{@code collect(toList()).stream()} : chain the operations on the first stream;</li>
+ *     <li>{@code collect(toList()).size()}, {@code .contains(x)}, {@code .isEmpty()} : use {@code count()},
+ *     {@code anyMatch()}, {@code findAny()};</li>
+ *     <li>{@code collect(toSet()).stream()}, {@code .size()} : use {@code distinct()}, {@code distinct().count()} to
+ *     keep the de-duplication (sorted sets are not reported, their order being defined by a comparator);</li>
+ *     <li>{@code sorted().findFirst()} : use {@code min()};</li>
+ *     <li>{@code filter(p).count() > 0} (or {@code == 0}) : use {@code anyMatch(p)} (or {@code noneMatch(p)}),
+ *     {@code count() > 0} : use {@code findAny()}.</li>
+ * </ul>
+ * The issue goes from the first method of the pattern to the end of the last one.
+ */
+@Rule(key = "EC544")
+public class AvoidInefficientStreamPipelines extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_COLLECT_STREAM = "Remove this collect(): chain the operations on the stream instead of collecting it to stream it again.";
+    protected static final String MESSAGE_COLLECT_SIZE = "Use count() instead of collecting the stream to get its size.";
+    protected static final String MESSAGE_COLLECT_SET_STREAM = "Remove this collect(): chain distinct() and the operations on the stream instead of collecting it to a set to stream it again.";
+    protected static final String MESSAGE_COLLECT_SET_SIZE = "Use distinct().count() instead of collecting the stream to a set to get its size.";
+    protected static final String MESSAGE_COLLECT_CONTAINS = "Use anyMatch(element::equals) instead of collecting the stream to check if it contains an element.";
+    protected static final String MESSAGE_COLLECT_IS_EMPTY = "Use findAny().isEmpty() instead of collecting the stream to check if it is empty.";
+    protected static final String MESSAGE_SORTED_FIND_FIRST = "Use min() instead of sorted().findFirst(): it finds the smallest element without sorting the stream.";
+    protected static final String MESSAGE_ANY_MATCH = "Use anyMatch() instead of filter().count() > 0: it stops at the first match.";
+    protected static final String MESSAGE_NONE_MATCH = "Use noneMatch() instead of filter().count() == 0: it stops at the first match.";
+    protected static final String MESSAGE_FIND_ANY = "Use findAny() instead of comparing count() with 0: it stops at the first element.";
+
+    private static final String[] STREAMS = {
+            "java.util.stream.Stream", "java.util.stream.IntStream", "java.util.stream.LongStream",
+            "java.util.stream.DoubleStream"};
+
+    private static final MethodMatchers COLLECT = MethodMatchers.create()
+            .ofSubTypes("java.util.stream.Stream")
+            .names("collect")
+            .addParametersMatcher("java.util.stream.Collector")
+            .build();
+
+    private static final MethodMatchers COLLECTION_COLLECTOR = MethodMatchers.create()
+            .ofTypes("java.util.stream.Collectors")
+            .names("toList", "toSet", "toUnmodifiableList", "toUnmodifiableSet", "toCollection")
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers TO_LIST = MethodMatchers.create()
+            .ofSubTypes("java.util.stream.Stream")
+            .names("toList")
+            .addWithoutParametersMatcher()
+            .build();
+
+    private static final MethodMatchers COLLECTION_METHOD = MethodMatchers.create()
+            .ofSubTypes("java.util.Collection")
+            .names("stream", "size", "contains", "isEmpty")
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers FIND_FIRST = MethodMatchers.create()
+            .ofSubTypes(STREAMS)
+            .names("findFirst")
+            .addWithoutParametersMatcher()
+            .build();
+
+    private static final MethodMatchers SORTED = MethodMatchers.create()
+            .ofSubTypes(STREAMS)
+            .names("sorted")
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers COUNT = MethodMatchers.create()
+            .ofSubTypes(STREAMS)
+            .names("count")
+            .addWithoutParametersMatcher()
+            .build();
+
+    private static final MethodMatchers FILTER = MethodMatchers.create()
+            .ofSubTypes(STREAMS)
+            .names("filter")
+            .withAnyParameters()
+            .build();
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+        return Arrays.asList(Tree.Kind.METHOD_INVOCATION, Tree.Kind.GREATER_THAN, Tree.Kind.GREATER_THAN_OR_EQUAL_TO,
+                Tree.Kind.LESS_THAN, Tree.Kind.LESS_THAN_OR_EQUAL_TO, Tree.Kind.EQUAL_TO, Tree.Kind.NOT_EQUAL_TO);
+    }
+
+    @Override
+    public void visitNode(@Nonnull Tree tree) {
+        if (tree.is(Tree.Kind.METHOD_INVOCATION)) {
+            visitInvocation((MethodInvocationTree) tree);
+        } else {
+            visitComparison((BinaryExpressionTree) tree);
+        }
+    }
+
+    private void visitInvocation(MethodInvocationTree invocation) {
+        MethodInvocationTree receiver = getReceiverInvocation(invocation);
+        if (receiver == null) {
+            return;
+        }
+        if (COLLECTION_METHOD.matches(invocation) && isCollectedToCollection(receiver)) {
+            String message;
+            switch (invocation.methodSymbol().name()) {
+                case "stream":
+                    message = sizeOrStreamMessage(receiver.symbolType(), MESSAGE_COLLECT_STREAM, MESSAGE_COLLECT_SET_STREAM);
+                    break;
+                case "size":
+                    message = sizeOrStreamMessage(receiver.symbolType(), MESSAGE_COLLECT_SIZE, MESSAGE_COLLECT_SET_SIZE);
+                    break;
+                case "contains":
+                    message = MESSAGE_COLLECT_CONTAINS;
+                    break;
+                default:
+                    message = MESSAGE_COLLECT_IS_EMPTY;
+            }
+            if (message != null) {
+                reportIssue(methodName(receiver), invocation, message);
+            }
+        } else if (FIND_FIRST.matches(invocation) && SORTED.matches(receiver)) {
+            reportIssue(methodName(receiver), invocation, MESSAGE_SORTED_FIND_FIRST);
+        }
+    }
+
+    /**
+     * @return the message for a list, or for a set (de-duplicating the elements), null for other collections
+     */
+    @CheckForNull
+    private static String sizeOrStreamMessage(Type collection, String listMessage, String setMessage) {
+        if (collection.isSubtypeOf("java.util.List")) {
+            return listMessage;
+        }
+        if (collection.isSubtypeOf("java.util.Set") && !collection.isSubtypeOf("java.util.SortedSet")) {
+            return setMessage;
+        }
+        return null;
+    }
+
+    private void visitComparison(BinaryExpressionTree comparison) {
+        ExpressionTree left = skipParentheses(comparison.leftOperand());
+        ExpressionTree right = skipParentheses(comparison.rightOperand());
+        Optional<Boolean> anyMatch;
+        MethodInvocationTree count;
+        if (isCount(left)) {
+            count = (MethodInvocationTree) left;
+            anyMatch = testsAnyElement(comparison.kind(), right);
+        } else if (isCount(right)) {
+            count = (MethodInvocationTree) right;
+            anyMatch = testsAnyElement(mirror(comparison.kind()), left);
+        } else {
+            return;
+        }
+        if (anyMatch.isEmpty()) {
+            return;
+        }
+        MethodInvocationTree receiver = getReceiverInvocation(count);
+        if (receiver != null && FILTER.matches(receiver)) {
+            reportIssue(methodName(receiver), comparison, anyMatch.get() ? MESSAGE_ANY_MATCH : MESSAGE_NONE_MATCH);
+        } else {
+            reportIssue(methodName(count), comparison, MESSAGE_FIND_ANY);
+        }
+    }
+
+    private static boolean isCount(ExpressionTree expression) {
+        return expression.is(Tree.Kind.METHOD_INVOCATION) && COUNT.matches((MethodInvocationTree) expression);
+    }
+
+    /**
+     * @return true if {@code count() <operator> constant} tests that there is at least one element, false if it
+     * tests that there is none, empty for other comparisons
+     */
+    private static Optional<Boolean> testsAnyElement(Tree.Kind operator, ExpressionTree constant) {
+        Optional<Number> value = constant.asConstant(Number.class);
+        if (value.isEmpty()) {
+            return Optional.empty();
+        }
+        long bound = value.get().longValue();
+        if (bound == 0) {
+            switch (operator) {
+                case GREATER_THAN:
+                case NOT_EQUAL_TO:
+                    return Optional.of(Boolean.TRUE);
+                case EQUAL_TO:
+                case LESS_THAN_OR_EQUAL_TO:
+                    return Optional.of(Boolean.FALSE);
+                default:
+                    return Optional.empty();
+            }
+        }
+        if (bound == 1) {
+            if (operator == Tree.Kind.GREATER_THAN_OR_EQUAL_TO) {
+                return Optional.of(Boolean.TRUE);
+            }
+            if (operator == Tree.Kind.LESS_THAN) {
+                return Optional.of(Boolean.FALSE);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the operator giving the same result when the operands are swapped
+     */
+    private static Tree.Kind mirror(Tree.Kind operator) {
+        switch (operator) {
+            case GREATER_THAN:
+                return Tree.Kind.LESS_THAN;
+            case GREATER_THAN_OR_EQUAL_TO:
+                return Tree.Kind.LESS_THAN_OR_EQUAL_TO;
+            case LESS_THAN:
+                return Tree.Kind.GREATER_THAN;
+            case LESS_THAN_OR_EQUAL_TO:
+                return Tree.Kind.GREATER_THAN_OR_EQUAL_TO;
+            default:
+                return operator;
+        }
+    }
+
+    private static boolean isCollectedToCollection(MethodInvocationTree invocation) {
+        if (TO_LIST.matches(invocation)) {
+            return true;
+        }
+        if (!COLLECT.matches(invocation)) {
+            return false;
+        }
+        ExpressionTree collector = skipParentheses(invocation.arguments().get(0));
+        return collector.is(Tree.Kind.METHOD_INVOCATION) && COLLECTION_COLLECTOR.matches((MethodInvocationTree) collector);
+    }
+
+    @CheckForNull
+    private static MethodInvocationTree getReceiverInvocation(MethodInvocationTree invocation) {
+        if (!invocation.methodSelect().is(Tree.Kind.MEMBER_SELECT)) {
+            return null;
+        }
+        ExpressionTree receiver = skipParentheses(((MemberSelectExpressionTree) invocation.methodSelect()).expression());
+        return receiver.is(Tree.Kind.METHOD_INVOCATION) ? (MethodInvocationTree) receiver : null;
+    }
+
+    private static Tree methodName(MethodInvocationTree invocation) {
+        ExpressionTree methodSelect = invocation.methodSelect();
+        return methodSelect.is(Tree.Kind.MEMBER_SELECT) ? ((MemberSelectExpressionTree) methodSelect).identifier() : methodSelect;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.annotation.CheckForNull;
+
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.ForEachStatement;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import static fr.greencodeinitiative.java.utils.SqlMethods.JDBC_LIST_QUERY;
+import static fr.greencodeinitiative.java.utils.SqlMethods.JPA_LIST_QUERY;
+import static fr.greencodeinitiative.java.utils.SqlMethods.SPRING_ROW_MAPPER;
+import static fr.greencodeinitiative.java.utils.TreeUtils.isLocalVariable;
+
+/**
+ * Reports query results loaded as a whole in a list ({@code JdbcTemplate.queryForList}, {@code query} with a
+ * {@code RowMapper}, JPA {@code getResultList}) and then only iterated once, directly or through a local variable
+ * used only once : the rows could be processed one by one without keeping them all in memory.
+ */
+@Rule(key = "EC536")
+public class AvoidLoadingWholeResultSet extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_JDBC = "Process the rows with a RowCallbackHandler or queryForStream instead of loading them all in a list iterated once.";
+    protected static final String MESSAGE_JPA = "Use getResultStream() instead of loading all the results in a list iterated once.";
+    protected static final String MESSAGE_ITERATION = "Only iteration of the results.";
+
+    @Override
+    public List<Kind> nodesToVisit() {
+        return Collections.singletonList(Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+        MethodInvocationTree invocation = (MethodInvocationTree) tree;
+        String message;
+        if (JPA_LIST_QUERY.matches(invocation)) {
+            message = MESSAGE_JPA;
+        } else if (JDBC_LIST_QUERY.matches(invocation) && invocation.symbolType().isSubtypeOf("java.util.List")
+                && ("queryForList".equals(invocation.methodSymbol().name()) || hasRowMapperArgument(invocation))) {
+            message = MESSAGE_JDBC;
+        } else {
+            return;
+        }
+        Tree iteration = getSingleIteration(invocation);
+        if (iteration != null) {
+            reportIssue(invocation, message,
+                    Collections.singletonList(new JavaFileScannerContext.Location(MESSAGE_ITERATION, iteration)), null);
+        }
+    }
+
+    private static boolean hasRowMapperArgument(MethodInvocationTree invocation) {
+        return invocation.arguments().stream().anyMatch(argument -> argument.symbolType().isSubtypeOf(SPRING_ROW_MAPPER));
+    }
+
+    /**
+     * @return the loop iterating the list, if this is its only use
+     */
+    @CheckForNull
+    private static Tree getSingleIteration(ExpressionTree list) {
+        Tree child = list;
+        Tree parent = list.parent();
+        while (parent != null && parent.is(Kind.PARENTHESIZED_EXPRESSION)) {
+            child = parent;
+            parent = parent.parent();
+        }
+        if (parent == null) {
+            return null;
+        }
+        if (parent.is(Kind.FOR_EACH_STATEMENT) && ((ForEachStatement) parent).expression() == child) {
+            return ((ForEachStatement) parent).forKeyword();
+        }
+        if (parent.is(Kind.MEMBER_SELECT) && parent.parent() != null && parent.parent().is(Kind.METHOD_INVOCATION)
+                && "forEach".equals(((MemberSelectExpressionTree) parent).identifier().name())) {
+            return parent.parent();
+        }
+        if (parent.is(Kind.VARIABLE) && ((VariableTree) parent).initializer() == child) {
+            Symbol variable = ((VariableTree) parent).symbol();
+            List<IdentifierTree> usages = variable.usages();
+            if (isLocalVariable(variable) && usages.size() == 1) {
+                return getSingleIteration(usages.get(0));
+            }
+        }
+        return null;
+    }
+}
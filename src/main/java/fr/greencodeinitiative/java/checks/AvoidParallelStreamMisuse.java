@@ -0,0 +1,362 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.LambdaExpressionTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodReferenceTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static fr.greencodeinitiative.java.utils.BlockingMethods.BLOCKING_METHOD;
+
+/**
+ * Reports the parallel streams ({@code parallelStream()} or {@code parallel()}) :
+ * <ul>
+ *     <li>over a source too small to be worth splitting (enumerated elements, short constant range);</li>
+ *     <li>over a source which splits badly (linked collections, {@code iterate}, {@code BufferedReader.lines()});</li>
+ *     <li>with blocking calls (I/O, database, waits, Spring repositories) in the lambdas of the pipeline, which
+ *     hold the threads of the common {@code ForkJoinPool};</li>
+ *     <li>with lambdas modifying a collection declared out of the pipeline, which is not thread-safe.</li>
+ * </ul>
+ * Spring repository calls in the lambdas of {@code forEach}, {@code forEachOrdered}, {@code map} and {@code peek}
+ * are left to EC1.
+ */
+@Rule(key = "EC543")
+public class AvoidParallelStreamMisuse extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_SMALL_SOURCE = "Use a sequential stream: this source is too small to benefit from parallelism.";
+    protected static final String MESSAGE_POOR_SPLIT = "Use a sequential stream, or copy the elements into an ArrayList: this source splits badly.";
+    protected static final String MESSAGE_BLOCKING = "Avoid blocking calls in parallel streams: they hold the threads of the common ForkJoinPool.";
+    protected static final String MESSAGE_SHARED_STATE = "Collect the results of the parallel stream instead of modifying this shared collection.";
+    protected static final String MESSAGE_PARALLEL = "Parallel stream.";
+
+    /**
+     * Under this number of elements, the cost of splitting and merging is higher than the gain of parallelism.
+     */
+    private static final int SMALL_SIZE = 1_000;
+
+    private static final String BASE_STREAM = "java.util.stream.BaseStream";
+
+    private static final MethodMatchers PARALLEL_STREAM = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofSubTypes("java.util.Collection")
+                    .names("parallelStream")
+                    .addWithoutParametersMatcher()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes(BASE_STREAM)
+                    .names("parallel")
+                    .addWithoutParametersMatcher()
+                    .build());
+
+    private static final MethodMatchers COLLECTION_STREAM = MethodMatchers.create()
+            .ofSubTypes("java.util.Collection")
+            .names("stream", "parallelStream")
+            .addWithoutParametersMatcher()
+            .build();
+
+    private static final MethodMatchers ENUMERATED_SOURCE = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofTypes("java.util.stream.Stream", "java.util.stream.IntStream", "java.util.stream.LongStream",
+                            "java.util.stream.DoubleStream", "java.util.List", "java.util.Set")
+                    .names("of")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofTypes("java.util.Arrays")
+                    .names("asList")
+                    .withAnyParameters()
+                    .build());
+
+    private static final MethodMatchers RANGE_SOURCE = MethodMatchers.create()
+            .ofTypes("java.util.stream.IntStream", "java.util.stream.LongStream")
+            .names("range", "rangeClosed")
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers POOR_SPLIT_SOURCE = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofTypes("java.util.stream.Stream", "java.util.stream.IntStream", "java.util.stream.LongStream",
+                            "java.util.stream.DoubleStream")
+                    .names("iterate")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.io.BufferedReader")
+                    .names("lines")
+                    .addWithoutParametersMatcher()
+                    .build());
+
+    private static final List<String> POOR_SPLIT_COLLECTIONS = List.of(
+            "java.util.LinkedList",
+            "java.util.concurrent.LinkedBlockingQueue",
+            "java.util.concurrent.LinkedBlockingDeque",
+            "java.util.concurrent.ConcurrentLinkedQueue",
+            "java.util.concurrent.ConcurrentLinkedDeque");
+
+    private static final MethodMatchers SPRING_REPOSITORY_METHOD = MethodMatchers.create()
+            .ofSubTypes("org.springframework.data.repository.Repository")
+            .anyName()
+            .withAnyParameters()
+            .build();
+
+    /**
+     * Stream operations whose lambdas are checked for repository calls by EC1.
+     */
+    private static final Set<String> EC1_OPERATIONS = Set.of("forEach", "forEachOrdered", "map", "peek");
+
+    private static final Set<String> MUTATING_METHODS = Set.of(
+            "add", "addAll", "put", "putAll", "remove", "removeAll", "set", "merge", "compute", "computeIfAbsent",
+            "computeIfPresent", "putIfAbsent", "offer", "push", "addFirst", "addLast");
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+        return Collections.singletonList(Tree.Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public void visitNode(@Nonnull Tree tree) {
+        MethodInvocationTree parallel = (MethodInvocationTree) tree;
+        if (!PARALLEL_STREAM.matches(parallel)) {
+            return;
+        }
+        List<MethodInvocationTree> operations = new ArrayList<>();
+        MethodInvocationTree source = collectOperationsBefore(parallel, operations);
+        if (isSequentialOrAlreadyParallel(parallel, source, operations)) {
+            return;
+        }
+        collectOperationsAfter(parallel, operations);
+
+        Optional<String> sourceMessage = source == null ? Optional.empty() : getSourceMessage(source);
+        if (sourceMessage.isPresent()) {
+            reportIssue(parallel, sourceMessage.get());
+        }
+        for (MethodInvocationTree operation : operations) {
+            boolean checkRepositories = !EC1_OPERATIONS.contains(operation.methodSymbol().name());
+            for (ExpressionTree argument : operation.arguments()) {
+                if (argument.is(Tree.Kind.LAMBDA_EXPRESSION)) {
+                    argument.accept(new LambdaVisitor((LambdaExpressionTree) argument, parallel, checkRepositories));
+                } else if (argument.is(Tree.Kind.METHOD_REFERENCE)) {
+                    checkMethodReference((MethodReferenceTree) argument, parallel);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the stream operations executed before {@code parallel()} (including it), down to the source.
+     *
+     * @return the invocation creating the stream, null if the source is not a method invocation
+     */
+    @CheckForNull
+    private static MethodInvocationTree collectOperationsBefore(MethodInvocationTree parallel, List<MethodInvocationTree> operations) {
+        MethodInvocationTree current = parallel;
+        while (true) {
+            if (COLLECTION_STREAM.matches(current) || current.methodSymbol().isStatic()
+                    || !current.methodSelect().is(Tree.Kind.MEMBER_SELECT)) {
+                return current;
+            }
+            ExpressionTree receiver = ((MemberSelectExpressionTree) current.methodSelect()).expression();
+            if (!receiver.symbolType().isSubtypeOf(BASE_STREAM)) {
+                // stream created from an object, like BufferedReader.lines()
+                return current;
+            }
+            operations.add(current);
+            if (!receiver.is(Tree.Kind.METHOD_INVOCATION)) {
+                // stream received as a variable or a parameter : unknown source
+                return null;
+            }
+            current = (MethodInvocationTree) receiver;
+        }
+    }
+
+    /**
+     * Collects the stream operations executed after {@code parallel()}, up to the terminal operation.
+     */
+    private static void collectOperationsAfter(MethodInvocationTree parallel, List<MethodInvocationTree> operations) {
+        ExpressionTree current = parallel;
+        while (current.symbolType().isSubtypeOf(BASE_STREAM)
+                && current.parent() instanceof MemberSelectExpressionTree
+                && current.parent().parent() != null
+                && current.parent().parent().is(Tree.Kind.METHOD_INVOCATION)) {
+            current = (MethodInvocationTree) current.parent().parent();
+            operations.add((MethodInvocationTree) current);
+        }
+    }
+
+    /**
+     * @return true if the pipeline is made sequential again, or if {@code parallel()} is called on a stream already
+     * reported
+     */
+    private static boolean isSequentialOrAlreadyParallel(MethodInvocationTree parallel, @CheckForNull MethodInvocationTree source,
+                                                         List<MethodInvocationTree> operations) {
+        if (source != null && source != parallel && PARALLEL_STREAM.matches(source)) {
+            return true;
+        }
+        for (MethodInvocationTree operation : operations) {
+            if (operation != parallel && PARALLEL_STREAM.matches(operation)) {
+                return true;
+            }
+        }
+        ExpressionTree current = parallel;
+        while (current.parent() instanceof MemberSelectExpressionTree
+                && current.parent().parent() != null
+                && current.parent().parent().is(Tree.Kind.METHOD_INVOCATION)) {
+            current = (MethodInvocationTree) current.parent().parent();
+            if ("sequential".equals(((MethodInvocationTree) current).methodSymbol().name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Optional<String> getSourceMessage(MethodInvocationTree source) {
+        if (COLLECTION_STREAM.matches(source)) {
+            ExpressionTree collection = ((MemberSelectExpressionTree) source.methodSelect()).expression();
+            Type type = collection.symbolType();
+            if (POOR_SPLIT_COLLECTIONS.stream().anyMatch(type::isSubtypeOf)) {
+                return Optional.of(MESSAGE_POOR_SPLIT);
+            }
+            if (collection.is(Tree.Kind.METHOD_INVOCATION) && isSmall((MethodInvocationTree) collection)) {
+                return Optional.of(MESSAGE_SMALL_SOURCE);
+            }
+            return Optional.empty();
+        }
+        if (POOR_SPLIT_SOURCE.matches(source)) {
+            return Optional.of(MESSAGE_POOR_SPLIT);
+        }
+        return isSmall(source) ? Optional.of(MESSAGE_SMALL_SOURCE) : Optional.empty();
+    }
+
+    private static boolean isSmall(MethodInvocationTree source) {
+        if (ENUMERATED_SOURCE.matches(source)) {
+            // a single argument may be an array of any size
+            return source.arguments().size() > 1
+                    || (source.arguments().size() == 1 && !source.arguments().get(0).symbolType().isArray());
+        }
+        if (RANGE_SOURCE.matches(source) && source.arguments().size() == 2) {
+            Optional<Number> start = source.arguments().get(0).asConstant(Number.class);
+            Optional<Number> end = source.arguments().get(1).asConstant(Number.class);
+            return start.isPresent() && end.isPresent() && end.get().longValue() - start.get().longValue() < SMALL_SIZE;
+        }
+        return false;
+    }
+
+    private void checkMethodReference(MethodReferenceTree reference, MethodInvocationTree parallel) {
+        if (BLOCKING_METHOD.matches(reference) || SPRING_REPOSITORY_METHOD.matches(reference)) {
+            reportIssue(reference, MESSAGE_BLOCKING, secondaries(parallel), null);
+        } else if (MUTATING_METHODS.contains(reference.method().name()) && isSharedCollection(reference.expression(), null)) {
+            reportIssue(reference, MESSAGE_SHARED_STATE, secondaries(parallel), null);
+        }
+    }
+
+    /**
+     * @return true if the expression is a collection or map which is not thread-safe, declared out of the lambda
+     */
+    private static boolean isSharedCollection(Tree expression, @CheckForNull LambdaExpressionTree lambda) {
+        Symbol symbol;
+        if (expression.is(Tree.Kind.IDENTIFIER)) {
+            symbol = ((IdentifierTree) expression).symbol();
+        } else if (expression.is(Tree.Kind.MEMBER_SELECT)) {
+            symbol = ((MemberSelectExpressionTree) expression).identifier().symbol();
+        } else {
+            return false;
+        }
+        if (!symbol.isVariableSymbol()) {
+            return false;
+        }
+        Type type = symbol.type();
+        if (!type.isSubtypeOf("java.util.Collection") && !type.isSubtypeOf("java.util.Map")
+                || type.fullyQualifiedName().startsWith("java.util.concurrent.")) {
+            return false;
+        }
+        return lambda == null || !isDeclaredIn(symbol, lambda);
+    }
+
+    private static boolean isDeclaredIn(Symbol symbol, Tree tree) {
+        Tree parent = symbol.declaration();
+        while (parent != null) {
+            if (parent == tree) {
+                return true;
+            }
+            parent = parent.parent();
+        }
+        return false;
+    }
+
+    private static List<JavaFileScannerContext.Location> secondaries(MethodInvocationTree parallel) {
+        Tree location = parallel.methodSelect().is(Tree.Kind.MEMBER_SELECT)
+                ? ((MemberSelectExpressionTree) parallel.methodSelect()).identifier()
+                : parallel;
+        return Collections.singletonList(new JavaFileScannerContext.Location(MESSAGE_PARALLEL, location));
+    }
+
+    private class LambdaVisitor extends BaseTreeVisitor {
+
+        private final LambdaExpressionTree lambda;
+        private final MethodInvocationTree parallel;
+        private final boolean checkRepositories;
+
+        LambdaVisitor(LambdaExpressionTree lambda, MethodInvocationTree parallel, boolean checkRepositories) {
+            this.lambda = lambda;
+            this.parallel = parallel;
+            this.checkRepositories = checkRepositories;
+        }
+
+        @Override
+        public void visitMethodInvocation(MethodInvocationTree tree) {
+            if (BLOCKING_METHOD.matches(tree) || (checkRepositories && SPRING_REPOSITORY_METHOD.matches(tree))) {
+                reportIssue(tree, MESSAGE_BLOCKING, secondaries(parallel), null);
+            } else if (MUTATING_METHODS.contains(tree.methodSymbol().name()) && tree.methodSelect().is(Tree.Kind.MEMBER_SELECT)
+                    && isSharedCollection(((MemberSelectExpressionTree) tree.methodSelect()).expression(), lambda)) {
+                reportIssue(tree, MESSAGE_SHARED_STATE, secondaries(parallel), null);
+            }
+            super.visitMethodInvocation(tree);
+        }
+
+        @Override
+        public void visitMethodReference(MethodReferenceTree tree) {
+            checkMethodReference(tree, parallel);
+        }
+
+        @Override
+        public void visitClass(ClassTree tree) {
+            // not executed by the lambda
+        }
+    }
+}
@@ -19,19 +19,41 @@ package fr.greencodeinitiative.java.checks;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
+import fr.greencodeinitiative.java.utils.QuickFixes;
 import org.sonar.check.Rule;
+import org.sonar.java.reporting.JavaQuickFix;
+import org.sonar.java.reporting.JavaTextEdit;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.ParenthesizedTree;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
+/**
+ * Reports {@code Pattern.compile()} called in methods.
+ * <p>
+ * When the arguments are literals or static constants, the quick fix moves the call into a static final field of
+ * the class (top-level or static nested class), named after the local variable receiving the pattern. The field is
+ * declared after the last static field of the class, so that it never refers to a constant declared after it.
+ */
 @Rule(key = "EC77")
 @DeprecatedRuleKey(repositoryKey = "greencodeinitiative-java", ruleKey = "S77")
 public class AvoidRegexPatternNotStatic extends IssuableSubscriptionVisitor {
@@ -39,11 +61,13 @@ public class AvoidRegexPatternNotStatic extends IssuableSubscriptionVisitor {
     public static final String MESSAGE_RULE = "Avoid using Pattern.compile() in a non-static context.";
 
     private static final MethodMatchers PATTERN_COMPILE = MethodMatchers.create()
-            .ofTypes(Pattern.class.getName())
+            .ofTypes("java.util.regex.Pattern")
             .names("compile")
             .withAnyParameters()
             .build();
 
+    private static final String DEFAULT_FIELD_NAME = "PATTERN";
+
     private final AvoidRegexPatternNotStaticVisitor visitor = new AvoidRegexPatternNotStaticVisitor();
 
     @Override
@@ -62,16 +86,125 @@ public class AvoidRegexPatternNotStatic extends IssuableSubscriptionVisitor {
         }
     }
 
+    @CheckForNull
+    private Supplier<JavaQuickFix> hoistToField(MethodInvocationTree invocation) {
+        if (!QuickFixes.isSupported() || !invocation.methodSelect().is(Tree.Kind.MEMBER_SELECT)
+                || !invocation.arguments().stream().allMatch(AvoidRegexPatternNotStatic::isStaticConstant)) {
+            return null;
+        }
+        Tree member = getClassMember(invocation);
+        ClassTree owner = (ClassTree) member.parent();
+        if (owner == null || !owner.is(Tree.Kind.CLASS, Tree.Kind.ENUM) || owner.simpleName() == null
+                || !(owner.symbol().owner().isPackageSymbol() || owner.symbol().isStatic())) {
+            return null;
+        }
+        String type = QuickFixes.text(context, ((MemberSelectExpressionTree) invocation.methodSelect()).expression());
+        String name = fieldName(invocation, owner);
+        String field = "private static final " + type + " " + name + " = " + QuickFixes.text(context, invocation) + ";";
+        Tree lastStaticField = getLastStaticField(owner);
+        return () -> JavaQuickFix.newQuickFix("Move to a static final field")
+                .addTextEdit(lastStaticField == null
+                        ? JavaTextEdit.insertBeforeTree(member, field + "\n\n" + QuickFixes.indentation(context, member))
+                        : JavaTextEdit.insertAfterTree(lastStaticField, "\n" + QuickFixes.indentation(context, lastStaticField) + field))
+                .addTextEdit(JavaTextEdit.replaceTree(invocation, name))
+                .build();
+    }
+
+    @CheckForNull
+    private static Tree getLastStaticField(ClassTree owner) {
+        Tree last = null;
+        for (Tree member : owner.members()) {
+            if (member.is(Tree.Kind.VARIABLE) && ((VariableTree) member).symbol().isStatic()) {
+                last = member;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @return the member of the class (method, field, nested class) containing the tree
+     */
+    private static Tree getClassMember(Tree tree) {
+        Tree member = tree;
+        while (member.parent() != null && !(member.parent() instanceof ClassTree)) {
+            member = member.parent();
+        }
+        return member;
+    }
+
+    /**
+     * @return a field name after the variable receiving the pattern, unused in the class
+     */
+    private static String fieldName(MethodInvocationTree invocation, ClassTree owner) {
+        Tree parent = invocation.parent();
+        String name = DEFAULT_FIELD_NAME;
+        if (parent instanceof VariableTree) {
+            name = toConstantName(((VariableTree) parent).simpleName().name());
+        }
+        Set<String> members = owner.symbol().memberSymbols().stream().map(Symbol::name).collect(Collectors.toSet());
+        String result = name;
+        for (int i = 2; members.contains(result); ++i) {
+            result = name + "_" + i;
+        }
+        return result;
+    }
+
+    private static String toConstantName(String name) {
+        StringBuilder result = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); ++i) {
+            char c = name.charAt(i);
+            if (i > 0 && Character.isUpperCase(c) && !Character.isUpperCase(name.charAt(i - 1))) {
+                result.append('_');
+            }
+            result.append(c);
+        }
+        return result.toString().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @return true if the expression only uses literals and static constants
+     */
+    private static boolean isStaticConstant(ExpressionTree expression) {
+        switch (expression.kind()) {
+            case STRING_LITERAL:
+            case TEXT_BLOCK:
+            case INT_LITERAL:
+            case CHAR_LITERAL:
+                return true;
+            case PARENTHESIZED_EXPRESSION:
+                return isStaticConstant(((ParenthesizedTree) expression).expression());
+            case IDENTIFIER:
+                return isStaticFinal(((IdentifierTree) expression).symbol());
+            case MEMBER_SELECT:
+                return isStaticFinal(((MemberSelectExpressionTree) expression).identifier().symbol());
+            case PLUS:
+            case OR:
+                BinaryExpressionTree binary = (BinaryExpressionTree) expression;
+                return isStaticConstant(binary.leftOperand()) && isStaticConstant(binary.rightOperand());
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isStaticFinal(Symbol symbol) {
+        return symbol.isVariableSymbol() && symbol.isStatic() && symbol.isFinal();
+    }
+
     private class AvoidRegexPatternNotStaticVisitor extends BaseTreeVisitor {
 
         @Override
         public void visitMethodInvocation(@Nonnull MethodInvocationTree tree) {
             if (PATTERN_COMPILE.matches(tree)) {
-                reportIssue(tree, MESSAGE_RULE);
+                QuickFixes.reportIssue(AvoidRegexPatternNotStatic.this, context, tree, MESSAGE_RULE, hoistToField(tree));
             } else {
                 super.visitMethodInvocation(tree);
             }
         }
 
+        @Override
+        public void visitClass(@Nonnull ClassTree tree) {
+            // methods of nested classes are visited on their own
+        }
+
     }
 }
@@ -20,51 +20,34 @@ package fr.greencodeinitiative.java.checks;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static fr.greencodeinitiative.java.utils.SqlMethods.SQL_METHOD;
+import static fr.greencodeinitiative.java.utils.TreeUtils.getEnclosingLoop;
+
+import fr.greencodeinitiative.java.utils.ConstantEvaluator;
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
-import org.sonar.plugins.java.api.semantic.MethodMatchers;
-import static org.sonar.plugins.java.api.semantic.MethodMatchers.CONSTRUCTOR;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
+/**
+ * Reports SQL requests run in loops. Statements prepared with a constant SQL in a loop are left to EC534.
+ */
 @Rule(key = "EC72")
 @DeprecatedRuleKey(repositoryKey = "greencodeinitiative-java", ruleKey = "S72")
 public class AvoidSQLRequestInLoop extends IssuableSubscriptionVisitor {
 
     protected static final String MESSAGERULE = "Avoid SQL request in loop";
-    private static final String JAVA_SQL_STATEMENT = "java.sql.Statement";
-    private static final String JAVA_SQL_CONNECTION = "java.sql.Connection";
-    private static final String SPRING_JDBC_OPERATIONS = "org.springframework.jdbc.core.JdbcOperations";
-
-    private static final MethodMatchers SQL_METHOD = MethodMatchers.or(
-            MethodMatchers.create().ofSubTypes("org.hibernate.Session").names("createQuery", "createSQLQuery")
-                    .withAnyParameters().build(),
-            MethodMatchers.create().ofSubTypes(JAVA_SQL_STATEMENT)
-                    .names("executeQuery", "execute", "executeUpdate", "executeLargeUpdate") // addBatch is recommended
-                    .withAnyParameters().build(),
-            MethodMatchers.create().ofSubTypes(JAVA_SQL_CONNECTION)
-                    .names("prepareStatement", "prepareCall", "nativeSQL")
-                    .withAnyParameters().build(),
-            MethodMatchers.create().ofTypes("javax.persistence.EntityManager")
-                    .names("createNativeQuery", "createQuery")
-                    .withAnyParameters().build(),
-            MethodMatchers.create().ofSubTypes(SPRING_JDBC_OPERATIONS)
-                    .names("batchUpdate", "execute", "query", "queryForList", "queryForMap", "queryForObject",
-                            "queryForRowSet", "queryForInt", "queryForLong", "update")
-                    .withAnyParameters().build(),
-            MethodMatchers.create().ofTypes("org.springframework.jdbc.core.PreparedStatementCreatorFactory")
-                    .names(CONSTRUCTOR, "newPreparedStatementCreator")
-                    .withAnyParameters().build(),
-            MethodMatchers.create().ofSubTypes("javax.jdo.PersistenceManager").names("newQuery")
-                    .withAnyParameters().build(),
-            MethodMatchers.create().ofSubTypes("javax.jdo.Query").names("setFilter", "setGrouping")
-                    .withAnyParameters().build());
 
     private final AvoidSQLRequestInLoopVisitor visitorInFile = new AvoidSQLRequestInLoopVisitor();
 
+    private final ConstantEvaluator constantEvaluator = new ConstantEvaluator();
+
     @Override
     public List<Kind> nodesToVisit() {
         return Arrays.asList(
@@ -77,12 +60,28 @@ public class AvoidSQLRequestInLoop extends IssuableSubscriptionVisitor {
         tree.accept(visitorInFile);
     }
 
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        constantEvaluator.clear();
+    }
+
+    /**
+     * @return true if EC534 reports the invocation as a statement prepared with a constant SQL in a loop
+     */
+    private boolean isConstantPreparationInLoop(MethodInvocationTree tree) {
+        return ReuseJdbcConnectionsAndStatements.PREPARE_STATEMENT.matches(tree) && !tree.arguments().isEmpty()
+                && constantEvaluator.isConstant(tree.arguments().get(0)) && getEnclosingLoop(tree) != null;
+    }
+
     private class AvoidSQLRequestInLoopVisitor extends BaseTreeVisitor {
 
         @Override
         public void visitMethodInvocation(MethodInvocationTree tree) {
             if (SQL_METHOD.matches(tree)) {
-                reportIssue(tree, MESSAGERULE);
+                if (!isConstantPreparationInLoop(tree)) {
+                    reportIssue(tree, MESSAGERULE);
+                }
             } else {
                 super.visitMethodInvocation(tree);
             }
@@ -19,32 +19,30 @@ package fr.greencodeinitiative.java.checks;
 
 import java.sql.PreparedStatement;
 import java.util.List;
-import java.util.stream.Stream;
 
-import fr.greencodeinitiative.java.checks.enums.ConstOrLiteralDeclare;
-import static fr.greencodeinitiative.java.checks.enums.ConstOrLiteralDeclare.isLiteral;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import fr.greencodeinitiative.java.utils.ConstantEvaluator;
 import static java.util.Arrays.asList;
 
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import static org.sonar.plugins.java.api.semantic.Type.Primitives.INT;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
-import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
-import static org.sonar.plugins.java.api.tree.Tree.Kind.MEMBER_SELECT;
-import static org.sonar.plugins.java.api.tree.Tree.Kind.METHOD_INVOCATION;
-
 @Rule(key = "EC78")
 @DeprecatedRuleKey(repositoryKey = "greencodeinitiative-java", ruleKey = "S78")
 public class AvoidSetConstantInBatchUpdate extends IssuableSubscriptionVisitor {
 
     protected static final String MESSAGERULE = "Avoid setting constants in batch update";
     private final AvoidSetConstantInBatchUpdateVisitor visitorInFile = new AvoidSetConstantInBatchUpdateVisitor();
+    private final ConstantEvaluator constantEvaluator = new ConstantEvaluator();
 
     @Override
     public List<Kind> nodesToVisit() {
@@ -60,6 +58,12 @@ public class AvoidSetConstantInBatchUpdate extends IssuableSubscriptionVisitor {
         tree.accept(visitorInFile);
     }
 
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        constantEvaluator.clear();
+    }
+
     private class AvoidSetConstantInBatchUpdateVisitor extends BaseTreeVisitor {
 
         private final MethodMatchers setters = MethodMatchers.create().ofSubTypes(PreparedStatement.class.getName())
@@ -69,23 +73,11 @@ public class AvoidSetConstantInBatchUpdate extends IssuableSubscriptionVisitor {
 
         @Override
         public void visitMethodInvocation(MethodInvocationTree tree) {
-            if (setters.matches(tree) && isConstant(tree.arguments().get(1))) {
+            if (setters.matches(tree) && constantEvaluator.isConstant(tree.arguments().get(1))) {
                 reportIssue(tree, MESSAGERULE);
             } else {
                 super.visitMethodInvocation(tree);
             }
         }
     }
-
-    private static final boolean isConstant(Tree arg) {
-
-        if (arg.is(METHOD_INVOCATION)) {
-            MethodInvocationTree m = (MethodInvocationTree) arg;
-            return Stream.of(ConstOrLiteralDeclare.values()).anyMatch(o -> o.isLiteralDeclare(m));
-        } else if (arg.is(MEMBER_SELECT)) {
-            MemberSelectExpressionTree m = (MemberSelectExpressionTree) arg;
-            return Stream.of(ConstOrLiteralDeclare.values()).anyMatch(o -> o.isPublicMember(m));
-        }
-        return isLiteral(arg);
-    }
 }
@@ -20,13 +20,15 @@ package fr.greencodeinitiative.java.checks;
 import java.util.Collections;
 import java.util.List;
 
-import com.google.re2j.Pattern;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import fr.greencodeinitiative.java.utils.SqlLiterals;
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import org.sonar.plugins.java.api.tree.Arguments;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
-import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
@@ -37,12 +39,12 @@ public class AvoidStatementForDMLQueries extends IssuableSubscriptionVisitor {
 
     protected static final String MESSAGERULE = "You must not use Statement for a DML query";
 
-    private static final Pattern PATTERN = Pattern.compile("(SELECT|INSERT INTO|UPDATE|DELETE FROM)\\s?.*", Pattern.CASE_INSENSITIVE);
-
     private static final MethodMatchers EXECUTE_METHOD = MethodMatchers.or(
             MethodMatchers.create().ofSubTypes("java.sql.Statement").names("executeUpdate")
                     .withAnyParameters().build());
 
+    private final SqlLiterals sqlLiterals = new SqlLiterals();
+
     @Override
     public List<Tree.Kind> nodesToVisit() {
         return Collections.singletonList(Tree.Kind.METHOD_INVOCATION);
@@ -57,11 +59,14 @@ public class AvoidStatementForDMLQueries extends IssuableSubscriptionVisitor {
         if (arguments.isEmpty())
             return;
         ExpressionTree first = arguments.get(0);
-        if (first.is(Tree.Kind.STRING_LITERAL)) {
-            LiteralTree literalTree = (LiteralTree) first;
-            String str = literalTree.value();
-            if (PATTERN.matcher(str).find())
-                reportIssue(literalTree, MESSAGERULE);
+        if (SqlLiterals.isStringExpression(first) && sqlLiterals.analyze(first) != null) {
+            reportIssue(first, MESSAGERULE);
         }
     }
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        sqlLiterals.clear();
+    }
 }
@@ -0,0 +1,239 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.BlockTree;
+import org.sonar.plugins.java.api.tree.ExpressionStatementTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Modifier;
+import org.sonar.plugins.java.api.tree.ModifierKeywordTree;
+import org.sonar.plugins.java.api.tree.ModifierTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.ReturnStatementTree;
+import org.sonar.plugins.java.api.tree.StatementTree;
+import org.sonar.plugins.java.api.tree.SynchronizedStatementTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.skipParentheses;
+
+/**
+ * Reports locks taken on hot paths where a lock-free or finer-grained alternative exists :
+ * <ul>
+ *     <li>synchronized methods and blocks only incrementing counters ({@code AtomicLong}, {@code LongAdder})</li>
+ *     <li>synchronized methods and blocks only reading fields ({@code volatile})</li>
+ *     <li>{@code Hashtable}, {@code Vector} and {@code Collections.synchronized*} wrappers (concurrent collections)</li>
+ * </ul>
+ * The other accesses to the fields in the class are given as secondary locations.
+ */
+@Rule(key = "EC540")
+public class AvoidSynchronizedHotPaths extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_COUNTER = "Use an AtomicLong or a LongAdder instead of synchronizing this counter.";
+    protected static final String MESSAGE_READ = "Use a volatile field instead of synchronizing these reads.";
+    protected static final String MESSAGE_HASHTABLE = "Use a ConcurrentHashMap instead of a Hashtable: every access takes the same lock.";
+    protected static final String MESSAGE_VECTOR = "Use an ArrayList, or a CopyOnWriteArrayList if it is shared, instead of a Vector: every access takes the same lock.";
+    protected static final String MESSAGE_SYNCHRONIZED_WRAPPER = "Use a concurrent collection (ConcurrentHashMap, CopyOnWriteArrayList...) instead of a synchronized wrapper: every access takes the same lock.";
+    protected static final String MESSAGE_ACCESS = "Accessed here.";
+
+    private static final MethodMatchers SYNCHRONIZED_WRAPPER = MethodMatchers.create()
+            .ofTypes("java.util.Collections")
+            .names("synchronizedMap", "synchronizedSortedMap", "synchronizedNavigableMap", "synchronizedList",
+                    "synchronizedSet", "synchronizedSortedSet", "synchronizedNavigableSet", "synchronizedCollection")
+            .withAnyParameters()
+            .build();
+
+    @Override
+    public List<Kind> nodesToVisit() {
+        return Arrays.asList(Kind.METHOD, Kind.SYNCHRONIZED_STATEMENT, Kind.NEW_CLASS, Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+        if (tree.is(Kind.METHOD)) {
+            MethodTree method = (MethodTree) tree;
+            ModifierKeywordTree synchronizedModifier = getSynchronizedModifier(method);
+            if (synchronizedModifier != null && method.block() != null) {
+                checkSynchronizedBody(synchronizedModifier, method.block());
+            }
+        } else if (tree.is(Kind.SYNCHRONIZED_STATEMENT)) {
+            SynchronizedStatementTree statement = (SynchronizedStatementTree) tree;
+            checkSynchronizedBody(statement.synchronizedKeyword(), statement.block());
+        } else if (tree.is(Kind.NEW_CLASS)) {
+            NewClassTree newClass = (NewClassTree) tree;
+            if (newClass.classBody() == null && newClass.symbolType().is("java.util.Hashtable")) {
+                reportWithAccesses(newClass, MESSAGE_HASHTABLE);
+            } else if (newClass.classBody() == null && newClass.symbolType().is("java.util.Vector")) {
+                reportWithAccesses(newClass, MESSAGE_VECTOR);
+            }
+        } else if (SYNCHRONIZED_WRAPPER.matches((MethodInvocationTree) tree)) {
+            reportWithAccesses(tree, MESSAGE_SYNCHRONIZED_WRAPPER);
+        }
+    }
+
+    private void checkSynchronizedBody(Tree keyword, BlockTree block) {
+        List<StatementTree> statements = block.body();
+        if (statements.isEmpty()) {
+            return;
+        }
+        Set<Symbol> counters = new LinkedHashSet<>();
+        Set<Symbol> reads = new LinkedHashSet<>();
+        for (StatementTree statement : statements) {
+            Symbol counter = getIncrementedCounter(statement);
+            if (counter != null) {
+                counters.add(counter);
+            } else {
+                Symbol read = getReadField(statement);
+                if (read == null) {
+                    return;
+                }
+                reads.add(read);
+            }
+        }
+        if (!counters.isEmpty()) {
+            counters.addAll(reads);
+            reportIssue(keyword, MESSAGE_COUNTER, getAccesses(counters, block), null);
+        } else {
+            reportIssue(keyword, MESSAGE_READ, getAccesses(reads, block), null);
+        }
+    }
+
+    /**
+     * Report the collection, with the accesses to the field it is stored in.
+     */
+    private void reportWithAccesses(Tree collection, String message) {
+        Tree parent = collection.parent();
+        Set<Symbol> fields = new LinkedHashSet<>();
+        if (parent != null && parent.is(Kind.VARIABLE) && isField(((VariableTree) parent).symbol())) {
+            fields.add(((VariableTree) parent).symbol());
+        } else if (parent != null && parent.is(Kind.ASSIGNMENT)) {
+            Symbol field = getField(((AssignmentExpressionTree) parent).variable());
+            if (field != null) {
+                fields.add(field);
+            }
+        }
+        reportIssue(collection, message, getAccesses(fields, collection), null);
+    }
+
+    private static List<JavaFileScannerContext.Location> getAccesses(Set<Symbol> fields, Tree excluded) {
+        List<JavaFileScannerContext.Location> accesses = new ArrayList<>();
+        for (Symbol field : fields) {
+            for (IdentifierTree usage : field.usages()) {
+                if (!isDescendant(usage, excluded)) {
+                    accesses.add(new JavaFileScannerContext.Location(MESSAGE_ACCESS, usage));
+                }
+            }
+        }
+        return accesses;
+    }
+
+    /**
+     * @return the numeric field incremented or decremented by the statement ({@code count++}, {@code count += n},
+     * {@code return ++count}), null if none
+     */
+    @CheckForNull
+    private static Symbol getIncrementedCounter(StatementTree statement) {
+        ExpressionTree expression;
+        if (statement.is(Kind.EXPRESSION_STATEMENT)) {
+            expression = ((ExpressionStatementTree) statement).expression();
+        } else if (statement.is(Kind.RETURN_STATEMENT) && ((ReturnStatementTree) statement).expression() != null) {
+            expression = skipParentheses(((ReturnStatementTree) statement).expression());
+        } else {
+            return null;
+        }
+        ExpressionTree variable;
+        if (expression.is(Kind.POSTFIX_INCREMENT, Kind.PREFIX_INCREMENT, Kind.POSTFIX_DECREMENT, Kind.PREFIX_DECREMENT)) {
+            variable = ((UnaryExpressionTree) expression).expression();
+        } else if (expression.is(Kind.PLUS_ASSIGNMENT, Kind.MINUS_ASSIGNMENT)) {
+            variable = ((AssignmentExpressionTree) expression).variable();
+        } else {
+            return null;
+        }
+        Symbol field = getField(variable);
+        return field != null && (field.type().is("int") || field.type().is("long")) ? field : null;
+    }
+
+    /**
+     * @return the field returned by the statement ({@code return value}, {@code return this.value}), null if none
+     */
+    @CheckForNull
+    private static Symbol getReadField(StatementTree statement) {
+        if (!statement.is(Kind.RETURN_STATEMENT) || ((ReturnStatementTree) statement).expression() == null) {
+            return null;
+        }
+        return getField(skipParentheses(((ReturnStatementTree) statement).expression()));
+    }
+
+    @CheckForNull
+    private static Symbol getField(ExpressionTree expression) {
+        Symbol symbol = null;
+        if (expression.is(Kind.IDENTIFIER)) {
+            symbol = ((IdentifierTree) expression).symbol();
+        } else if (expression.is(Kind.MEMBER_SELECT)
+                && ((MemberSelectExpressionTree) expression).expression().is(Kind.IDENTIFIER)
+                && "this".equals(((IdentifierTree) ((MemberSelectExpressionTree) expression).expression()).name())) {
+            symbol = ((MemberSelectExpressionTree) expression).identifier().symbol();
+        }
+        return symbol != null && isField(symbol) ? symbol : null;
+    }
+
+    private static boolean isField(Symbol symbol) {
+        return symbol.isVariableSymbol() && symbol.owner() != null && symbol.owner().isTypeSymbol();
+    }
+
+    @CheckForNull
+    private static ModifierKeywordTree getSynchronizedModifier(MethodTree method) {
+        for (ModifierTree modifier : method.modifiers()) {
+            if (modifier instanceof ModifierKeywordTree && ((ModifierKeywordTree) modifier).modifier() == Modifier.SYNCHRONIZED) {
+                return (ModifierKeywordTree) modifier;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDescendant(Tree tree, Tree ancestor) {
+        Tree parent = tree;
+        while (parent != null) {
+            if (parent == ancestor) {
+                return true;
+            }
+            parent = parent.parent();
+        }
+        return false;
+    }
+}
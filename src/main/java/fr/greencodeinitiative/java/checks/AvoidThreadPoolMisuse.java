@@ -0,0 +1,303 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+import org.sonar.check.Rule;
+import org.sonar.check.RuleProperty;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.skipParentheses;
+
+/**
+ * Reports the thread pools :
+ * <ul>
+ *     <li>created in a loop, or in a method which is not an initialization (constructor, initializer,
+ *     {@code @PostConstruct}, {@code @Bean}, lifecycle or factory method) unless stored in a field;</li>
+ *     <li>never shut down (no {@code shutdown}, {@code shutdownNow} or {@code close} call) while not given
+ *     to another object;</li>
+ *     <li>with an unbounded number of threads or an unbounded queue.</li>
+ * </ul>
+ * Only the first of these issues is reported on a pool. The creations in the {@link #factoryClasses factory classes}
+ * are not reported as per-call creations.
+ */
+@Rule(key = "EC542")
+public class AvoidThreadPoolMisuse extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_CREATION = "Create this thread pool once (field, constructor, bean) instead of at each call.";
+    protected static final String MESSAGE_SHUTDOWN = "Shut down this thread pool when it is no longer used.";
+    protected static final String MESSAGE_UNBOUNDED = "Bound the threads and the queue of this thread pool: use a ThreadPoolExecutor with a bounded queue and a rejection policy.";
+
+    private static final String EXECUTORS = "java.util.concurrent.Executors";
+
+    private static final MethodMatchers POOL_FACTORY = MethodMatchers.create()
+            .ofTypes(EXECUTORS)
+            .names("newCachedThreadPool", "newFixedThreadPool", "newSingleThreadExecutor", "newScheduledThreadPool",
+                    "newSingleThreadScheduledExecutor", "newWorkStealingPool")
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers UNBOUNDED_POOL_FACTORY = MethodMatchers.create()
+            .ofTypes(EXECUTORS)
+            .names("newCachedThreadPool", "newFixedThreadPool", "newSingleThreadExecutor")
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers POOL_CONSTRUCTOR = MethodMatchers.create()
+            .ofSubTypes("java.util.concurrent.ThreadPoolExecutor", "java.util.concurrent.ForkJoinPool")
+            .constructor()
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers THREAD_POOL_EXECUTOR_CONSTRUCTOR = MethodMatchers.create()
+            .ofTypes("java.util.concurrent.ThreadPoolExecutor")
+            .constructor()
+            .withAnyParameters()
+            .build();
+
+    private static final MethodMatchers UNBOUNDED_QUEUE_CONSTRUCTOR = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofTypes("java.util.concurrent.LinkedBlockingQueue", "java.util.concurrent.LinkedBlockingDeque")
+                    .constructor()
+                    .addWithoutParametersMatcher()
+                    .addParametersMatcher("java.util.Collection")
+                    .build(),
+            MethodMatchers.create()
+                    .ofTypes("java.util.concurrent.LinkedTransferQueue", "java.util.concurrent.PriorityBlockingQueue")
+                    .constructor()
+                    .withAnyParameters()
+                    .build());
+
+    private static final List<String> INITIALIZATION_ANNOTATIONS = List.of(
+            "javax.annotation.PostConstruct",
+            "jakarta.annotation.PostConstruct",
+            "org.springframework.context.annotation.Bean");
+
+    private static final Set<String> INITIALIZATION_METHODS = Set.of(
+            "init", "initialize", "start", "afterPropertiesSet", "contextInitialized", "main");
+
+    private static final Set<String> SHUTDOWN_METHODS = Set.of("shutdown", "shutdownNow", "close");
+
+    @RuleProperty(key = "factoryClasses",
+            description = "Comma-separated fully qualified names of the classes whose methods create thread pools on purpose: " +
+                    "the thread pools created in their methods are not reported as created at each call.",
+            defaultValue = "")
+    public String factoryClasses = "";
+
+    private Set<String> factoryClassNames;
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+        return Arrays.asList(Tree.Kind.METHOD_INVOCATION, Tree.Kind.NEW_CLASS);
+    }
+
+    @Override
+    public void visitNode(@Nonnull Tree tree) {
+        boolean unbounded;
+        if (tree.is(Tree.Kind.METHOD_INVOCATION)) {
+            MethodInvocationTree invocation = (MethodInvocationTree) tree;
+            if (!POOL_FACTORY.matches(invocation)) {
+                return;
+            }
+            unbounded = UNBOUNDED_POOL_FACTORY.matches(invocation);
+        } else {
+            NewClassTree newClass = (NewClassTree) tree;
+            if (!POOL_CONSTRUCTOR.matches(newClass)) {
+                return;
+            }
+            unbounded = hasUnboundedQueue(newClass);
+        }
+        ExpressionTree creation = (ExpressionTree) tree;
+        if (isCreatedAtEachCall(creation)) {
+            reportIssue(creation, MESSAGE_CREATION);
+        } else if (!isShutDownOrShared(creation)) {
+            reportIssue(creation, MESSAGE_SHUTDOWN);
+        } else if (unbounded) {
+            reportIssue(creation, MESSAGE_UNBOUNDED);
+        }
+    }
+
+    private static boolean hasUnboundedQueue(NewClassTree newClass) {
+        if (!THREAD_POOL_EXECUTOR_CONSTRUCTOR.matches(newClass) || newClass.arguments().size() < 5) {
+            return false;
+        }
+        ExpressionTree queue = skipParentheses(newClass.arguments().get(4));
+        return queue.is(Tree.Kind.NEW_CLASS) && UNBOUNDED_QUEUE_CONSTRUCTOR.matches((NewClassTree) queue);
+    }
+
+    private boolean isCreatedAtEachCall(ExpressionTree creation) {
+        Tree parent = creation.parent();
+        while (parent != null) {
+            switch (parent.kind()) {
+                case FOR_STATEMENT:
+                case FOR_EACH_STATEMENT:
+                case WHILE_STATEMENT:
+                case DO_STATEMENT:
+                    return !isInFactoryClass(parent);
+                case METHOD:
+                    return !isInitialization((MethodTree) parent) && !isStoredInField(creation)
+                            && !isInFactoryClass(parent);
+                case CONSTRUCTOR:
+                case INITIALIZER:
+                case STATIC_INITIALIZER:
+                case CLASS:
+                case ENUM:
+                case INTERFACE:
+                case RECORD:
+                    return false;
+                default:
+                    parent = parent.parent();
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInitialization(MethodTree method) {
+        if (INITIALIZATION_METHODS.contains(method.simpleName().name())
+                || method.symbol().returnType().type().isSubtypeOf("java.util.concurrent.Executor")) {
+            return true;
+        }
+        return INITIALIZATION_ANNOTATIONS.stream().anyMatch(method.symbol().metadata()::isAnnotatedWith);
+    }
+
+    private static boolean isStoredInField(ExpressionTree creation) {
+        Symbol variable = getAssignedVariable(creation);
+        return variable != null && variable.owner() != null && variable.owner().isTypeSymbol();
+    }
+
+    private boolean isInFactoryClass(Tree tree) {
+        Set<String> names = getFactoryClassNames();
+        if (names.isEmpty()) {
+            return false;
+        }
+        Tree parent = tree.parent();
+        while (parent != null) {
+            if (parent instanceof ClassTree
+                    && names.contains(((ClassTree) parent).symbol().type().fullyQualifiedName())) {
+                return true;
+            }
+            parent = parent.parent();
+        }
+        return false;
+    }
+
+    private Set<String> getFactoryClassNames() {
+        // the rule parameter is set after the construction of the check
+        if (factoryClassNames == null) {
+            Set<String> names = new HashSet<>();
+            StringTokenizer tokenizer = new StringTokenizer(factoryClasses, ", \t");
+            while (tokenizer.hasMoreTokens()) {
+                names.add(tokenizer.nextToken());
+            }
+            factoryClassNames = names;
+        }
+        return factoryClassNames;
+    }
+
+    /**
+     * @return true if the pool is shut down, or may be shut down by another object it is given to
+     */
+    private static boolean isShutDownOrShared(ExpressionTree creation) {
+        Symbol variable = getAssignedVariable(creation);
+        if (variable == null) {
+            return isShared(creation);
+        }
+        Tree declaration = variable.declaration();
+        if (declaration != null && declaration.parent() != null && declaration.parent().is(Tree.Kind.LIST)
+                && declaration.parent().parent() != null && declaration.parent().parent().is(Tree.Kind.TRY_STATEMENT)) {
+            // resource of a try-with-resources
+            return true;
+        }
+        for (IdentifierTree usage : variable.usages()) {
+            ExpressionTree expression = usage;
+            if (usage.parent() instanceof MemberSelectExpressionTree
+                    && ((MemberSelectExpressionTree) usage.parent()).identifier() == usage) {
+                // this.pool
+                expression = (ExpressionTree) usage.parent();
+            }
+            if (isShutDown(expression) || isShared(expression)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isShutDown(ExpressionTree expression) {
+        Tree parent = expression.parent();
+        return parent instanceof MemberSelectExpressionTree
+                && SHUTDOWN_METHODS.contains(((MemberSelectExpressionTree) parent).identifier().name())
+                && parent.parent() != null && parent.parent().is(Tree.Kind.METHOD_INVOCATION);
+    }
+
+    /**
+     * @return true if the value of the expression is given to another object : argument, returned value, variable
+     */
+    private static boolean isShared(ExpressionTree expression) {
+        Tree parent = expression.parent();
+        while (parent != null && parent.is(Tree.Kind.PARENTHESIZED_EXPRESSION, Tree.Kind.TYPE_CAST,
+                Tree.Kind.CONDITIONAL_EXPRESSION)) {
+            parent = parent.parent();
+        }
+        if (parent instanceof AssignmentExpressionTree) {
+            return ((AssignmentExpressionTree) parent).variable() != expression;
+        }
+        return parent != null && parent.is(Tree.Kind.ARGUMENTS, Tree.Kind.RETURN_STATEMENT, Tree.Kind.VARIABLE,
+                Tree.Kind.LAMBDA_EXPRESSION, Tree.Kind.YIELD_STATEMENT);
+    }
+
+    @CheckForNull
+    private static Symbol getAssignedVariable(ExpressionTree creation) {
+        Tree parent = creation.parent();
+        while (parent != null && parent.is(Tree.Kind.PARENTHESIZED_EXPRESSION, Tree.Kind.TYPE_CAST)) {
+            parent = parent.parent();
+        }
+        if (parent instanceof VariableTree) {
+            return ((VariableTree) parent).symbol();
+        }
+        if (parent instanceof AssignmentExpressionTree) {
+            ExpressionTree variable = skipParentheses(((AssignmentExpressionTree) parent).variable());
+            if (variable.is(Tree.Kind.IDENTIFIER)) {
+                return ((IdentifierTree) variable).symbol();
+            }
+            if (variable.is(Tree.Kind.MEMBER_SELECT)) {
+                return ((MemberSelectExpressionTree) variable).identifier().symbol();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+import fr.greencodeinitiative.java.utils.CollectionUsages;
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+/**
+ * Reports maps used as memoization caches ({@code computeIfAbsent}, or {@code get} then {@code put} in a method)
+ * by long-lived objects (static fields, fields of Spring singletons), without any eviction : no removal and
+ * no check of the size. Static maps reported by this rule are not reported by EC76
+ * ({@link AvoidUsageOfStaticCollections}).
+ * <p>
+ * The suggested bounded cache depends on the map : Caffeine for concurrent maps, WeakHashMap for keys that are
+ * neither strings, boxed primitives nor enums, LinkedHashMap with removeEldestEntry otherwise.
+ */
+@Rule(key = "EC533")
+public class AvoidUnboundedMemoizationCache extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_CAFFEINE = "Bound this memoization cache: use Caffeine with a maximum size or an expiration.";
+    protected static final String MESSAGE_WEAK_HASH_MAP = "Bound this memoization cache: use a WeakHashMap to release entries with their keys.";
+    protected static final String MESSAGE_LINKED_HASH_MAP = "Bound this memoization cache: use a LinkedHashMap overriding removeEldestEntry.";
+    protected static final String MESSAGE_MEMOIZATION = "Memoized here.";
+
+    private static final List<String> SINGLETON_ANNOTATIONS = List.of(
+            "org.springframework.stereotype.Component",
+            "org.springframework.stereotype.Service",
+            "org.springframework.stereotype.Repository",
+            "org.springframework.stereotype.Controller",
+            "org.springframework.web.bind.annotation.RestController");
+
+    private static final Set<String> VALUE_KEY_TYPES = Set.of(
+            "java.lang.Object", "java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Short",
+            "java.lang.Byte", "java.lang.Character", "java.lang.Boolean", "java.lang.Float", "java.lang.Double");
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+        return Collections.singletonList(Tree.Kind.VARIABLE);
+    }
+
+    @Override
+    public void visitNode(@Nonnull Tree tree) {
+        VariableTree variable = (VariableTree) tree;
+        Symbol symbol = variable.symbol();
+        if (!isLongLivedField(symbol) || !symbol.type().isSubtypeOf(Map.class.getName())
+                || CollectionUsages.isImmutable(variable.initializer()) || CollectionUsages.isBounded(variable.initializer())) {
+            return;
+        }
+        CollectionUsages usages = new CollectionUsages(symbol, false);
+        if (!usages.getShrinkingWrites().isEmpty()) {
+            return;
+        }
+        List<MethodInvocationTree> memoizations = usages.getMemoizations();
+        if (!memoizations.isEmpty()) {
+            List<JavaFileScannerContext.Location> secondaries = new ArrayList<>(memoizations.size());
+            for (MethodInvocationTree memoization : memoizations) {
+                secondaries.add(new JavaFileScannerContext.Location(MESSAGE_MEMOIZATION, memoization));
+            }
+            reportIssue(variable.simpleName(), getMessage(variable), secondaries, null);
+        }
+    }
+
+    private static boolean isLongLivedField(Symbol symbol) {
+        Symbol owner = symbol.owner();
+        if (owner == null || !owner.isTypeSymbol()) {
+            return false;
+        }
+        if (symbol.isStatic()) {
+            return true;
+        }
+        for (String annotation : SINGLETON_ANNOTATIONS) {
+            if (owner.metadata().isAnnotatedWith(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getMessage(VariableTree variable) {
+        Type type = variable.symbol().type();
+        ExpressionTree initializer = variable.initializer();
+        if (type.isSubtypeOf("java.util.concurrent.ConcurrentMap")
+                || (initializer != null && initializer.symbolType().isSubtypeOf("java.util.concurrent.ConcurrentMap"))) {
+            return MESSAGE_CAFFEINE;
+        }
+        List<Type> typeArguments = type.typeArguments();
+        if (!typeArguments.isEmpty() && hasIdentity(typeArguments.get(0))) {
+            return MESSAGE_WEAK_HASH_MAP;
+        }
+        return MESSAGE_LINKED_HASH_MAP;
+    }
+
+    /**
+     * @return true if keys of this type may be garbage collected : not strings, boxed primitives or enums
+     */
+    private static boolean hasIdentity(Type keyType) {
+        return !keyType.isUnknown() && !VALUE_KEY_TYPES.contains(keyType.fullyQualifiedName())
+                && !keyType.symbol().isEnum();
+    }
+}
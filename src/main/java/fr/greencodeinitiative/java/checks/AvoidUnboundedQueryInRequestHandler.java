@@ -0,0 +1,361 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import fr.greencodeinitiative.java.utils.AnalysisBudget;
+import fr.greencodeinitiative.java.utils.AnalysisCost;
+import fr.greencodeinitiative.java.utils.SqlLiterals;
+import fr.greencodeinitiative.java.utils.SqlMethods;
+import fr.greencodeinitiative.java.utils.SqlStatement;
+import fr.greencodeinitiative.java.utils.TreeUtils;
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.SymbolMetadata;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.getEnclosingMethod;
+import static fr.greencodeinitiative.java.utils.TreeUtils.isLocalVariable;
+import static fr.greencodeinitiative.java.utils.TreeUtils.parentSkippingParentheses;
+import static fr.greencodeinitiative.java.utils.TreeUtils.skipParentheses;
+
+/**
+ * Reports unbounded result sets loaded while handling a web request :
+ * <ul>
+ *     <li>Spring Data repository queries returning a collection without a {@code Pageable} parameter</li>
+ *     <li>SQL {@code SELECT} literals without {@code LIMIT}, {@code FETCH FIRST}, {@code TOP}... given to a query
+ *     method (directly, through a local variable or a parameter of a method of the same file), whose result is not
+ *     bounded by {@code setMaxResults} or {@code setMaxRows}, read as a single result or streamed</li>
+ * </ul>
+ * Only the {@code @RequestMapping} ({@code @GetMapping}, {@code @PostMapping}...) methods of {@code @Controller} and
+ * {@code @RestController} classes, and the methods of the same file they call (transitively), are analyzed.
+ */
+@Rule(key = "EC535")
+@AnalysisCost(AnalysisCost.Level.EXPENSIVE)
+public class AvoidUnboundedQueryInRequestHandler extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_REPOSITORY = "Add a Pageable parameter to this query, or stream its result, to bound the memory used by the request.";
+    protected static final String MESSAGE_SQL = "Add a LIMIT or FETCH FIRST clause to this query, or stream its result, to bound the memory used by the request.";
+    protected static final String MESSAGE_HANDLER = "Request handler.";
+
+    private static final List<String> CONTROLLER_ANNOTATIONS = Arrays.asList(
+            "org.springframework.stereotype.Controller",
+            "org.springframework.web.bind.annotation.RestController");
+
+    private static final List<String> MAPPING_ANNOTATIONS = Arrays.asList(
+            "org.springframework.web.bind.annotation.RequestMapping",
+            "org.springframework.web.bind.annotation.GetMapping",
+            "org.springframework.web.bind.annotation.PostMapping",
+            "org.springframework.web.bind.annotation.PutMapping",
+            "org.springframework.web.bind.annotation.DeleteMapping",
+            "org.springframework.web.bind.annotation.PatchMapping");
+
+    private static final List<String> QUERY_METHOD_PREFIXES = Arrays.asList("find", "read", "get", "query", "search");
+
+    private static final String PAGEABLE = "org.springframework.data.domain.Pageable";
+
+    private static final MethodMatchers REPOSITORY_METHOD = MethodMatchers.create()
+            .ofSubTypes("org.springframework.data.repository.Repository")
+            .anyName()
+            .withAnyParameters()
+            .build();
+
+    /**
+     * Methods executing the SQL given as argument.
+     */
+    private static final MethodMatchers QUERY_METHOD = MethodMatchers.or(
+            SqlMethods.SQL_METHOD,
+            MethodMatchers.create().ofSubTypes("jakarta.persistence.EntityManager")
+                    .names("createNativeQuery", "createQuery")
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofSubTypes(SqlMethods.SPRING_NAMED_PARAMETER_JDBC_OPERATIONS)
+                    .names("query", "queryForList", "queryForMap", "queryForObject", "queryForRowSet", "queryForStream")
+                    .withAnyParameters().build());
+
+    /**
+     * Query methods reading a single row, or streaming the rows.
+     */
+    private static final MethodMatchers BOUNDED_QUERY_METHOD = MethodMatchers.create()
+            .ofSubTypes(SqlMethods.SPRING_JDBC_OPERATIONS, SqlMethods.SPRING_NAMED_PARAMETER_JDBC_OPERATIONS)
+            .names("queryForMap", "queryForObject", "queryForStream")
+            .withAnyParameters()
+            .build();
+
+    /**
+     * Methods limiting the number of rows read by the queries of a JDBC statement or a {@code JdbcTemplate}.
+     */
+    private static final MethodMatchers MAX_ROWS_METHOD = MethodMatchers.create()
+            .ofSubTypes(SqlMethods.JAVA_SQL_STATEMENT, "org.springframework.jdbc.core.JdbcTemplate")
+            .names("setMaxRows", "setLargeMaxRows")
+            .withAnyParameters()
+            .build();
+
+    /**
+     * Methods limiting the number of results of a query, reading a single result or streaming the results.
+     */
+    private static final MethodMatchers BOUNDING_METHOD = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofSubTypes("javax.persistence.Query", "jakarta.persistence.Query", "org.hibernate.query.Query")
+                    .names("setMaxResults", "getSingleResult", "getSingleResultOrNull", "uniqueResult",
+                            "uniqueResultOptional", "getResultStream", "stream")
+                    .withAnyParameters()
+                    .build(),
+            MAX_ROWS_METHOD);
+
+    /**
+     * Unbounded queries of the file, by enclosing method.
+     */
+    private final Map<Symbol, List<Tree>> queries = new LinkedHashMap<>();
+    private final Map<Symbol, List<Symbol>> calls = new HashMap<>();
+    private final List<MethodTree> handlers = new ArrayList<>();
+
+    private final SqlLiterals sqlLiterals = new SqlLiterals();
+    private final AnalysisBudget budget = new AnalysisBudget(this);
+
+    @Override
+    public List<Kind> nodesToVisit() {
+        return Arrays.asList(Kind.METHOD, Kind.METHOD_INVOCATION, Kind.STRING_LITERAL, Kind.TEXT_BLOCK, Kind.PLUS);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+        budget.run(context, () -> collect(tree));
+    }
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        if (!budget.isExceeded()) {
+            // queries and calls are incomplete when the collect has been skipped
+            budget.run(context, this::reportReachableQueries);
+        }
+        queries.clear();
+        calls.clear();
+        handlers.clear();
+        sqlLiterals.clear();
+        budget.reset();
+    }
+
+    private void collect(Tree tree) {
+        if (tree.is(Kind.METHOD)) {
+            if (isRequestHandler((MethodTree) tree)) {
+                handlers.add((MethodTree) tree);
+            }
+            return;
+        }
+        MethodTree method = getEnclosingMethod(tree);
+        if (method == null) {
+            return;
+        }
+        if (tree.is(Kind.METHOD_INVOCATION)) {
+            MethodInvocationTree invocation = (MethodInvocationTree) tree;
+            Symbol callee = invocation.methodSymbol();
+            if (callee.declaration() != null) {
+                calls.computeIfAbsent(method.symbol(), key -> new ArrayList<>()).add(callee);
+            }
+            if (isUnboundedRepositoryQuery(invocation)) {
+                queries.computeIfAbsent(method.symbol(), key -> new ArrayList<>()).add(invocation);
+            }
+        } else if (SqlLiterals.isStringExpression(tree) && sqlLiterals.isRoot(tree) && isUnboundedSelect((ExpressionTree) tree)
+                && isExecutedUnbounded((ExpressionTree) tree)) {
+            queries.computeIfAbsent(method.symbol(), key -> new ArrayList<>()).add(tree);
+        }
+    }
+
+    private void reportReachableQueries() {
+        // methods reachable from a request handler, with the first handler reaching them
+        Map<Symbol, MethodTree> reachable = new HashMap<>();
+        Deque<Symbol> pending = new ArrayDeque<>();
+        for (MethodTree handler : handlers) {
+            if (reachable.putIfAbsent(handler.symbol(), handler) == null) {
+                pending.add(handler.symbol());
+            }
+            while (!pending.isEmpty()) {
+                for (Symbol callee : calls.getOrDefault(pending.poll(), List.of())) {
+                    if (reachable.putIfAbsent(callee, handler) == null) {
+                        pending.add(callee);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<Symbol, List<Tree>> entry : queries.entrySet()) {
+            MethodTree handler = reachable.get(entry.getKey());
+            if (handler != null) {
+                List<JavaFileScannerContext.Location> secondaries =
+                        List.of(new JavaFileScannerContext.Location(MESSAGE_HANDLER, handler.simpleName()));
+                for (Tree query : entry.getValue()) {
+                    reportIssue(query, query.is(Kind.METHOD_INVOCATION) ? MESSAGE_REPOSITORY : MESSAGE_SQL, secondaries, null);
+                }
+            }
+        }
+    }
+
+    private static boolean isRequestHandler(MethodTree method) {
+        Symbol.MethodSymbol symbol = method.symbol();
+        Symbol owner = symbol.owner();
+        if (owner == null || symbol.isStatic()) {
+            return false;
+        }
+        SymbolMetadata ownerMetadata = owner.metadata();
+        SymbolMetadata metadata = symbol.metadata();
+        return CONTROLLER_ANNOTATIONS.stream().anyMatch(ownerMetadata::isAnnotatedWith)
+                && MAPPING_ANNOTATIONS.stream().anyMatch(metadata::isAnnotatedWith);
+    }
+
+    private static boolean isUnboundedRepositoryQuery(MethodInvocationTree invocation) {
+        if (!REPOSITORY_METHOD.matches(invocation)) {
+            return false;
+        }
+        String name = invocation.methodSymbol().name();
+        if (QUERY_METHOD_PREFIXES.stream().noneMatch(name::startsWith) || name.startsWith("findAllById")) {
+            return false;
+        }
+        if (!invocation.symbolType().isSubtypeOf("java.lang.Iterable")
+                || invocation.symbolType().isSubtypeOf("org.springframework.data.domain.Slice")) {
+            return false;
+        }
+        return invocation.arguments().stream().noneMatch(argument -> argument.symbolType().isSubtypeOf(PAGEABLE));
+    }
+
+    private boolean isUnboundedSelect(ExpressionTree expression) {
+        SqlStatement statement = sqlLiterals.analyze(expression);
+        return statement != null && statement.has(SqlStatement.Feature.SELECT_WITHOUT_LIMIT);
+    }
+
+    /**
+     * @return true if the SQL is executed by a query method whose result is not bounded, the SQL being given to the
+     * query method directly, through a local variable or through a parameter of a method of the same file
+     */
+    private static boolean isExecutedUnbounded(ExpressionTree sql) {
+        Tree parent = parentSkippingParentheses(sql);
+        if (parent.is(Kind.VARIABLE)) {
+            Symbol variable = ((VariableTree) parent).symbol();
+            return isLocalVariable(variable) && isAnyUsageExecutedUnbounded(variable);
+        }
+        MethodInvocationTree invocation = invocationWithArgument(sql);
+        if (invocation == null) {
+            return false;
+        }
+        if (QUERY_METHOD.matches(invocation)) {
+            return !isBounded(invocation);
+        }
+        // the SQL given to a method of the same file : the parameter executed by a query method
+        Tree declaration = invocation.methodSymbol().declaration();
+        int index = invocation.arguments().indexOf(sql);
+        if (declaration == null || index < 0 || index >= ((MethodTree) declaration).parameters().size()) {
+            return false;
+        }
+        return isAnyUsageExecutedUnbounded(((MethodTree) declaration).parameters().get(index).symbol());
+    }
+
+    private static boolean isAnyUsageExecutedUnbounded(Symbol variable) {
+        for (IdentifierTree usage : variable.usages()) {
+            MethodInvocationTree invocation = invocationWithArgument(usage);
+            if (invocation != null && QUERY_METHOD.matches(invocation) && !isBounded(invocation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @CheckForNull
+    private static MethodInvocationTree invocationWithArgument(ExpressionTree argument) {
+        Tree parent = parentSkippingParentheses(argument);
+        if (parent.is(Kind.ARGUMENTS) && parent.parent() != null && parent.parent().is(Kind.METHOD_INVOCATION)) {
+            return (MethodInvocationTree) parent.parent();
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the query reads a single row, if it is run by a statement or a {@code JdbcTemplate} whose
+     * maximum number of rows is set in the file, or if its number of results is then limited ({@code setMaxResults},
+     * {@code setMaxRows}), read as a single result or streamed : by chained calls, or calls on the local variable it
+     * is assigned to
+     */
+    private static boolean isBounded(MethodInvocationTree query) {
+        if (BOUNDED_QUERY_METHOD.matches(query)) {
+            return true;
+        }
+        Symbol runner = receiverSymbol(query);
+        if (runner != null && runner.isVariableSymbol() && isAnyUsageCalling(runner, MAX_ROWS_METHOD)) {
+            return true;
+        }
+        ExpressionTree current = query;
+        Tree parent = parentSkippingParentheses(current);
+        while (parent.is(Kind.MEMBER_SELECT) && parent.parent() != null && parent.parent().is(Kind.METHOD_INVOCATION)) {
+            MethodInvocationTree chained = (MethodInvocationTree) parent.parent();
+            if (BOUNDING_METHOD.matches(chained)) {
+                return true;
+            }
+            current = chained;
+            parent = parentSkippingParentheses(current);
+        }
+        if (parent.is(Kind.VARIABLE) && isLocalVariable(((VariableTree) parent).symbol())) {
+            return isAnyUsageCalling(((VariableTree) parent).symbol(), BOUNDING_METHOD);
+        }
+        return false;
+    }
+
+    /**
+     * @return the symbol of the variable or field the method is called on, null if none
+     */
+    @CheckForNull
+    private static Symbol receiverSymbol(MethodInvocationTree invocation) {
+        if (!invocation.methodSelect().is(Kind.MEMBER_SELECT)) {
+            return null;
+        }
+        ExpressionTree receiver = skipParentheses(((MemberSelectExpressionTree) invocation.methodSelect()).expression());
+        if (receiver.is(Kind.IDENTIFIER)) {
+            return ((IdentifierTree) receiver).symbol();
+        }
+        if (receiver.is(Kind.MEMBER_SELECT)) {
+            return ((MemberSelectExpressionTree) receiver).identifier().symbol();
+        }
+        return null;
+    }
+
+    private static boolean isAnyUsageCalling(Symbol variable, MethodMatchers methods) {
+        return variable.usages().stream()
+                .map(TreeUtils::parentSkippingParentheses)
+                .anyMatch(usageParent -> usageParent.is(Kind.MEMBER_SELECT) && usageParent.parent() != null
+                        && usageParent.parent().is(Kind.METHOD_INVOCATION)
+                        && methods.matches((MethodInvocationTree) usageParent.parent()));
+    }
+}
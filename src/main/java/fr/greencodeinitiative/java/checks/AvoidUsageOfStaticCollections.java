@@ -17,26 +17,42 @@
  */
 package fr.greencodeinitiative.java.checks;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import javax.annotation.Nonnull;
 
+import fr.greencodeinitiative.java.utils.CollectionUsages;
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
+/**
+ * Reports static collections, maps, caches (Guava, Caffeine) and arrays only growing : elements are added
+ * at runtime (see {@link CollectionUsages}), but never removed.
+ * <p>
+ * Immutable collections, and collections bounded by an eviction policy are not reported. Maps used as memoization
+ * caches are left to EC533 ({@link AvoidUnboundedMemoizationCache}).
+ */
 @Rule(key = "EC76")
 @DeprecatedRuleKey(repositoryKey = "greencodeinitiative-java", ruleKey = "S76")
 public class AvoidUsageOfStaticCollections extends IssuableSubscriptionVisitor {
 
-    protected static final String MESSAGE_RULE = "Avoid usage of static collections.";
+    protected static final String MESSAGE_RULE = "Avoid static collections that only grow: use a bounded cache with eviction.";
+    protected static final String MESSAGE_WRITE = "Added here.";
 
-    private final AvoidUsageOfStaticCollectionsVisitor visitor = new AvoidUsageOfStaticCollectionsVisitor();
+    private static final List<String> CACHE_TYPES = List.of(
+            "com.google.common.cache.Cache",
+            "com.github.benmanes.caffeine.cache.Cache",
+            "com.github.benmanes.caffeine.cache.AsyncCache");
 
     @Override
     public List<Tree.Kind> nodesToVisit() {
@@ -47,23 +63,45 @@ public class AvoidUsageOfStaticCollections extends IssuableSubscriptionVisitor {
 
     @Override
     public void visitNode(@Nonnull Tree tree) {
-        tree.accept(visitor);
+        VariableTree variable = (VariableTree) tree;
+        Symbol symbol = variable.symbol();
+        if (!symbol.isStatic()) {
+            return;
+        }
+        Type type = symbol.type();
+        boolean cache = isCache(type);
+        if (!cache && !type.isArray() && !type.isSubtypeOf(Iterable.class.getName())
+                && !type.isSubtypeOf(Map.class.getName())) {
+            return;
+        }
+        ExpressionTree initializer = variable.initializer();
+        if (CollectionUsages.isImmutable(initializer) || CollectionUsages.isBounded(initializer)) {
+            return;
+        }
+        CollectionUsages usages = new CollectionUsages(symbol, cache);
+        if (usages.isOnlyGrowing() && !isMemoizationCache(type, cache, usages)) {
+            List<JavaFileScannerContext.Location> secondaries = new ArrayList<>();
+            for (Tree write : usages.getGrowingWrites()) {
+                secondaries.add(new JavaFileScannerContext.Location(MESSAGE_WRITE, write));
+            }
+            reportIssue(variable.simpleName(), MESSAGE_RULE, secondaries, null);
+        }
     }
 
-    private class AvoidUsageOfStaticCollectionsVisitor extends BaseTreeVisitor {
+    /**
+     * @return true if the collection is reported by EC533 as an unbounded memoization cache
+     */
+    private static boolean isMemoizationCache(Type type, boolean cache, CollectionUsages usages) {
+        return !cache && type.isSubtypeOf(Map.class.getName()) && !usages.getMemoizations().isEmpty();
+    }
 
-        @Override
-        public void visitVariable(@Nonnull VariableTree tree) {
-            if (tree.symbol().isStatic() &&
-                    (tree.type().symbolType().isSubtypeOf(Iterable.class.getName()) ||
-                            tree.type().symbolType().is(Map.class.getName()))
-            ) {
-                reportIssue(tree, MESSAGE_RULE);
-            } else {
-                super.visitVariable(tree);
+    private static boolean isCache(Type type) {
+        for (String cacheType : CACHE_TYPES) {
+            if (type.isSubtypeOf(cacheType)) {
+                return true;
             }
         }
-
+        return false;
     }
 
 }
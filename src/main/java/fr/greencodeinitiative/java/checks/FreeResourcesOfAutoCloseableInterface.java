@@ -22,19 +22,51 @@ import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Supplier;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import fr.greencodeinitiative.java.utils.QuickFixes;
 import org.sonar.check.Rule;
+import org.sonar.java.reporting.JavaQuickFix;
+import org.sonar.java.reporting.JavaTextEdit;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.JavaVersion;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.BlockTree;
+import org.sonar.plugins.java.api.tree.ExpressionStatementTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.IfStatementTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.StatementTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.TryStatementTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
+import static fr.greencodeinitiative.java.utils.TreeUtils.isInTree;
+import static fr.greencodeinitiative.java.utils.TreeUtils.isLocalVariable;
+import static fr.greencodeinitiative.java.utils.TreeUtils.parentSkippingParentheses;
 
+/**
+ * Reports resources not closed with a try-with-resources statement :
+ * <ul>
+ *     <li>AutoCloseable instances created in a try statement and closed in its finally block</li>
+ *     <li>AutoCloseable instances returned by well-known methods (files, JDBC) and not closed on all paths : not
+ *     used as resource of a try-with-resources, nor closed in a finally block. Resources escaping the method
+ *     (returned, passed as argument, stored in a field or captured by a lambda) are not reported.</li>
+ * </ul>
+ * The quick fix converts a try statement whose first statement creates the resource, and whose finally block only
+ * closes it, into a try-with-resources.
+ */
 @Rule(key = "EC79")
 @DeprecatedRuleKey(repositoryKey = "greencodeinitiative-java", ruleKey = "S79")
 public class FreeResourcesOfAutoCloseableInterface extends IssuableSubscriptionVisitor {
@@ -43,6 +75,42 @@ public class FreeResourcesOfAutoCloseableInterface extends IssuableSubscriptionV
 
     private static final String JAVA_LANG_AUTOCLOSEABLE = "java.lang.AutoCloseable";
     protected static final String MESSAGE_RULE = "try-with-resources Statement needs to be implemented for any object that implements the AutoClosable interface.";
+    protected static final String MESSAGE_RETURNED_RESOURCE = "Use try-with-resources to close the AutoCloseable returned by this method.";
+    protected static final String MESSAGE_NOT_CLOSED_ON_EXCEPTION = "Not closed when an exception is thrown.";
+
+    private static final MethodMatchers RESOURCE_METHODS = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofTypes("java.nio.file.Files")
+                    .names("lines", "list", "walk", "find", "newBufferedReader", "newBufferedWriter",
+                            "newInputStream", "newOutputStream", "newByteChannel", "newDirectoryStream")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("javax.sql.DataSource")
+                    .names("getConnection")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofTypes("java.sql.DriverManager")
+                    .names("getConnection")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.sql.Connection")
+                    .names("prepareStatement", "prepareCall", "createStatement")
+                    .withAnyParameters()
+                    .build());
+
+    /**
+     * Result sets are closed with their statement.
+     */
+    private static final MethodMatchers RESULT_SET_METHODS = MethodMatchers.create()
+            .ofSubTypes("java.sql.Statement")
+            .names("executeQuery", "getResultSet", "getGeneratedKeys")
+            .withAnyParameters()
+            .build();
+
+    private static final String JAVA_UTIL_STREAM_BASESTREAM = "java.util.stream.BaseStream";
 
     @Override
     @ParametersAreNonnullByDefault
@@ -53,7 +121,7 @@ public class FreeResourcesOfAutoCloseableInterface extends IssuableSubscriptionV
 
     @Override
     public List<Tree.Kind> nodesToVisit() {
-        return Arrays.asList(Tree.Kind.TRY_STATEMENT, Tree.Kind.NEW_CLASS);
+        return Arrays.asList(Tree.Kind.TRY_STATEMENT, Tree.Kind.NEW_CLASS, Tree.Kind.METHOD_INVOCATION);
     }
 
     @Override
@@ -68,6 +136,9 @@ public class FreeResourcesOfAutoCloseableInterface extends IssuableSubscriptionV
             assert toReport.peek() != null;
             toReport.peek().add(tree);
         }
+        if (tree.is(Tree.Kind.METHOD_INVOCATION) && isReturningResource((MethodInvocationTree) tree)) {
+            checkReturnedResource((MethodInvocationTree) tree);
+        }
     }
 
     @Override
@@ -75,9 +146,109 @@ public class FreeResourcesOfAutoCloseableInterface extends IssuableSubscriptionV
         if (tree.is(Tree.Kind.TRY_STATEMENT)) {
             List<Tree> secondaryTrees = toReport.pop();
             if (!secondaryTrees.isEmpty()) {
-                reportIssue(tree, MESSAGE_RULE);
+                QuickFixes.reportIssue(this, context, tree, MESSAGE_RULE, toTryWithResources((TryStatementTree) tree, secondaryTrees));
+            }
+        }
+    }
+
+    /**
+     * The try statement is converted when it only creates one resource, assigned by its first statement to a
+     * variable declared just before the try statement, and when it has no catch clause and its finally block only
+     * closes the resource : the catch clauses of a try-with-resources also catch the exceptions thrown when closing.
+     */
+    @CheckForNull
+    private Supplier<JavaQuickFix> toTryWithResources(TryStatementTree tryStatement, List<Tree> resources) {
+        if (!QuickFixes.isSupported()) {
+            return null;
+        }
+        BlockTree block = tryStatement.block();
+        BlockTree finallyBlock = tryStatement.finallyBlock();
+        if (finallyBlock == null || finallyBlock.body().size() != 1 || !tryStatement.catches().isEmpty()
+                || !(tryStatement.parent() instanceof BlockTree)) {
+            return null;
+        }
+        List<StatementTree> statements = ((BlockTree) tryStatement.parent()).body();
+        int index = statements.indexOf(tryStatement);
+        if (index < 1 || !statements.get(index - 1).is(Tree.Kind.VARIABLE) || block.body().isEmpty()) {
+            return null;
+        }
+        VariableTree variable = (VariableTree) statements.get(index - 1);
+        StatementTree assignment = block.body().get(0);
+        Symbol symbol = variable.symbol();
+        Tree resource = resources.get(0);
+        if (variable.initializer() != null && !variable.initializer().is(Tree.Kind.NULL_LITERAL)
+                || !isAssignment(assignment, symbol, resource)
+                || !isCloseStatement(finallyBlock.body().get(0), symbol)) {
+            return null;
+        }
+        for (Tree other : resources) {
+            if (other != resource && !isInTree(other, resource)) {
+                // wrapped resources are closed with their wrapper, any other one is not
+                return null;
             }
         }
+        for (IdentifierTree usage : symbol.usages()) {
+            if (!isInTree(usage, block) && !isInTree(usage, finallyBlock)
+                    || usage.parent().is(Tree.Kind.ASSIGNMENT) && usage.parent().parent() != assignment) {
+                // used out of the try block, or not effectively final
+                return null;
+            }
+        }
+        String declaration = QuickFixes.text(context, variable.type()) + " " + symbol.name() + " = " + QuickFixes.text(context, resource);
+        return () -> JavaQuickFix.newQuickFix("Convert to try-with-resources")
+                .addTextEdit(JavaTextEdit.replaceBetweenTree(variable, true, tryStatement.tryKeyword(), false, ""))
+                .addTextEdit(JavaTextEdit.insertAfterTree(tryStatement.tryKeyword(), " (" + declaration + ")"))
+                .addTextEdit(JavaTextEdit.replaceBetweenTree(block.openBraceToken(), false, assignment, true, ""))
+                .addTextEdit(JavaTextEdit.replaceBetweenTree(block, false, finallyBlock, true, ""))
+                .build();
+    }
+
+    private static boolean isAssignment(StatementTree statement, Symbol variable, Tree value) {
+        if (!statement.is(Tree.Kind.EXPRESSION_STATEMENT)
+                || !((ExpressionStatementTree) statement).expression().is(Tree.Kind.ASSIGNMENT)) {
+            return false;
+        }
+        AssignmentExpressionTree assignment = (AssignmentExpressionTree) ((ExpressionStatementTree) statement).expression();
+        return assignment.expression() == value && assignment.variable().is(Tree.Kind.IDENTIFIER)
+                && ((IdentifierTree) assignment.variable()).symbol() == variable;
+    }
+
+    /**
+     * @return true if the statement is {@code resource.close();}, possibly in {@code if (resource != null)}
+     */
+    private static boolean isCloseStatement(StatementTree statement, Symbol resource) {
+        StatementTree close = statement;
+        if (close.is(Tree.Kind.IF_STATEMENT)) {
+            IfStatementTree ifStatement = (IfStatementTree) close;
+            if (ifStatement.elseStatement() != null || !isNotNullCheck(ifStatement.condition(), resource)) {
+                return false;
+            }
+            close = ifStatement.thenStatement();
+            if (close.is(Tree.Kind.BLOCK) && ((BlockTree) close).body().size() == 1) {
+                close = ((BlockTree) close).body().get(0);
+            }
+        }
+        if (!close.is(Tree.Kind.EXPRESSION_STATEMENT)
+                || !((ExpressionStatementTree) close).expression().is(Tree.Kind.METHOD_INVOCATION)) {
+            return false;
+        }
+        MethodInvocationTree invocation = (MethodInvocationTree) ((ExpressionStatementTree) close).expression();
+        return invocation.arguments().isEmpty() && invocation.methodSelect().is(Tree.Kind.MEMBER_SELECT)
+                && "close".equals(((MemberSelectExpressionTree) invocation.methodSelect()).identifier().name())
+                && isVariable(((MemberSelectExpressionTree) invocation.methodSelect()).expression(), resource);
+    }
+
+    private static boolean isNotNullCheck(ExpressionTree condition, Symbol variable) {
+        if (!condition.is(Tree.Kind.NOT_EQUAL_TO)) {
+            return false;
+        }
+        BinaryExpressionTree comparison = (BinaryExpressionTree) condition;
+        return isVariable(comparison.leftOperand(), variable) && comparison.rightOperand().is(Tree.Kind.NULL_LITERAL)
+                || isVariable(comparison.rightOperand(), variable) && comparison.leftOperand().is(Tree.Kind.NULL_LITERAL);
+    }
+
+    private static boolean isVariable(ExpressionTree expression, Symbol variable) {
+        return expression.is(Tree.Kind.IDENTIFIER) && ((IdentifierTree) expression).symbol() == variable;
     }
 
     private boolean withinStandardTryWithFinally() {
@@ -86,6 +257,153 @@ public class FreeResourcesOfAutoCloseableInterface extends IssuableSubscriptionV
         return withinTry.peek().finallyBlock() != null;
     }
 
+    private static boolean isReturningResource(MethodInvocationTree invocation) {
+        if (!invocation.symbolType().isSubtypeOf(JAVA_LANG_AUTOCLOSEABLE)) {
+            return false;
+        }
+        if (RESULT_SET_METHODS.matches(invocation)) {
+            return !isClosedStatement(invocation);
+        }
+        return RESOURCE_METHODS.matches(invocation);
+    }
+
+    /**
+     * @return true if the statement creating the result set is a variable closed by a try-with-resources
+     */
+    private static boolean isClosedStatement(MethodInvocationTree invocation) {
+        if (!invocation.methodSelect().is(Tree.Kind.MEMBER_SELECT)) {
+            return true;
+        }
+        ExpressionTree statement = ((MemberSelectExpressionTree) invocation.methodSelect()).expression();
+        if (!statement.is(Tree.Kind.IDENTIFIER)) {
+            // chained creation of the statement : the statement is reported
+            return statement.is(Tree.Kind.METHOD_INVOCATION);
+        }
+        Tree declaration = ((IdentifierTree) statement).symbol().declaration();
+        return declaration == null || !declaration.is(Tree.Kind.VARIABLE) || isTryResource(declaration);
+    }
+
+    /**
+     * Local escape analysis of the returned resource.
+     */
+    private void checkReturnedResource(MethodInvocationTree invocation) {
+        ExpressionTree value = followStreamPipeline(invocation);
+        Tree parent = parentSkippingParentheses(value);
+        if (parent == null || isClosed(value) || isEscaping(value, parent)) {
+            return;
+        }
+        Symbol variable = null;
+        if (parent.is(Tree.Kind.VARIABLE)) {
+            if (isTryResource(parent)) {
+                return;
+            }
+            variable = ((VariableTree) parent).symbol();
+        } else if (parent.is(Tree.Kind.ASSIGNMENT)
+                && ((AssignmentExpressionTree) parent).variable().is(Tree.Kind.IDENTIFIER)) {
+            variable = ((IdentifierTree) ((AssignmentExpressionTree) parent).variable()).symbol();
+        }
+        if (variable == null) {
+            reportIssue(invocation, MESSAGE_RETURNED_RESOURCE);
+        } else if (isLocalVariable(variable)) {
+            checkLocalResource(invocation, variable);
+        }
+    }
+
+    private void checkLocalResource(MethodInvocationTree invocation, Symbol variable) {
+        List<JavaFileScannerContext.Location> closesOutsideFinally = new ArrayList<>();
+        for (IdentifierTree usage : variable.usages()) {
+            ExpressionTree value = followStreamPipeline(usage);
+            Tree parent = parentSkippingParentheses(value);
+            if (parent == null || isTryResource(usage) || isEscaping(value, parent) || isCapturedByLambda(usage, variable)) {
+                return;
+            }
+            if (isClosed(value)) {
+                if (isInFinally(value)) {
+                    return;
+                }
+                closesOutsideFinally.add(new JavaFileScannerContext.Location(MESSAGE_NOT_CLOSED_ON_EXCEPTION, parent.parent()));
+            } else if (parent.is(Tree.Kind.VARIABLE)) {
+                // aliased (possibly by a stream pipeline) : closing the alias closes the resource
+                return;
+            }
+        }
+        reportIssue(invocation, MESSAGE_RETURNED_RESOURCE, closesOutsideFinally, null);
+    }
+
+    /**
+     * Intermediate operations of streams return a stream closing the source stream when closed.
+     *
+     * @return the last stream of the pipeline
+     */
+    private static ExpressionTree followStreamPipeline(ExpressionTree stream) {
+        ExpressionTree value = stream;
+        while (value.symbolType().isSubtypeOf(JAVA_UTIL_STREAM_BASESTREAM)) {
+            Tree parent = parentSkippingParentheses(value);
+            if (parent == null || !parent.is(Tree.Kind.MEMBER_SELECT)
+                    || !parent.parent().is(Tree.Kind.METHOD_INVOCATION)
+                    || !((MethodInvocationTree) parent.parent()).symbolType().isSubtypeOf(JAVA_UTIL_STREAM_BASESTREAM)) {
+                break;
+            }
+            value = (MethodInvocationTree) parent.parent();
+        }
+        return value;
+    }
+
+    private static boolean isClosed(ExpressionTree value) {
+        Tree parent = parentSkippingParentheses(value);
+        return parent != null && parent.is(Tree.Kind.MEMBER_SELECT)
+                && "close".equals(((MemberSelectExpressionTree) parent).identifier().name())
+                && parent.parent().is(Tree.Kind.METHOD_INVOCATION);
+    }
+
+    /**
+     * @return true if the value is returned, passed as argument, or stored out of the method
+     */
+    private static boolean isEscaping(ExpressionTree value, Tree parent) {
+        if (parent.is(Tree.Kind.RETURN_STATEMENT, Tree.Kind.ARGUMENTS, Tree.Kind.LAMBDA_EXPRESSION,
+                Tree.Kind.NEW_ARRAY, Tree.Kind.CONDITIONAL_EXPRESSION, Tree.Kind.YIELD_STATEMENT)) {
+            return true;
+        }
+        if (parent.is(Tree.Kind.ASSIGNMENT) && ((AssignmentExpressionTree) parent).expression() == value) {
+            ExpressionTree target = ((AssignmentExpressionTree) parent).variable();
+            return !target.is(Tree.Kind.IDENTIFIER) || !isLocalVariable(((IdentifierTree) target).symbol());
+        }
+        return false;
+    }
+
+    private static boolean isCapturedByLambda(Tree usage, Symbol variable) {
+        Tree parent = usage.parent();
+        Tree owner = variable.declaration() == null ? null : variable.declaration().parent();
+        while (parent != null && parent != owner) {
+            if (parent.is(Tree.Kind.LAMBDA_EXPRESSION, Tree.Kind.CLASS)) {
+                return true;
+            }
+            parent = parent.parent();
+        }
+        return false;
+    }
+
+    private static boolean isTryResource(Tree tree) {
+        Tree parent = tree.parent();
+        while (parent != null && parent.is(Tree.Kind.LIST)) {
+            parent = parent.parent();
+        }
+        return parent != null && parent.is(Tree.Kind.TRY_STATEMENT) && ((TryStatementTree) parent).resourceList().contains(tree);
+    }
+
+    private static boolean isInFinally(Tree tree) {
+        Tree child = tree;
+        Tree parent = tree.parent();
+        while (parent != null && !parent.is(Tree.Kind.METHOD, Tree.Kind.LAMBDA_EXPRESSION, Tree.Kind.CLASS)) {
+            if (parent.is(Tree.Kind.TRY_STATEMENT) && ((TryStatementTree) parent).finallyBlock() == child) {
+                return true;
+            }
+            child = parent;
+            parent = parent.parent();
+        }
+        return false;
+    }
+
     public boolean isCompatibleWithJavaVersion(JavaVersion version) {
         return version.isJava7Compatible();
     }
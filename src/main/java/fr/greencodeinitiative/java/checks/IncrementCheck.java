@@ -17,28 +17,129 @@
  */
 package fr.greencodeinitiative.java.checks;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
+import javax.annotation.CheckForNull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import fr.greencodeinitiative.java.utils.IssueAggregator;
+import fr.greencodeinitiative.java.utils.QuickFixes;
 import org.sonar.check.Rule;
+import org.sonar.check.RuleProperty;
+import org.sonar.java.reporting.JavaQuickFix;
+import org.sonar.java.reporting.JavaTextEdit;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
+import static fr.greencodeinitiative.java.utils.TreeUtils.parentSkippingParentheses;
+
+/**
+ * Reports post-increments with a cost :
+ * <ul>
+ *     <li>{@code i++} on a boxed operand whose value is used : the previous value is kept alive beside the new
+ *     allocated box</li>
+ *     <li>{@code getAndIncrement()} of atomics whose result is discarded</li>
+ * </ul>
+ * Post-increments of primitives are compiled the same way as pre-increments and are not reported.
+ * <p>
+ * {@code ++i} is not a remedy for boxed operands : it has another value and still allocates a box. The counter
+ * should be a primitive local, or an {@code AtomicInteger} incremented with {@code getAndIncrement()} when shared.
+ * <p>
+ * {@code getAndIncrement()} whose result is discarded is fixed by {@code incrementAndGet()}. {@code i++} has no
+ * quick fix : the type of the variable has to change.
+ */
 @Rule(key = "EC67")
 @DeprecatedRuleKey(repositoryKey = "greencodeinitiative-java", ruleKey = "S67")
 public class IncrementCheck extends IssuableSubscriptionVisitor {
 
-    protected static final String MESSAGERULE = "Use ++i instead of i++";
+    protected static final String MESSAGERULE = "Use a primitive counter or an AtomicInteger instead of incrementing a boxed value";
+    protected static final String MESSAGE_GET_AND_INCREMENT = "Use incrementAndGet() instead of getAndIncrement() when the result is not used";
+
+    private static final MethodMatchers GET_AND_INCREMENT = MethodMatchers.create()
+            .ofTypes("java.util.concurrent.atomic.AtomicInteger", "java.util.concurrent.atomic.AtomicLong",
+                    "java.util.concurrent.atomic.AtomicIntegerArray", "java.util.concurrent.atomic.AtomicLongArray")
+            .names("getAndIncrement")
+            .withAnyParameters()
+            .build();
+
+    private static final List<String> BOXED_TYPES = Arrays.asList(
+            "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte", "java.lang.Character",
+            "java.lang.Float", "java.lang.Double");
+
+    @RuleProperty(key = IssueAggregator.THRESHOLD_PARAMETER, description = IssueAggregator.THRESHOLD_DESCRIPTION,
+            defaultValue = "0")
+    public int aggregationThreshold = 0;
+
+    private final IssueAggregator issueAggregator = new IssueAggregator(() -> aggregationThreshold);
 
     @Override
     public List<Kind> nodesToVisit() {
-        return Collections.singletonList(Kind.POSTFIX_INCREMENT);
+        return Arrays.asList(Kind.POSTFIX_INCREMENT, Kind.METHOD_INVOCATION);
     }
 
     @Override
     public void visitNode(Tree tree) {
-        reportIssue(tree, MESSAGERULE);
+        if (tree.is(Kind.POSTFIX_INCREMENT)) {
+            if (isValueUsed(tree) && isBoxed(((UnaryExpressionTree) tree).expression().symbolType())) {
+                issueAggregator.add(tree, MESSAGERULE);
+            }
+        } else if (isValueDiscarded(tree) && GET_AND_INCREMENT.matches((MethodInvocationTree) tree)) {
+            issueAggregator.add(tree, MESSAGE_GET_AND_INCREMENT, toIncrementAndGet((MethodInvocationTree) tree));
+        }
+    }
+
+    @CheckForNull
+    private static Supplier<JavaQuickFix> toIncrementAndGet(MethodInvocationTree invocation) {
+        if (!QuickFixes.isSupported()) {
+            return null;
+        }
+        return () -> JavaQuickFix.newQuickFix("Replace with incrementAndGet()")
+                .addTextEdit(JavaTextEdit.replaceTree(methodName(invocation), "incrementAndGet"))
+                .build();
+    }
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        issueAggregator.report(this, context);
+    }
+
+    private static boolean isBoxed(Type type) {
+        for (String boxedType : BOXED_TYPES) {
+            if (type.is(boxedType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The value of a lambda body is used or not depending on the functional interface : it is considered neither
+     * used nor discarded.
+     */
+    private static boolean isValueUsed(Tree expression) {
+        Tree parent = parentSkippingParentheses(expression);
+        return parent != null && !parent.is(Kind.EXPRESSION_STATEMENT, Kind.LAMBDA_EXPRESSION);
+    }
+
+    private static boolean isValueDiscarded(Tree expression) {
+        Tree parent = parentSkippingParentheses(expression);
+        return parent != null && parent.is(Kind.EXPRESSION_STATEMENT);
+    }
+
+    private static Tree methodName(MethodInvocationTree invocation) {
+        ExpressionTree methodSelect = invocation.methodSelect();
+        return methodSelect.is(Kind.MEMBER_SELECT) ? ((MemberSelectExpressionTree) methodSelect).identifier() : methodSelect;
     }
 }
@@ -17,22 +17,56 @@
  */
 package fr.greencodeinitiative.java.checks;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
 
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import fr.greencodeinitiative.java.utils.IssueAggregator;
+import fr.greencodeinitiative.java.utils.QuickFixes;
 import org.sonar.check.Rule;
+import org.sonar.check.RuleProperty;
+import org.sonar.java.reporting.JavaQuickFix;
+import org.sonar.java.reporting.JavaTextEdit;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.VariableTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
+/**
+ * Reports StringBuilder and StringBuffer created without capacity.
+ * <p>
+ * The quick fix sets the capacity to the length of the appended values, when all the appends are known : chained
+ * to the creation or made on a local variable, out of loops. The length of the non-constant values is estimated.
+ */
 @Rule(key = "EC32")
 @DeprecatedRuleKey(repositoryKey = "greencodeinitiative-java", ruleKey = "GRSP0032")
 public class InitializeBufferWithAppropriateSize extends IssuableSubscriptionVisitor {
 
     protected static final String RULE_MESSAGE = "Initialize StringBuilder or StringBuffer with appropriate size";
 
+    /**
+     * Estimated length of a non-constant appended value : the default capacity of a StringBuilder.
+     */
+    private static final int UNKNOWN_LENGTH = 16;
+
+    @RuleProperty(key = IssueAggregator.THRESHOLD_PARAMETER, description = IssueAggregator.THRESHOLD_DESCRIPTION,
+            defaultValue = "0")
+    public int aggregationThreshold = 0;
+
+    private final IssueAggregator issueAggregator = new IssueAggregator(() -> aggregationThreshold);
+
     @Override
     public List<Kind> nodesToVisit() {
         return Collections.singletonList(Kind.NEW_CLASS);
@@ -44,7 +78,88 @@ public class InitializeBufferWithAppropriateSize extends IssuableSubscriptionVis
         if ((newClassTree.symbolType().is("java.lang.StringBuffer")
                 || newClassTree.symbolType().is("java.lang.StringBuilder"))
                 && newClassTree.arguments().isEmpty()) {
-            reportIssue(tree, RULE_MESSAGE);
+            OptionalInt capacity = estimateCapacity(newClassTree);
+            if (capacity.isPresent() && QuickFixes.isSupported()) {
+                issueAggregator.add(tree, RULE_MESSAGE, () -> JavaQuickFix.newQuickFix("Initialize with a capacity of %d", capacity.getAsInt())
+                        .addTextEdit(JavaTextEdit.insertAfterTree(newClassTree.arguments().openParenToken(), String.valueOf(capacity.getAsInt())))
+                        .build());
+            } else {
+                issueAggregator.add(tree, RULE_MESSAGE);
+            }
+        }
+    }
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        issueAggregator.report(this, context);
+    }
+
+    /**
+     * @return the sum of the lengths of the appended values, empty if some appends are not known
+     */
+    private static OptionalInt estimateCapacity(NewClassTree newClass) {
+        List<ExpressionTree> appended = new ArrayList<>();
+        Tree parent = newClass.parent();
+        if (parent.is(Kind.VARIABLE)) {
+            Symbol variable = ((VariableTree) parent).symbol();
+            if (variable.owner() == null || !variable.owner().isMethodSymbol()) {
+                return OptionalInt.empty();
+            }
+            for (IdentifierTree usage : variable.usages()) {
+                if (isInLoop(usage, parent.parent()) || !collectAppended(usage, appended)) {
+                    return OptionalInt.empty();
+                }
+            }
+        } else {
+            collectAppended(newClass, appended);
+        }
+        if (appended.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        int capacity = 0;
+        for (ExpressionTree value : appended) {
+            Optional<String> constant = value.asConstant(String.class);
+            if (constant.isPresent()) {
+                capacity += constant.get().length();
+            } else if (value.is(Kind.CHAR_LITERAL)) {
+                capacity += 1;
+            } else {
+                capacity += UNKNOWN_LENGTH;
+            }
+        }
+        return OptionalInt.of(capacity);
+    }
+
+    /**
+     * Collects the values appended by the calls chained to the builder.
+     *
+     * @return false if the builder is used otherwise than by appends, toString or length
+     */
+    private static boolean collectAppended(ExpressionTree builder, List<ExpressionTree> appended) {
+        ExpressionTree current = builder;
+        while (current.parent() instanceof MemberSelectExpressionTree && current.parent().parent().is(Kind.METHOD_INVOCATION)) {
+            MethodInvocationTree invocation = (MethodInvocationTree) current.parent().parent();
+            String name = invocation.methodSymbol().name();
+            if ("append".equals(name) && invocation.arguments().size() == 1) {
+                appended.add(invocation.arguments().get(0));
+            } else {
+                return "toString".equals(name) || "length".equals(name);
+            }
+            current = invocation;
+        }
+        return current.parent().is(Kind.EXPRESSION_STATEMENT);
+    }
+
+    private static boolean isInLoop(Tree tree, Tree declarationBlock) {
+        Tree parent = tree.parent();
+        while (parent != null && parent != declarationBlock) {
+            if (parent.is(Kind.FOR_STATEMENT, Kind.FOR_EACH_STATEMENT, Kind.WHILE_STATEMENT, Kind.DO_STATEMENT,
+                    Kind.LAMBDA_EXPRESSION)) {
+                return true;
+            }
+            parent = parent.parent();
         }
+        return false;
     }
 }
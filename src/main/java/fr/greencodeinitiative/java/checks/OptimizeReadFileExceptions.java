@@ -69,7 +69,7 @@ public class OptimizeReadFileExceptions extends IssuableSubscriptionVisitor {
 
             LOGGER.debug("compute 'isExceptionFound'");
             this.isExceptionFound = computeIsExceptionFound(catchTreeList);
-            LOGGER.debug("isExceptionFound : " + isExceptionFound);
+            LOGGER.debug("isExceptionFound : {}", isExceptionFound);
         }
         LOGGER.debug("--------------------_____-----_____----- OptimizeReadFileExceptions.visitNode METHOD - END");
     }
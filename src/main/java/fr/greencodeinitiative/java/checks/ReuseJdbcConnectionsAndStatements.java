@@ -0,0 +1,141 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import fr.greencodeinitiative.java.utils.ConstantEvaluator;
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.getEnclosingLoop;
+import static fr.greencodeinitiative.java.utils.TreeUtils.getEnclosingMethod;
+
+/**
+ * Reports JDBC objects created again and again instead of being reused :
+ * <ul>
+ *     <li>connections got in a loop</li>
+ *     <li>statements created in a loop</li>
+ *     <li>statements prepared with a constant SQL in a loop, or in a method called in a loop of the same file</li>
+ * </ul>
+ */
+@Rule(key = "EC534")
+public class ReuseJdbcConnectionsAndStatements extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_CONNECTION = "Get the connection once before the loop.";
+    protected static final String MESSAGE_STATEMENT = "Create the statement once before the loop and reuse it.";
+    protected static final String MESSAGE_PREPARED_STATEMENT = "Prepare this statement once before the loop and re-bind its parameters.";
+    protected static final String MESSAGE_PREPARED_IN_CALLED_METHOD = "Prepare this statement once before the loops calling this method and re-bind its parameters.";
+    protected static final String MESSAGE_CALL_IN_LOOP = "Called in a loop.";
+
+    private static final MethodMatchers GET_CONNECTION = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofSubTypes("javax.sql.DataSource")
+                    .names("getConnection")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofTypes("java.sql.DriverManager")
+                    .names("getConnection")
+                    .withAnyParameters()
+                    .build());
+
+    private static final MethodMatchers CREATE_STATEMENT = MethodMatchers.create()
+            .ofSubTypes("java.sql.Connection")
+            .names("createStatement")
+            .withAnyParameters()
+            .build();
+
+    static final MethodMatchers PREPARE_STATEMENT = MethodMatchers.create()
+            .ofSubTypes("java.sql.Connection")
+            .names("prepareStatement", "prepareCall")
+            .withAnyParameters()
+            .build();
+
+    private final ConstantEvaluator constantEvaluator = new ConstantEvaluator();
+
+    /**
+     * Statements prepared with a constant SQL out of loops, by method.
+     */
+    private final Map<Symbol.MethodSymbol, List<MethodInvocationTree>> constantPreparations = new LinkedHashMap<>();
+
+    @Override
+    public List<Kind> nodesToVisit() {
+        return Arrays.asList(Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+        MethodInvocationTree invocation = (MethodInvocationTree) tree;
+        if (GET_CONNECTION.matches(invocation)) {
+            reportIfInLoop(invocation, MESSAGE_CONNECTION);
+        } else if (CREATE_STATEMENT.matches(invocation)) {
+            reportIfInLoop(invocation, MESSAGE_STATEMENT);
+        } else if (PREPARE_STATEMENT.matches(invocation) && !invocation.arguments().isEmpty()
+                && constantEvaluator.isConstant(invocation.arguments().get(0))) {
+            if (getEnclosingLoop(invocation) != null) {
+                reportIssue(invocation, MESSAGE_PREPARED_STATEMENT);
+            } else {
+                MethodTree method = getEnclosingMethod(invocation);
+                if (method != null) {
+                    constantPreparations.computeIfAbsent(method.symbol(), key -> new ArrayList<>()).add(invocation);
+                }
+            }
+        }
+    }
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        for (Map.Entry<Symbol.MethodSymbol, List<MethodInvocationTree>> entry : constantPreparations.entrySet()) {
+            List<JavaFileScannerContext.Location> callsInLoop = new ArrayList<>();
+            for (IdentifierTree call : entry.getKey().usages()) {
+                if (getEnclosingLoop(call) != null) {
+                    callsInLoop.add(new JavaFileScannerContext.Location(MESSAGE_CALL_IN_LOOP, call));
+                }
+            }
+            if (!callsInLoop.isEmpty()) {
+                for (MethodInvocationTree preparation : entry.getValue()) {
+                    reportIssue(preparation, MESSAGE_PREPARED_IN_CALLED_METHOD, callsInLoop, null);
+                }
+            }
+        }
+        constantPreparations.clear();
+        constantEvaluator.clear();
+    }
+
+    private void reportIfInLoop(MethodInvocationTree invocation, String message) {
+        if (getEnclosingLoop(invocation) != null) {
+            reportIssue(invocation, message);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import fr.greencodeinitiative.java.utils.JdbcSettings;
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+import org.sonar.plugins.java.api.tree.VariableTree;
+import org.sonar.plugins.java.api.tree.WhileStatementTree;
+
+import static fr.greencodeinitiative.java.utils.SqlMethods.EXECUTE_QUERY;
+import static fr.greencodeinitiative.java.utils.SqlMethods.PERSIST_METHOD;
+import static fr.greencodeinitiative.java.utils.TreeUtils.getEnclosingLoop;
+import static fr.greencodeinitiative.java.utils.TreeUtils.isLocalVariable;
+
+/**
+ * Reports JDBC reads and JPA writes depending on the fetch size and batch size settings :
+ * <ul>
+ *     <li>result sets read row by row ({@code while (rs.next())}) from a statement without {@code setFetchSize}</li>
+ *     <li>entities persisted in a loop while no {@code hibernate.jdbc.batch_size} is configured in the project</li>
+ * </ul>
+ * The settings are read in the resources of the module of the analyzed file (see {@link JdbcSettings}), the module
+ * being the directory containing the {@code src/main/java} or {@code src/test/java} directory of the file. They are
+ * read again when the configuration files change, the check being kept for the whole session in SonarLint.
+ */
+@Rule(key = "EC537")
+public class UseJdbcFetchAndBatchSize extends IssuableSubscriptionVisitor {
+
+    protected static final String MESSAGE_FETCH_SIZE = "Call setFetchSize() on the statement to read the rows by chunks of a known size.";
+    protected static final String MESSAGE_BATCH_SIZE = "Configure hibernate.jdbc.batch_size so that the entities persisted in this loop are sent in batches.";
+    protected static final String MESSAGE_ROWS_READ = "Rows read here.";
+
+    private static final Path MAIN_SOURCES = Paths.get("src", "main", "java");
+    private static final Path TEST_SOURCES = Paths.get("src", "test", "java");
+
+    /**
+     * Settings of the modules of the analyzed files, read again when out of date.
+     */
+    private final Map<Path, JdbcSettings> settingsByModule = new HashMap<>();
+
+    /**
+     * Settings of the module of the analyzed file, checked once per file, null until needed.
+     */
+    private JdbcSettings fileSettings;
+
+    @Override
+    public List<Kind> nodesToVisit() {
+        return Arrays.asList(Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+        MethodInvocationTree invocation = (MethodInvocationTree) tree;
+        if (EXECUTE_QUERY.matches(invocation)) {
+            checkFetchSize(invocation);
+        } else if (PERSIST_METHOD.matches(invocation) && getEnclosingLoop(invocation) != null
+                && !settings().isBatchSizeConfigured()) {
+            reportIssue(invocation, MESSAGE_BATCH_SIZE);
+        }
+    }
+
+    @Override
+    @ParametersAreNonnullByDefault
+    public void leaveFile(JavaFileScannerContext context) {
+        fileSettings = null;
+    }
+
+    private void checkFetchSize(MethodInvocationTree executeQuery) {
+        if (!executeQuery.methodSelect().is(Kind.MEMBER_SELECT)) {
+            return;
+        }
+        Tree readLoop = getReadLoop(executeQuery);
+        if (readLoop == null || settings().isFetchSizeConfigured()) {
+            return;
+        }
+        ExpressionTree statement = ((MemberSelectExpressionTree) executeQuery.methodSelect()).expression();
+        if (statement.is(Kind.IDENTIFIER)) {
+            Symbol symbol = ((IdentifierTree) statement).symbol();
+            if (!isLocalVariable(symbol) || hasFetchSize(symbol)) {
+                return;
+            }
+        } else if (!statement.is(Kind.METHOD_INVOCATION)) {
+            return;
+        }
+        reportIssue(executeQuery, MESSAGE_FETCH_SIZE,
+                Collections.singletonList(new JavaFileScannerContext.Location(MESSAGE_ROWS_READ, readLoop)), null);
+    }
+
+    private JdbcSettings settings() {
+        if (fileSettings == null) {
+            Path module = getModuleDirectory(context.getInputFile().uri());
+            if (module == null) {
+                fileSettings = new JdbcSettings();
+            } else {
+                fileSettings = settingsByModule.get(module);
+                if (fileSettings == null || !fileSettings.isUpToDate(module)) {
+                    fileSettings = JdbcSettings.read(module);
+                    settingsByModule.put(module, fileSettings);
+                }
+            }
+        }
+        return fileSettings;
+    }
+
+    /**
+     * @return the directory containing the nearest {@code src/main/java} or {@code src/test/java} directory containing
+     * the file, null if none
+     */
+    @CheckForNull
+    private static Path getModuleDirectory(URI file) {
+        if (!"file".equals(file.getScheme())) {
+            return null;
+        }
+        Path directory = Paths.get(file).getParent();
+        while (directory != null && !directory.endsWith(MAIN_SOURCES) && !directory.endsWith(TEST_SOURCES)) {
+            directory = directory.getParent();
+        }
+        return directory == null ? null : directory.getParent().getParent().getParent();
+    }
+
+    /**
+     * @return the {@code while (rs.next())} loop reading the result set stored in a local variable, null if none
+     */
+    @CheckForNull
+    private static Tree getReadLoop(MethodInvocationTree executeQuery) {
+        Tree parent = executeQuery.parent();
+        if (parent == null || !parent.is(Kind.VARIABLE)) {
+            return null;
+        }
+        for (IdentifierTree usage : ((VariableTree) parent).symbol().usages()) {
+            Tree select = usage.parent();
+            if (select != null && select.is(Kind.MEMBER_SELECT)
+                    && "next".equals(((MemberSelectExpressionTree) select).identifier().name())
+                    && select.parent() != null && select.parent().parent() != null
+                    && select.parent().parent().is(Kind.WHILE_STATEMENT)
+                    && ((WhileStatementTree) select.parent().parent()).condition() == select.parent()) {
+                return ((WhileStatementTree) select.parent().parent()).whileKeyword();
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasFetchSize(Symbol statement) {
+        for (IdentifierTree usage : statement.usages()) {
+            Tree select = usage.parent();
+            if (select != null && select.is(Kind.MEMBER_SELECT)
+                    && "setFetchSize".equals(((MemberSelectExpressionTree) select).identifier().name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -18,10 +18,22 @@
 package fr.greencodeinitiative.java.checks.enums;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
-import org.sonar.plugins.java.api.semantic.MethodMatchers;
-import static org.sonar.plugins.java.api.semantic.MethodMatchers.create;
+import javax.annotation.CheckForNull;
+
+import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -35,184 +47,103 @@ import static org.sonar.plugins.java.api.tree.Tree.Kind.STRING_LITERAL;
 import static org.sonar.plugins.java.api.tree.Tree.Kind.TYPE_CAST;
 import org.sonar.plugins.java.api.tree.TypeCastTree;
 
+/**
+ * Types having well-known constants (public members) and factory methods returning
+ * the same value for the same constant arguments.
+ * <p>
+ * Types are indexed by fully qualified name : classifying a tree costs a single map lookup.
+ */
 public enum ConstOrLiteralDeclare {
 
-    BOOLEAN {
-        @Override
-        String className() {
-            return Boolean.class.getName();
-        }
-
-        @Override
-        Set<String> publicMembers() {
-            return Set.of("TRUE", "FALSE");
-        }
-
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    },
-
-    BYTE {
-        @Override
-        String className() {
-            return Byte.class.getName();
-        }
-
-        @Override
-        Set<String> publicMembers() {
-            return NUMBER_DEFAULT_MEMBERS;
-        }
-
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    },
-
-    SHORT {
-        @Override
-        String className() {
-            return Short.class.getName();
-        }
-
-        @Override
-        Set<String> publicMembers() {
-            return NUMBER_DEFAULT_MEMBERS;
-        }
-
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    },
-
-    INTEGER {
-        @Override
-        String className() {
-            return Integer.class.getName();
-        }
-
-        @Override
-        Set<String> publicMembers() {
-            return NUMBER_DEFAULT_MEMBERS;
-        }
-
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    },
-
-    LONG {
-        @Override
-        String className() {
-            return Long.class.getName();
-        }
-
-        @Override
-        Set<String> publicMembers() {
-            return NUMBER_DEFAULT_MEMBERS;
-        }
-
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    },
-
-    FLOAT {
-        @Override
-        String className() {
-            return Float.class.getName();
-        }
-
-        @Override
-        Set<String> publicMembers() {
-            return NUMBER_DEFAULT_MEMBERS;
-        }
-
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    },
-
-    DOUBLE {
-        @Override
-        String className() {
-            return Double.class.getName();
-        }
-
-        @Override
-        Set<String> publicMembers() {
-            return NUMBER_DEFAULT_MEMBERS;
-        }
-
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    },
-
-    CHARACTER {
-        @Override
-        String className() {
-            return Character.class.getName();
-        }
-
-        @Override
-        Set<String> publicMembers() {
-            return NUMBER_DEFAULT_MEMBERS;
-        }
+    BOOLEAN(Boolean.class, Set.of("TRUE", "FALSE"), Defaults.VALUE_OF),
+    BYTE(Byte.class, Defaults.NUMBER_MEMBERS, Defaults.VALUE_OF),
+    SHORT(Short.class, Defaults.NUMBER_MEMBERS, Defaults.VALUE_OF),
+    INTEGER(Integer.class, Defaults.NUMBER_MEMBERS, Defaults.VALUE_OF),
+    LONG(Long.class, Defaults.NUMBER_MEMBERS, Defaults.VALUE_OF),
+    FLOAT(Float.class, Defaults.NUMBER_MEMBERS, Defaults.VALUE_OF),
+    DOUBLE(Double.class, Defaults.NUMBER_MEMBERS, Defaults.VALUE_OF),
+    CHARACTER(Character.class, Defaults.NUMBER_MEMBERS, Defaults.VALUE_OF),
+    BIGDECIMAL(BigDecimal.class, Set.of("ZERO", "ONE", "TEN"), Defaults.VALUE_OF),
+    BIGINTEGER(BigInteger.class, Set.of("ZERO", "ONE", "TWO", "TEN"), Defaults.VALUE_OF),
+    DURATION(Duration.class, Set.of("ZERO"),
+            Set.of("ofDays", "ofHours", "ofMinutes", "ofSeconds", "ofMillis", "ofNanos", "parse")),
+    PERIOD(Period.class, Set.of("ZERO"), Set.of("of", "ofDays", "ofWeeks", "ofMonths", "ofYears", "parse")),
+    INSTANT(Instant.class, Set.of("EPOCH", "MIN", "MAX"), Set.of("ofEpochMilli", "ofEpochSecond", "parse")),
+    LOCAL_DATE(LocalDate.class, Set.of("MIN", "MAX", "EPOCH"), Set.of("of", "ofYearDay", "ofEpochDay", "parse")),
+    LOCAL_TIME(LocalTime.class, Set.of("MIN", "MAX", "MIDNIGHT", "NOON"), Set.of("of", "ofSecondOfDay", "parse")),
+    LOCAL_DATE_TIME(LocalDateTime.class, Set.of("MIN", "MAX"), Set.of("of", "parse")),
+    ZONE_OFFSET(ZoneOffset.class, Set.of("UTC", "MIN", "MAX"), Set.of("of", "ofHours", "ofHoursMinutes")),
+    OPTIONAL(Optional.class, Set.of(), Set.of("empty"));
+
+    private static final class Defaults {
+        private static final Set<String> NUMBER_MEMBERS = Set.of("MIN_VALUE", "MAX_VALUE");
+        private static final Set<String> VALUE_OF = Set.of("valueOf");
+    }
 
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    },
+    private static final Map<String, ConstOrLiteralDeclare> BY_CLASS_NAME = new HashMap<>();
 
-    BIGDECIMAL {
-        @Override
-        String className() {
-            return BigDecimal.class.getName();
+    static {
+        for (ConstOrLiteralDeclare declare : values()) {
+            BY_CLASS_NAME.put(declare.className, declare);
         }
+    }
 
-        @Override
-        Set<String> publicMembers() {
-            return Set.of("ZERO", "ONE", "TEN");
-        }
+    private final String className;
+    private final Set<String> publicMembers;
+    private final Set<String> factoryMethods;
 
-        @Override
-        MethodMatchers methodMatchers() {
-            return DEFAULT_METHOD_MATCHERS;
-        }
-    };
+    ConstOrLiteralDeclare(Class<?> type, Set<String> publicMembers, Set<String> factoryMethods) {
+        this.className = type.getName();
+        this.publicMembers = publicMembers;
+        this.factoryMethods = factoryMethods;
+    }
 
     public boolean isPublicMember(MemberSelectExpressionTree tree) {
 
-        return className().equals(tree.expression().symbolType().fullyQualifiedName()) //strong check
-                && publicMembers().contains(tree.identifier().toString());
+        return className.equals(tree.expression().symbolType().fullyQualifiedName()) //strong check
+                && publicMembers.contains(tree.identifier().name());
     }
 
     public boolean isLiteralDeclare(MethodInvocationTree tree) {
 
-        return methodMatchers().matches(tree)
+        return this == fromMethodOwner(tree)
+                && factoryMethods.contains(tree.methodSymbol().name())
                 && tree.arguments().stream().allMatch(ConstOrLiteralDeclare::isLiteral);
     }
 
-    abstract String className();
-
-    abstract Set<String> publicMembers();
+    /**
+     * @return the declaration of the type with this fully qualified name, null if none
+     */
+    @CheckForNull
+    public static ConstOrLiteralDeclare fromClassName(String fullyQualifiedName) {
+        return BY_CLASS_NAME.get(fullyQualifiedName);
+    }
 
-    abstract MethodMatchers methodMatchers();
+    /**
+     * @return true if the member is a public constant of one of the declared types (ex : {@code Integer.MAX_VALUE})
+     */
+    public static boolean isWellKnownConstant(MemberSelectExpressionTree tree) {
+        ConstOrLiteralDeclare declare = BY_CLASS_NAME.get(tree.expression().symbolType().fullyQualifiedName());
+        return declare != null && declare.publicMembers.contains(tree.identifier().name());
+    }
 
-    private static final Set<String> NUMBER_DEFAULT_MEMBERS = Set.of("MIN_VALUE", "MAX_VALUE");
+    /**
+     * @return true if the invocation is a factory method of one of the declared types (ex : {@code Long.valueOf},
+     * {@code Optional.empty}), arguments are not checked
+     */
+    public static boolean isFactoryMethod(MethodInvocationTree tree) {
+        ConstOrLiteralDeclare declare = fromMethodOwner(tree);
+        return declare != null && declare.factoryMethods.contains(tree.methodSymbol().name());
+    }
 
-    private static final MethodMatchers DEFAULT_METHOD_MATCHERS = create()
-            .ofSubTypes(Number.class.getName(), Boolean.class.getName(), Character.class.getName()).names("valueOf")
-            .addParametersMatcher(args -> !args.isEmpty()).build();
+    @CheckForNull
+    private static ConstOrLiteralDeclare fromMethodOwner(MethodInvocationTree tree) {
+        Symbol.MethodSymbol symbol = tree.methodSymbol();
+        if (symbol.isUnknown() || !symbol.isStatic()) {
+            return null;
+        }
+        return BY_CLASS_NAME.get(symbol.owner().type().fullyQualifiedName());
+    }
 
     public static final boolean isLiteral(Tree arg) {
         if (arg.is(TYPE_CAST)) {
@@ -226,4 +157,4 @@ public enum ConstOrLiteralDeclare {
                 arg.is(STRING_LITERAL) ||
                 arg.is(CHAR_LITERAL);
     }
-}
\ No newline at end of file
+}
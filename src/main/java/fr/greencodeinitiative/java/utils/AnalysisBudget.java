@@ -0,0 +1,168 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.lang.reflect.Field;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.CheckForNull;
+
+import org.sonar.api.PropertyType;
+import org.sonar.api.SonarProduct;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.config.PropertyDefinition;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.check.Rule;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.ModuleScannerContext;
+
+/**
+ * Time spent by an {@link AnalysisCost.Level#EXPENSIVE expensive} check on a file.
+ * <p>
+ * Once the {@link #BUDGET_PROPERTY budget} is exceeded, the remaining work of the check on the file is skipped,
+ * and a line is logged. The budget is only checked between two units of work : it stops the work following the one
+ * exceeding it, a single slow unit (e.g. one {@code visitNode}) is never interrupted, so a check may spend more than
+ * its budget on a file. Cheap checks are never skipped.
+ * <p>
+ * The budget only applies in SonarLint, where the files are analyzed while being edited : SonarQube analyses always
+ * report all the issues. The product and the property are read from the sensor context of the Java analyzer, reached
+ * through its scanner context ({@code sonarComponents}, not part of its API, built and tested with SonarJava 7.19).
+ * When it cannot be reached, the budget is disabled.
+ * <p>
+ * An instance should be kept by the check, its work run through {@link #run(JavaFileScannerContext, Runnable)},
+ * and {@link #reset() reset} when leaving a file.
+ */
+public class AnalysisBudget {
+
+    public static final String BUDGET_PROPERTY = "ecocode.java.sonarlint.expensiveChecksBudget";
+    public static final long DEFAULT_BUDGET = 200;
+
+    private static final Logger LOGGER = Loggers.get(AnalysisBudget.class);
+
+    private final String ruleKey;
+    private final boolean expensive;
+    private final ToLongFunction<ModuleScannerContext> budget;
+    private final LongSupplier nanoTime;
+    private long max = -1;
+    private long spent;
+    private boolean exceeded;
+
+    public AnalysisBudget(JavaCheck check) {
+        this(check, AnalysisBudget::getBudget, System::nanoTime);
+    }
+
+    AnalysisBudget(JavaCheck check, ToLongFunction<ModuleScannerContext> budget, LongSupplier nanoTime) {
+        Rule rule = check.getClass().getAnnotation(Rule.class);
+        this.ruleKey = rule != null ? rule.key() : check.getClass().getSimpleName();
+        this.expensive = getCost(check.getClass()) == AnalysisCost.Level.EXPENSIVE;
+        this.budget = budget;
+        this.nanoTime = nanoTime;
+    }
+
+    public static PropertyDefinition budgetProperty() {
+        return PropertyDefinition.builder(BUDGET_PROPERTY)
+                .name("SonarLint budget of expensive rules")
+                .description("Time in milliseconds an expensive (interprocedural) rule may spend on a file in " +
+                        "SonarLint, before being skipped on this file. 0 to disable.")
+                .type(PropertyType.INTEGER)
+                .defaultValue(String.valueOf(DEFAULT_BUDGET))
+                .category("ecoCode")
+                .onQualifiers(Qualifiers.PROJECT)
+                .build();
+    }
+
+    public static AnalysisCost.Level getCost(Class<?> checkClass) {
+        AnalysisCost cost = checkClass.getAnnotation(AnalysisCost.class);
+        return cost != null ? cost.value() : AnalysisCost.Level.CHEAP;
+    }
+
+    /**
+     * @return the budget in milliseconds of the analysis, 0 if unlimited : out of SonarLint, or when the sensor
+     * context of the Java analyzer cannot be reached
+     */
+    public static long getBudget(ModuleScannerContext context) {
+        SensorContext sensorContext = getSensorContext(context);
+        if (sensorContext == null || sensorContext.runtime().getProduct() != SonarProduct.SONARLINT) {
+            return 0;
+        }
+        return Math.max(0, sensorContext.config().getLong(BUDGET_PROPERTY).orElse(DEFAULT_BUDGET));
+    }
+
+    @CheckForNull
+    private static SensorContext getSensorContext(ModuleScannerContext context) {
+        try {
+            for (Class<?> type = context.getClass(); type != null; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if ("sonarComponents".equals(field.getName())) {
+                        field.setAccessible(true);
+                        Object sonarComponents = field.get(context);
+                        Object sensorContext = sonarComponents != null
+                                ? sonarComponents.getClass().getMethod("context").invoke(sonarComponents) : null;
+                        return sensorContext instanceof SensorContext ? (SensorContext) sensorContext : null;
+                    }
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOGGER.debug("Analysis budget disabled: sensor context not available", e);
+        }
+        return null;
+    }
+
+    /**
+     * Run the work, unless the budget of the check on the file is already exceeded.
+     *
+     * @return false if the work has been skipped
+     */
+    public boolean run(JavaFileScannerContext context, Runnable work) {
+        if (expensive && max < 0) {
+            max = budget.applyAsLong(context);
+        }
+        if (!expensive || max == 0) {
+            work.run();
+            return true;
+        }
+        if (exceeded) {
+            return false;
+        }
+        long start = nanoTime.getAsLong();
+        work.run();
+        spent += nanoTime.getAsLong() - start;
+        if (spent > max * 1_000_000) {
+            exceeded = true;
+            LOGGER.info("Rule {} skipped on {}: analysis budget of {} ms exceeded", ruleKey, context.getInputFile(), max);
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the remaining work of the check on the file is skipped
+     */
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    public void reset() {
+        max = -1;
+        spent = 0;
+        exceeded = false;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Estimated cost of a check on a file. Checks without this annotation are considered as {@link Level#CHEAP cheap}.
+ * <p>
+ * In SonarLint, the {@link Level#EXPENSIVE expensive} checks run under an {@link AnalysisBudget analysis budget}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface AnalysisCost {
+
+    Level value();
+
+    enum Level {
+        /**
+         * Work proportional to the visited nodes.
+         */
+        CHEAP,
+        /**
+         * Interprocedural or data-flow work : the check may visit the same methods, or the usages of the same
+         * symbols, many times.
+         */
+        EXPENSIVE
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+
+/**
+ * Method matchers of the calls blocking the current thread (I/O, database, waits), shared by the concurrency rules.
+ */
+public final class BlockingMethods {
+
+    /**
+     * File, stream, socket and HTTP I/O.
+     */
+    public static final MethodMatchers IO_METHOD = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofTypes("java.nio.file.Files")
+                    .names("readAllBytes", "readAllLines", "readString", "lines", "list", "walk", "find", "write",
+                            "writeString", "copy", "move", "delete", "deleteIfExists", "createFile", "createDirectories",
+                            "newBufferedReader", "newBufferedWriter", "newInputStream", "newOutputStream")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.io.InputStream", "java.io.Reader")
+                    .names("read", "readAllBytes", "readNBytes", "readLine", "transferTo", "skip")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.io.FileOutputStream", "java.io.FileWriter", "java.io.RandomAccessFile")
+                    .names("write", "flush")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.net.Socket", "java.net.ServerSocket", "java.nio.channels.SocketChannel",
+                            "java.nio.channels.ServerSocketChannel")
+                    .names("connect", "accept", "read", "write")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.net.URLConnection")
+                    .names("connect", "getInputStream", "getOutputStream", "getResponseCode", "getContent")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.net.URL")
+                    .names("openStream", "getContent")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.net.http.HttpClient")
+                    .names("send")
+                    .withAnyParameters()
+                    .build());
+
+    /**
+     * Waits for another thread or for some time.
+     */
+    public static final MethodMatchers WAIT_METHOD = MethodMatchers.or(
+            MethodMatchers.create()
+                    .ofTypes("java.lang.Thread")
+                    .names("sleep", "join")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.util.concurrent.Future")
+                    .names("get")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.util.concurrent.BlockingQueue")
+                    .names("take", "put")
+                    .withAnyParameters()
+                    .build(),
+            MethodMatchers.create()
+                    .ofSubTypes("java.util.concurrent.CountDownLatch", "java.util.concurrent.CyclicBarrier",
+                            "java.util.concurrent.Semaphore")
+                    .names("await", "acquire")
+                    .withAnyParameters()
+                    .build());
+
+    /**
+     * I/O, database requests ({@link SqlMethods#SQL_METHOD}) and waits.
+     */
+    public static final MethodMatchers BLOCKING_METHOD = MethodMatchers.or(
+            IO_METHOD,
+            SqlMethods.SQL_METHOD,
+            SqlMethods.JPA_LIST_QUERY,
+            WAIT_METHOD);
+
+    private BlockingMethods() {
+    }
+}
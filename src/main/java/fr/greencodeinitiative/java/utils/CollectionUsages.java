@@ -0,0 +1,328 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+/**
+ * Writes into a collection, a map, a cache or an array held by a variable, found from the usages of its symbol
+ * in the file.
+ * <p>
+ * Are considered :
+ * <ul>
+ *     <li>growing : insertions ({@code add}, {@code put}, {@code computeIfAbsent}...), loads of caches
+ *     ({@code get}), and reassignments with a value computed from the variable itself
+ *     ({@code array = Arrays.copyOf(array, n)})</li>
+ *     <li>shrinking : removals ({@code remove}, {@code clear}, {@code invalidate}...), removals through a view
+ *     ({@code keySet().remove(key)}, {@code iterator.remove()}...) and other reassignments</li>
+ * </ul>
+ * Writes done when initializing the class (static initializers and field initializers) are ignored.
+ * <p>
+ * Also tells which insertions into a map memoize values (see {@link #getMemoizations()}), and tells whether the initializer of a collection makes it immutable or bounded.
+ */
+public class CollectionUsages {
+
+    private static final Set<String> GROWING_METHODS = Set.of(
+            "add", "addAll", "addFirst", "addLast", "offer", "offerFirst", "offerLast", "push",
+            "put", "putAll", "putIfAbsent", "computeIfAbsent", "compute", "merge");
+
+    private static final Set<String> LOADING_METHODS = Set.of("get", "getUnchecked", "getAll");
+
+    private static final Set<String> SHRINKING_METHODS = Set.of(
+            "remove", "removeAll", "removeIf", "retainAll", "clear", "poll", "pollFirst", "pollLast", "pop",
+            "removeFirst", "removeLast", "invalidate", "invalidateAll");
+
+    /**
+     * Views of the collection : removals through them shrink the collection, iterating them does not.
+     */
+    private static final Set<String> VIEW_METHODS = Set.of(
+            "keySet", "values", "entrySet", "iterator", "listIterator", "descendingIterator", "subList",
+            "headMap", "tailMap", "subMap", "headSet", "tailSet", "subSet", "descendingMap", "descendingKeySet",
+            "navigableKeySet", "asMap");
+
+    private static final Set<String> LOOKUP_METHODS = Set.of("get", "containsKey", "getOrDefault");
+    private static final Set<String> STORE_METHODS = Set.of("put", "putIfAbsent");
+    private static final Set<String> MEMOIZING_METHODS = Set.of("computeIfAbsent", "compute", "merge");
+
+    private static final Set<String> IMMUTABLE_FACTORY_OWNERS = Set.of(
+            "java.util.List", "java.util.Set", "java.util.Map");
+
+    private static final Set<String> EVICTION_METHODS = Set.of(
+            "maximumSize", "maximumWeight", "expireAfterWrite", "expireAfterAccess", "expireAfter",
+            "weakKeys", "weakValues", "softValues");
+
+    private final List<MethodInvocationTree> invocations = new ArrayList<>();
+    private final List<Tree> growingWrites = new ArrayList<>();
+    private final List<Tree> shrinkingWrites = new ArrayList<>();
+
+    /**
+     * @param symbol variable holding the collection
+     * @param cache  true if the collection is a loading cache : reads ({@code get}) are also writes
+     */
+    public CollectionUsages(Symbol symbol, boolean cache) {
+        for (IdentifierTree usage : symbol.usages()) {
+            if (isRuntime(usage)) {
+                addUsage(symbol, usage, cache);
+            }
+        }
+    }
+
+    /**
+     * @return true if the collection is written and never shrunk
+     */
+    public boolean isOnlyGrowing() {
+        return !growingWrites.isEmpty() && shrinkingWrites.isEmpty();
+    }
+
+    public List<Tree> getGrowingWrites() {
+        return growingWrites;
+    }
+
+    public List<Tree> getShrinkingWrites() {
+        return shrinkingWrites;
+    }
+
+    /**
+     * @return methods invoked on the variable at runtime
+     */
+    public List<MethodInvocationTree> getInvocations() {
+        return invocations;
+    }
+
+    /**
+     * Insertions into a map used as a memoization cache : {@code computeIfAbsent}, or {@code put} in the same
+     * method (or lambda) as a lookup ({@code get}, {@code containsKey}...).
+     *
+     * @return the insertions memoizing values, empty if the size of the map is checked
+     */
+    public List<MethodInvocationTree> getMemoizations() {
+        List<MethodInvocationTree> memoizations = new ArrayList<>();
+        Set<Tree> lookupScopes = new HashSet<>();
+        Map<MethodInvocationTree, Tree> stores = new LinkedHashMap<>();
+        for (MethodInvocationTree invocation : invocations) {
+            String name = ((MemberSelectExpressionTree) invocation.methodSelect()).identifier().name();
+            if ("size".equals(name)) {
+                return Collections.emptyList();
+            } else if (MEMOIZING_METHODS.contains(name)) {
+                memoizations.add(invocation);
+            } else if (LOOKUP_METHODS.contains(name)) {
+                lookupScopes.add(getEnclosingScope(invocation));
+            } else if (STORE_METHODS.contains(name)) {
+                stores.put(invocation, getEnclosingScope(invocation));
+            }
+        }
+        for (Map.Entry<MethodInvocationTree, Tree> store : stores.entrySet()) {
+            if (lookupScopes.contains(store.getValue())) {
+                memoizations.add(store.getKey());
+            }
+        }
+        return memoizations;
+    }
+
+    /**
+     * @return the innermost method, constructor, lambda or initializer executing the invocation, the invocation
+     * itself if none : invocations of different scopes never share it
+     */
+    private static Tree getEnclosingScope(Tree tree) {
+        Tree parent = tree.parent();
+        while (parent != null && !parent.is(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR, Tree.Kind.LAMBDA_EXPRESSION,
+                Tree.Kind.INITIALIZER, Tree.Kind.STATIC_INITIALIZER)) {
+            parent = parent.parent();
+        }
+        return parent != null ? parent : tree;
+    }
+
+    /**
+     * @return true for {@code List.of(...)}, {@code Collections.unmodifiableXxx(...)}, {@code Collections.emptyXxx()},
+     * {@code Arrays.asList(...)} (fixed size), Guava {@code ImmutableXxx}...
+     */
+    public static boolean isImmutable(@CheckForNull ExpressionTree initializer) {
+        if (initializer == null || !initializer.is(Tree.Kind.METHOD_INVOCATION)) {
+            return false;
+        }
+        Symbol.MethodSymbol method = ((MethodInvocationTree) initializer).methodSymbol();
+        if (method.isUnknown()) {
+            return false;
+        }
+        String owner = method.owner().type().fullyQualifiedName();
+        String name = method.name();
+        return (IMMUTABLE_FACTORY_OWNERS.contains(owner) && ("of".equals(name) || "copyOf".equals(name) || "ofEntries".equals(name)))
+                || ("java.util.Collections".equals(owner)
+                && (name.startsWith("unmodifiable") || name.startsWith("empty") || name.startsWith("singleton")))
+                || ("java.util.Arrays".equals(owner) && "asList".equals(name))
+                || owner.startsWith("com.google.common.collect.Immutable");
+    }
+
+    /**
+     * @return true for caches built with an eviction policy, {@code WeakHashMap}
+     * and {@code LinkedHashMap} overriding {@code removeEldestEntry}
+     */
+    public static boolean isBounded(@CheckForNull ExpressionTree initializer) {
+        if (initializer == null) {
+            return false;
+        }
+        if (initializer.is(Tree.Kind.NEW_CLASS)) {
+            NewClassTree newClass = (NewClassTree) initializer;
+            return newClass.symbolType().isSubtypeOf("java.util.WeakHashMap") || overridesRemoveEldestEntry(newClass.classBody());
+        }
+        ExpressionTree expression = initializer;
+        while (expression.is(Tree.Kind.METHOD_INVOCATION)) {
+            ExpressionTree methodSelect = ((MethodInvocationTree) expression).methodSelect();
+            if (!methodSelect.is(Tree.Kind.MEMBER_SELECT)) {
+                return false;
+            }
+            MemberSelectExpressionTree memberSelect = (MemberSelectExpressionTree) methodSelect;
+            if (EVICTION_METHODS.contains(memberSelect.identifier().name())) {
+                return true;
+            }
+            expression = memberSelect.expression();
+        }
+        return false;
+    }
+
+    private static boolean overridesRemoveEldestEntry(@CheckForNull ClassTree classBody) {
+        if (classBody == null) {
+            return false;
+        }
+        for (Tree member : classBody.members()) {
+            if (member.is(Tree.Kind.METHOD) && "removeEldestEntry".equals(((MethodTree) member).simpleName().name())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addUsage(Symbol symbol, IdentifierTree usage, boolean cache) {
+        Tree access = usage;
+        Tree parent = usage.parent();
+        if (parent instanceof MemberSelectExpressionTree && ((MemberSelectExpressionTree) parent).identifier() == usage) {
+            // qualified access : this.field or Type.field
+            access = parent;
+            parent = parent.parent();
+        }
+        while (parent != null && parent.is(Tree.Kind.PARENTHESIZED_EXPRESSION)) {
+            access = parent;
+            parent = parent.parent();
+        }
+        if (parent instanceof MemberSelectExpressionTree && ((MemberSelectExpressionTree) parent).expression() == access
+                && parent.parent() instanceof MethodInvocationTree) {
+            String name = ((MemberSelectExpressionTree) parent).identifier().name();
+            invocations.add((MethodInvocationTree) parent.parent());
+            if (GROWING_METHODS.contains(name) || (cache && LOADING_METHODS.contains(name))) {
+                growingWrites.add(parent.parent());
+            } else if (SHRINKING_METHODS.contains(name)
+                    || (VIEW_METHODS.contains(name) && isRemovingThroughView((MethodInvocationTree) parent.parent(), new HashSet<>()))) {
+                shrinkingWrites.add(parent.parent());
+            }
+        } else if (parent instanceof AssignmentExpressionTree && ((AssignmentExpressionTree) parent).variable() == access) {
+            if (mentions(((AssignmentExpressionTree) parent).expression(), symbol)) {
+                growingWrites.add(parent);
+            } else {
+                shrinkingWrites.add(parent);
+            }
+        }
+    }
+
+    /**
+     * @param view view of the collection, or usage of a local variable holding it
+     * @return true if elements are removed through the view : {@code keySet().remove(key)},
+     * {@code values().removeIf(...)}, {@code iterator.remove()} on a local iterator...
+     */
+    private static boolean isRemovingThroughView(ExpressionTree view, Set<Symbol> visited) {
+        Tree parent = TreeUtils.parentSkippingParentheses(view);
+        if (parent instanceof MemberSelectExpressionTree && parent.parent() instanceof MethodInvocationTree) {
+            String name = ((MemberSelectExpressionTree) parent).identifier().name();
+            return SHRINKING_METHODS.contains(name)
+                    || (VIEW_METHODS.contains(name) && isRemovingThroughView((MethodInvocationTree) parent.parent(), visited));
+        }
+        Symbol variable = null;
+        if (parent instanceof VariableTree) {
+            variable = ((VariableTree) parent).symbol();
+        } else if (parent instanceof AssignmentExpressionTree
+                && ((AssignmentExpressionTree) parent).variable().is(Tree.Kind.IDENTIFIER)) {
+            variable = ((IdentifierTree) ((AssignmentExpressionTree) parent).variable()).symbol();
+        }
+        if (variable == null || !TreeUtils.isLocalVariable(variable) || !visited.add(variable)) {
+            return false;
+        }
+        for (IdentifierTree usage : variable.usages()) {
+            if (isRemovingThroughView(usage, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return false if the usage is only executed when initializing the class
+     */
+    private static boolean isRuntime(Tree usage) {
+        Tree parent = usage.parent();
+        while (parent != null) {
+            switch (parent.kind()) {
+                case METHOD:
+                case CONSTRUCTOR:
+                case LAMBDA_EXPRESSION:
+                case INITIALIZER:
+                    return true;
+                case STATIC_INITIALIZER:
+                case CLASS:
+                case ENUM:
+                case INTERFACE:
+                case RECORD:
+                    return false;
+                default:
+                    parent = parent.parent();
+                    break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mentions(ExpressionTree expression, Symbol symbol) {
+        boolean[] found = {false};
+        expression.accept(new BaseTreeVisitor() {
+            @Override
+            public void visitIdentifier(IdentifierTree tree) {
+                found[0] |= symbol.equals(tree.symbol());
+            }
+        });
+        return found[0];
+    }
+}
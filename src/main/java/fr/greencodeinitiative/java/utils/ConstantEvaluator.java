@@ -0,0 +1,167 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import javax.annotation.Nullable;
+
+import fr.greencodeinitiative.java.checks.enums.ConstOrLiteralDeclare;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.ConditionalExpressionTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.ParenthesizedTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.TypeCastTree;
+import org.sonar.plugins.java.api.tree.UnaryExpressionTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.isLocalVariable;
+import static fr.greencodeinitiative.java.utils.TreeUtils.parentSkippingParentheses;
+import static fr.greencodeinitiative.java.utils.TreeUtils.skipParentheses;
+
+/**
+ * Tells whether an expression always evaluates to the same value.
+ * <p>
+ * Are considered as constant : literals, compile-time constants (including string concatenations of literals),
+ * enum constants, well-known constants and factory calls on constants (see {@link ConstOrLiteralDeclare}),
+ * and variables (fields or effectively final locals) only initialized with a constant.
+ * <p>
+ * Results for variables are memoized per symbol : an instance should be kept by the check and
+ * {@link #clear() cleared} when leaving a file.
+ */
+public class ConstantEvaluator {
+
+    private final RecursiveMemo<Symbol, Boolean> constantSymbols = new RecursiveMemo<>(Boolean.FALSE);
+
+    public boolean isConstant(@Nullable ExpressionTree expression) {
+        if (expression == null) {
+            return false;
+        }
+        switch (expression.kind()) {
+            case BOOLEAN_LITERAL:
+            case CHAR_LITERAL:
+            case INT_LITERAL:
+            case LONG_LITERAL:
+            case FLOAT_LITERAL:
+            case DOUBLE_LITERAL:
+            case STRING_LITERAL:
+            case TEXT_BLOCK:
+                return true;
+            case NULL_LITERAL:
+                return false;
+            case PARENTHESIZED_EXPRESSION:
+                return isConstant(((ParenthesizedTree) expression).expression());
+            case TYPE_CAST:
+                return isConstant(((TypeCastTree) expression).expression());
+            case UNARY_MINUS:
+            case UNARY_PLUS:
+            case BITWISE_COMPLEMENT:
+            case LOGICAL_COMPLEMENT:
+                return isConstant(((UnaryExpressionTree) expression).expression());
+            case CONDITIONAL_EXPRESSION:
+                ConditionalExpressionTree conditional = (ConditionalExpressionTree) expression;
+                return isConstant(conditional.condition())
+                        && isConstant(conditional.trueExpression())
+                        && isConstant(conditional.falseExpression());
+            case IDENTIFIER:
+                return isConstantSymbol(expression, ((IdentifierTree) expression).symbol());
+            case MEMBER_SELECT:
+                return isConstantMember((MemberSelectExpressionTree) expression);
+            case METHOD_INVOCATION:
+                return isConstantValueOf((MethodInvocationTree) expression);
+            default:
+                if (expression instanceof BinaryExpressionTree) {
+                    BinaryExpressionTree binary = (BinaryExpressionTree) expression;
+                    return isConstant(binary.leftOperand()) && isConstant(binary.rightOperand());
+                }
+                return false;
+        }
+    }
+
+    public void clear() {
+        constantSymbols.clear();
+    }
+
+    private boolean isConstantMember(MemberSelectExpressionTree tree) {
+        return ConstOrLiteralDeclare.isWellKnownConstant(tree) || isConstantSymbol(tree, tree.identifier().symbol());
+    }
+
+    private boolean isConstantValueOf(MethodInvocationTree tree) {
+        if (!ConstOrLiteralDeclare.isFactoryMethod(tree)) {
+            return false;
+        }
+        for (ExpressionTree argument : tree.arguments()) {
+            if (!isConstant(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isConstantSymbol(ExpressionTree tree, Symbol symbol) {
+        if (!symbol.isVariableSymbol() || symbol.isUnknown()) {
+            return false;
+        }
+        // cyclic initializations are not constant
+        return constantSymbols.get(symbol, key -> computeConstantSymbol(tree, key));
+    }
+
+    private boolean computeConstantSymbol(ExpressionTree tree, Symbol symbol) {
+        if (!symbol.isVariableSymbol()) {
+            return false;
+        }
+        if (symbol.isEnum()) {
+            return true;
+        }
+        Tree declaration = symbol.declaration();
+        if (declaration == null) {
+            // symbol from a dependency : only its compile-time value (if any) is known
+            return tree.asConstant().isPresent();
+        }
+        if (declaration.is(Tree.Kind.ENUM_CONSTANT)) {
+            return true;
+        }
+        if (!declaration.is(Tree.Kind.VARIABLE)) {
+            return false;
+        }
+        ExpressionTree initializer = ((VariableTree) declaration).initializer();
+        if (initializer == null || !isConstant(initializer)) {
+            return false;
+        }
+        return symbol.isFinal() || (isLocalVariable(symbol) && isNeverReassigned(symbol));
+    }
+
+    private static boolean isNeverReassigned(Symbol symbol) {
+        for (IdentifierTree usage : symbol.usages()) {
+            Tree parent = parentSkippingParentheses(usage);
+            if (parent instanceof AssignmentExpressionTree
+                    && skipParentheses(((AssignmentExpressionTree) parent).variable()) == usage) {
+                return false;
+            }
+            if (parent != null && parent.is(Tree.Kind.PREFIX_INCREMENT, Tree.Kind.PREFIX_DECREMENT,
+                    Tree.Kind.POSTFIX_INCREMENT, Tree.Kind.POSTFIX_DECREMENT)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
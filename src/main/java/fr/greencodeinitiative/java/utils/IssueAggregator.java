@@ -0,0 +1,104 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.sonar.java.reporting.JavaQuickFix;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Collects the issues of a check on a file, to report them when leaving the file.
+ * <p>
+ * When a message has more occurrences in the file than the threshold, its issues are collapsed into one issue on
+ * the first location, the other locations being secondary locations, with the count in the message.
+ * Aggregation is disabled when the threshold is 0. Quick fixes are only kept on issues which are not collapsed.
+ * <p>
+ * The threshold is a parameter of the check ({@link #THRESHOLD_PARAMETER}), read when reporting : it is set by the
+ * analyzer on each check instance, from the quality profile of the analyzed project.
+ * <p>
+ * An instance should be kept by the check and {@link #report(JavaCheck, JavaFileScannerContext) reported}
+ * when leaving a file.
+ */
+public class IssueAggregator {
+
+    public static final String THRESHOLD_PARAMETER = "aggregationThreshold";
+    public static final String THRESHOLD_DESCRIPTION = "Number of issues with the same message in a file above which " +
+            "they are collapsed into a single issue with secondary locations. 0 to disable.";
+
+    private final IntSupplier threshold;
+    private final Map<String, List<Tree>> locationsByMessage = new LinkedHashMap<>();
+    private final Map<Tree, Supplier<JavaQuickFix>> quickFixes = new IdentityHashMap<>();
+
+    /**
+     * @param threshold the aggregation threshold parameter of the check
+     */
+    public IssueAggregator(IntSupplier threshold) {
+        this.threshold = threshold;
+    }
+
+    public void add(Tree tree, String message) {
+        add(tree, message, null);
+    }
+
+    public void add(Tree tree, String message, @Nullable Supplier<JavaQuickFix> quickFix) {
+        locationsByMessage.computeIfAbsent(message, key -> new ArrayList<>()).add(tree);
+        if (quickFix != null) {
+            quickFixes.put(tree, quickFix);
+        }
+    }
+
+    /**
+     * Report the collected issues and forget them.
+     */
+    public void report(JavaCheck check, JavaFileScannerContext context) {
+        int max = Math.max(0, threshold.getAsInt());
+        for (Map.Entry<String, List<Tree>> entry : locationsByMessage.entrySet()) {
+            String message = entry.getKey();
+            List<Tree> trees = entry.getValue();
+            if (max == 0 || trees.size() <= max) {
+                for (Tree tree : trees) {
+                    QuickFixes.reportIssue(check, context, tree, message, quickFixes.get(tree));
+                }
+            } else {
+                List<JavaFileScannerContext.Location> secondaries = new ArrayList<>(trees.size() - 1);
+                for (Tree tree : trees.subList(1, trees.size())) {
+                    secondaries.add(new JavaFileScannerContext.Location(message, tree));
+                }
+                context.reportIssue(check, trees.get(0), message + " (" + trees.size() + " occurrences)",
+                        secondaries, null);
+            }
+        }
+        clear();
+    }
+
+    public void clear() {
+        locationsByMessage.clear();
+        quickFixes.clear();
+    }
+}
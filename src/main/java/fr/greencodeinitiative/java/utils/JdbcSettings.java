@@ -0,0 +1,229 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+/**
+ * JDBC batching and fetching settings of a module, read in the Spring Boot {@code application.properties} /
+ * {@code application.yml} files and JPA {@code persistence.xml} files of its {@code src/main/resources} directory.
+ * <p>
+ * The settings keep the modification times of these files and of the resources directories, to be read again when
+ * they are {@link #isUpToDate(Path) out of date}.
+ */
+public class JdbcSettings {
+
+    private static final Logger LOGGER = Loggers.get(JdbcSettings.class);
+
+    private static final LinearRegex PERSISTENCE_PROPERTY = LinearRegex.compile("<property\\s+name\\s*=\\s*[\"']([^\"']+)[\"']");
+
+    private final List<String> files = new ArrayList<>();
+    private Map<Path, FileTime> modificationTimes = Collections.emptyMap();
+    private boolean batchSize;
+    private boolean fetchSize;
+
+    /**
+     * @param moduleDirectory the directory of the module, containing {@code src/main/resources}
+     * @return the settings read in the resources of the module, none if it has no resources
+     */
+    public static JdbcSettings read(Path moduleDirectory) {
+        JdbcSettings settings = new JdbcSettings();
+        Path resources = getResources(moduleDirectory);
+        if (!Files.isDirectory(resources)) {
+            return settings;
+        }
+        settings.modificationTimes = getModificationTimes(resources);
+        List<Path> configurationFiles;
+        try (Stream<Path> paths = Files.walk(resources)) {
+            configurationFiles = paths.filter(JdbcSettings::isConfigurationFile).sorted().collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Unable to list the JDBC settings files of {}", resources, e);
+            return settings;
+        }
+        for (Path file : configurationFiles) {
+            try {
+                String content = Files.readString(file, StandardCharsets.UTF_8);
+                String name = file.getFileName().toString();
+                if (name.endsWith(".properties")) {
+                    settings.addProperties(file.toString(), content);
+                } else if (name.endsWith(".xml")) {
+                    settings.addPersistenceXml(file.toString(), content);
+                } else {
+                    settings.addYaml(file.toString(), content);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.warn("Unable to read JDBC settings from {}", file, e);
+            }
+        }
+        LOGGER.debug("JDBC settings read from {} : batch size {}, fetch size {}", settings.getFiles(),
+                settings.isBatchSizeConfigured() ? "configured" : "not configured",
+                settings.isFetchSizeConfigured() ? "configured" : "not configured");
+        return settings;
+    }
+
+    /**
+     * @param moduleDirectory the directory of the module the settings have been read from
+     * @return true if no configuration file has been added, removed or modified in the resources of the module since
+     * the settings have been read
+     */
+    public boolean isUpToDate(Path moduleDirectory) {
+        Path resources = getResources(moduleDirectory);
+        return modificationTimes.equals(Files.isDirectory(resources) ? getModificationTimes(resources) : Collections.emptyMap());
+    }
+
+    private static Path getResources(Path moduleDirectory) {
+        return moduleDirectory.resolve("src").resolve("main").resolve("resources");
+    }
+
+    /**
+     * @return the modification times of the configuration files and of the directories containing them (changed when
+     * files are added or removed), empty if they cannot be listed
+     */
+    private static Map<Path, FileTime> getModificationTimes(Path resources) {
+        Map<Path, FileTime> times = new HashMap<>();
+        try (Stream<Path> paths = Files.walk(resources)) {
+            for (Path path : paths.filter(path -> Files.isDirectory(path) || isConfigurationFile(path)).collect(Collectors.toList())) {
+                times.put(path, Files.getLastModifiedTime(path));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.debug("Unable to list the JDBC settings files of {}", resources, e);
+            return Collections.emptyMap();
+        }
+        return times;
+    }
+
+    private static boolean isConfigurationFile(Path path) {
+        String name = path.getFileName().toString();
+        if (name.equals("persistence.xml")) {
+            return path.getParent() != null && "META-INF".equals(path.getParent().getFileName().toString());
+        }
+        return name.startsWith("application")
+                && (name.endsWith(".properties") || name.endsWith(".yml") || name.endsWith(".yaml"));
+    }
+
+    /**
+     * @return true if inserts and updates are sent in batches (Hibernate or EclipseLink)
+     */
+    public boolean isBatchSizeConfigured() {
+        return batchSize;
+    }
+
+    /**
+     * @return true if a default fetch size is set (Hibernate, Spring {@code JdbcTemplate} or JDBC URL)
+     */
+    public boolean isFetchSizeConfigured() {
+        return fetchSize;
+    }
+
+    /**
+     * @return the configuration files read
+     */
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public void addProperties(String file, String content) {
+        files.add(file);
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(content));
+        } catch (IOException | IllegalArgumentException e) {
+            // malformed unicode escape : the file is ignored
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            addProperty(key, properties.getProperty(key));
+        }
+    }
+
+    /**
+     * Read the keys of a YAML file, nested keys being joined with dots (lists are ignored).
+     */
+    public void addYaml(String file, String content) {
+        files.add(file);
+        Deque<Integer> indents = new ArrayDeque<>();
+        Deque<String> keys = new ArrayDeque<>();
+        content.lines().forEach(line -> {
+            String trimmed = line.strip();
+            int colon = trimmed.indexOf(':');
+            if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.startsWith("-") || colon <= 0) {
+                return;
+            }
+            int indent = line.indexOf(trimmed.charAt(0));
+            while (!indents.isEmpty() && indents.peek() >= indent) {
+                indents.pop();
+                keys.pop();
+            }
+            indents.push(indent);
+            keys.push(trimmed.substring(0, colon).strip());
+            StringBuilder key = new StringBuilder();
+            for (Iterator<String> parts = keys.descendingIterator(); parts.hasNext(); ) {
+                key.append(parts.next()).append(parts.hasNext() ? "." : "");
+            }
+            addProperty(key.toString(), trimmed.substring(colon + 1).strip());
+        });
+    }
+
+    public void addPersistenceXml(String file, String content) {
+        files.add(file);
+        for (String name : PERSISTENCE_PROPERTY.findAll(content, 1)) {
+            addProperty(name, "");
+        }
+        fetchSize |= isUrlWithFetchSize(content);
+    }
+
+    private void addProperty(String key, String value) {
+        String normalized = key.toLowerCase(Locale.ROOT).replace('-', '_');
+        if (normalized.endsWith("hibernate.jdbc.batch_size") || normalized.endsWith("eclipselink.jdbc.batch_writing")) {
+            batchSize = true;
+        } else if (normalized.endsWith("hibernate.jdbc.fetch_size") || normalized.endsWith("jdbc.template.fetch_size")) {
+            fetchSize = true;
+        } else if (normalized.endsWith(".url") && isUrlWithFetchSize(value)) {
+            fetchSize = true;
+        }
+    }
+
+    /**
+     * @return true for a PostgreSQL ({@code defaultRowFetchSize}) or MySQL ({@code defaultFetchSize}) JDBC URL
+     * setting a fetch size
+     */
+    private static boolean isUrlWithFetchSize(String text) {
+        return text.contains("defaultRowFetchSize") || text.contains("defaultFetchSize");
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.re2j.Matcher;
+import com.google.re2j.Pattern;
+
+/**
+ * Regular expression evaluated in a time linear in the length of the text (backed by RE2J, without backtracking).
+ * <p>
+ * Rules scan arbitrary literals of the analyzed code : they must use this class (compiled once, in a static field)
+ * instead of {@code java.util.regex}, whose backtracking can be made arbitrarily slow by a crafted literal.
+ */
+public final class LinearRegex {
+
+    private final Pattern pattern;
+
+    private LinearRegex(Pattern pattern) {
+        this.pattern = pattern;
+    }
+
+    public static LinearRegex compile(String regex) {
+        return new LinearRegex(Pattern.compile(regex));
+    }
+
+    public static LinearRegex compileIgnoreCase(String regex) {
+        return new LinearRegex(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+    }
+
+    /**
+     * @return true if a part of the text matches
+     */
+    public boolean find(CharSequence text) {
+        return pattern.matcher(text).find();
+    }
+
+    /**
+     * @return true if the whole text matches
+     */
+    public boolean matches(CharSequence text) {
+        return pattern.matcher(text).matches();
+    }
+
+    /**
+     * @return the values of the group in each part of the text matching, in order
+     */
+    public List<String> findAll(CharSequence text, int group) {
+        List<String> values = new ArrayList<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            values.add(matcher.group(group));
+        }
+        return values;
+    }
+
+    public String pattern() {
+        return pattern.pattern();
+    }
+
+    @Override
+    public String toString() {
+        return pattern.pattern();
+    }
+}
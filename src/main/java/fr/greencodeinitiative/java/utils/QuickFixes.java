@@ -0,0 +1,111 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.sonar.java.reporting.FluentReporting;
+import org.sonar.java.reporting.JavaIssueBuilderExtended;
+import org.sonar.java.reporting.JavaQuickFix;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.location.Position;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Reports issues with a quick fix, applied in one click in SonarLint.
+ * <p>
+ * Quick fixes rely on the reporting classes of the Java analyzer ({@code org.sonar.java.reporting}), which are not
+ * part of its API : they are built and tested with SonarJava 7.19 ({@code sonarjava.version}). When these classes are
+ * not available, or the context does not support them, the issue is reported without quick fix. The checks must only
+ * create their quick fixes when {@link #isSupported()} : creating the supplier links the reporting classes.
+ */
+public final class QuickFixes {
+
+    private static final boolean SUPPORTED = checkSupported();
+
+    private QuickFixes() {
+    }
+
+    /**
+     * @param quickFix supplier of the quick fix, only called when quick fixes are requested by the analyzer; null
+     *                 when the issue has no safe fix
+     */
+    public static void reportIssue(JavaCheck check, JavaFileScannerContext context, Tree tree, String message,
+                                   @Nullable Supplier<JavaQuickFix> quickFix) {
+        if (quickFix == null || !SUPPORTED || !(context instanceof FluentReporting)) {
+            context.reportIssue(check, tree, message);
+            return;
+        }
+        JavaIssueBuilderExtended builder = (JavaIssueBuilderExtended) ((FluentReporting) context).newIssue();
+        builder.forRule(check)
+                .onTree(tree)
+                .withMessage(message);
+        builder.withQuickFix(quickFix)
+                .report();
+    }
+
+    /**
+     * @return the source code of the tree, as written in the file
+     */
+    public static String text(JavaFileScannerContext context, Tree tree) {
+        Position start = Position.startOf(tree);
+        Position end = Position.endOf(tree);
+        List<String> lines = context.getFileLines();
+        if (start.lineOffset() == end.lineOffset()) {
+            return lines.get(start.lineOffset()).substring(start.columnOffset(), end.columnOffset());
+        }
+        StringBuilder text = new StringBuilder(lines.get(start.lineOffset()).substring(start.columnOffset()));
+        for (int line = start.lineOffset() + 1; line < end.lineOffset(); ++line) {
+            text.append('\n').append(lines.get(line));
+        }
+        return text.append('\n').append(lines.get(end.lineOffset()), 0, end.columnOffset()).toString();
+    }
+
+    /**
+     * @return the indentation of the line where the tree starts, as written in the file
+     */
+    public static String indentation(JavaFileScannerContext context, Tree tree) {
+        Position start = Position.startOf(tree);
+        String line = context.getFileLines().get(start.lineOffset());
+        int end = 0;
+        while (end < start.columnOffset() && Character.isWhitespace(line.charAt(end))) {
+            ++end;
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * @return true if the reporting classes of the Java analyzer used by the quick fixes are available
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    private static boolean checkSupported() {
+        try {
+            Class.forName("org.sonar.java.reporting.JavaIssueBuilderExtended", false, QuickFixes.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
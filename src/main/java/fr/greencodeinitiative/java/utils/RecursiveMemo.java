@@ -0,0 +1,101 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Memoizes a recursive computation whose keys may depend on each other cyclically, like the methods of a file
+ * calling each other.
+ * <p>
+ * A key reached again while its value is computed gets the {@code cycleValue}, which must be the value absorbing the
+ * others (no blocking call, not constant...) : a value computed from it only holds once the outermost key of the cycle
+ * is computed. Such values are memoized then, with the value of the outermost key if it is the {@code cycleValue},
+ * and forgotten otherwise. The other values are memoized as soon as they are computed.
+ * <p>
+ * An instance should be kept by the check and {@link #clear() cleared} when leaving a file.
+ */
+public class RecursiveMemo<K, V> {
+
+    private final V cycleValue;
+    private final Map<K, V> values = new HashMap<>();
+
+    /**
+     * Keys whose value is being computed, with their depth in the computation.
+     */
+    private final Map<K, Integer> inProgress = new HashMap<>();
+
+    /**
+     * Keys whose {@code cycleValue} has been computed from a key still in progress.
+     */
+    private final List<K> unresolved = new ArrayList<>();
+
+    /**
+     * Lowest depth of the keys in progress reached again by the current computation.
+     */
+    private int lowestCycle = Integer.MAX_VALUE;
+
+    public RecursiveMemo(V cycleValue) {
+        this.cycleValue = cycleValue;
+    }
+
+    public V get(K key, Function<K, V> computation) {
+        V known = values.get(key);
+        if (known != null) {
+            return known;
+        }
+        Integer depth = inProgress.get(key);
+        if (depth != null) {
+            lowestCycle = Math.min(lowestCycle, depth);
+            return cycleValue;
+        }
+        int ownDepth = inProgress.size();
+        int firstDependent = unresolved.size();
+        int outerLowestCycle = lowestCycle;
+        lowestCycle = Integer.MAX_VALUE;
+        inProgress.put(key, ownDepth);
+        V value = computation.apply(key);
+        inProgress.remove(key);
+        List<K> dependents = unresolved.subList(firstDependent, unresolved.size());
+        if (!cycleValue.equals(value)) {
+            // the dependents reach this key or a key in progress depending on it : their value is unknown
+            values.put(key, value);
+            dependents.clear();
+        } else if (lowestCycle >= ownDepth) {
+            // outermost key of the cycles reached by the computation
+            values.put(key, value);
+            dependents.forEach(dependent -> values.put(dependent, value));
+            dependents.clear();
+        } else {
+            unresolved.add(key);
+        }
+        lowestCycle = Math.min(outerLowestCycle, lowestCycle);
+        return value;
+    }
+
+    public void clear() {
+        values.clear();
+        inProgress.clear();
+        unresolved.clear();
+        lowestCycle = Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.ParenthesizedTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static fr.greencodeinitiative.java.utils.TreeUtils.skipParentheses;
+
+/**
+ * SQL classification of string literals, shared by the SQL rules.
+ * <p>
+ * Concatenations of literals and text blocks ({@code "SELECT * " + "FROM t"}) are reassembled before the analysis,
+ * the parts not known statically being replaced by {@link SqlStatement#UNKNOWN}. The classification is computed once
+ * per concatenation and memoized on its tree.
+ * <p>
+ * An instance should be kept by the check, fed with the trees of a file top-down (in the order of the subscription
+ * visitors), and {@link #clear() cleared} when leaving the file.
+ */
+public final class SqlLiterals {
+
+    /**
+     * Operands of the concatenations already met : they are not roots.
+     */
+    private final Set<Tree> operands = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Tree, Optional<SqlStatement>> statements = new IdentityHashMap<>();
+
+    /**
+     * @return true if the expression is a string literal, a text block or a concatenation of strings
+     */
+    public static boolean isStringExpression(Tree tree) {
+        return tree.is(Tree.Kind.STRING_LITERAL, Tree.Kind.TEXT_BLOCK)
+                || (tree.is(Tree.Kind.PLUS) && ((ExpressionTree) tree).symbolType().is("java.lang.String"));
+    }
+
+    /**
+     * Tells whether the string expression is not itself part of a concatenation. A concatenation is met before its
+     * operands when visiting top-down : its operands are recorded when it is met, so that each tree is walked once.
+     *
+     * @return true if the string expression is not itself part of a concatenation
+     */
+    public boolean isRoot(Tree tree) {
+        if (operands.contains(tree)) {
+            return false;
+        }
+        // iterative on the left operands : long concatenations are left-nested
+        Deque<Tree> pending = new ArrayDeque<>();
+        pending.push(tree);
+        while (!pending.isEmpty()) {
+            Tree current = pending.pop();
+            if (current.is(Tree.Kind.PLUS)) {
+                BinaryExpressionTree concatenation = (BinaryExpressionTree) current;
+                addOperand(concatenation.leftOperand(), pending);
+                addOperand(concatenation.rightOperand(), pending);
+            }
+        }
+        return true;
+    }
+
+    private void addOperand(ExpressionTree operand, Deque<Tree> pending) {
+        ExpressionTree expression = skipParentheses(operand);
+        if (isStringExpression(expression)) {
+            operands.add(expression);
+            pending.push(expression);
+        }
+    }
+
+    /**
+     * @param root the outermost string expression of a concatenation (see {@link #isRoot(Tree)})
+     * @return the classification of the SQL statement built by the expression, null if it is not SQL
+     */
+    @CheckForNull
+    public SqlStatement analyze(ExpressionTree root) {
+        return statements.computeIfAbsent(root, key -> Optional.ofNullable(SqlStatement.parse(text((ExpressionTree) key))))
+                .orElse(null);
+    }
+
+    public void clear() {
+        operands.clear();
+        statements.clear();
+    }
+
+    /**
+     * @return the text of the expression, parts not known statically being replaced by {@link SqlStatement#UNKNOWN}
+     */
+    public static String text(ExpressionTree expression) {
+        StringBuilder text = new StringBuilder();
+        // iterative on the left operands : long concatenations are left-nested
+        Deque<ExpressionTree> pending = new ArrayDeque<>();
+        pending.push(expression);
+        while (!pending.isEmpty()) {
+            ExpressionTree current = pending.pop();
+            Optional<String> constant = current.asConstant(String.class);
+            if (constant.isPresent()) {
+                text.append(constant.get());
+            } else if (current.is(Tree.Kind.PARENTHESIZED_EXPRESSION)) {
+                pending.push(((ParenthesizedTree) current).expression());
+            } else if (isStringExpression(current)) {
+                BinaryExpressionTree concatenation = (BinaryExpressionTree) current;
+                pending.push(concatenation.rightOperand());
+                pending.push(concatenation.leftOperand());
+            } else {
+                text.append(SqlStatement.UNKNOWN);
+            }
+        }
+        return text.toString();
+    }
+}
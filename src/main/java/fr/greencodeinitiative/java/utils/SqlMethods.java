@@ -0,0 +1,102 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+
+import static org.sonar.plugins.java.api.semantic.MethodMatchers.CONSTRUCTOR;
+
+/**
+ * Method matchers of the database APIs (JDBC, Spring JDBC, JPA, Hibernate, JDO), shared by the SQL rules.
+ */
+public final class SqlMethods {
+
+    public static final String JAVA_SQL_STATEMENT = "java.sql.Statement";
+    public static final String JAVA_SQL_CONNECTION = "java.sql.Connection";
+    public static final String SPRING_JDBC_OPERATIONS = "org.springframework.jdbc.core.JdbcOperations";
+    public static final String SPRING_NAMED_PARAMETER_JDBC_OPERATIONS = "org.springframework.jdbc.core.namedparam.NamedParameterJdbcOperations";
+    public static final String SPRING_ROW_MAPPER = "org.springframework.jdbc.core.RowMapper";
+
+    /**
+     * Methods sending a request to the database.
+     */
+    public static final MethodMatchers SQL_METHOD = MethodMatchers.or(
+            MethodMatchers.create().ofSubTypes("org.hibernate.Session").names("createQuery", "createSQLQuery")
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofSubTypes(JAVA_SQL_STATEMENT)
+                    .names("executeQuery", "execute", "executeUpdate", "executeLargeUpdate") // addBatch is recommended
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofSubTypes(JAVA_SQL_CONNECTION)
+                    .names("prepareStatement", "prepareCall", "nativeSQL")
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofTypes("javax.persistence.EntityManager")
+                    .names("createNativeQuery", "createQuery")
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofSubTypes(SPRING_JDBC_OPERATIONS)
+                    .names("batchUpdate", "execute", "query", "queryForList", "queryForMap", "queryForObject",
+                            "queryForRowSet", "queryForInt", "queryForLong", "update")
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofTypes("org.springframework.jdbc.core.PreparedStatementCreatorFactory")
+                    .names(CONSTRUCTOR, "newPreparedStatementCreator")
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofSubTypes("javax.jdo.PersistenceManager").names("newQuery")
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofSubTypes("javax.jdo.Query").names("setFilter", "setGrouping")
+                    .withAnyParameters().build());
+
+    /**
+     * Spring JDBC methods loading all the rows in a list ({@code query} only when given a {@code RowMapper}).
+     */
+    public static final MethodMatchers JDBC_LIST_QUERY = MethodMatchers.create()
+            .ofSubTypes(SPRING_JDBC_OPERATIONS, SPRING_NAMED_PARAMETER_JDBC_OPERATIONS)
+            .names("queryForList", "query")
+            .withAnyParameters()
+            .build();
+
+    /**
+     * JPA methods loading all the results in a list.
+     */
+    public static final MethodMatchers JPA_LIST_QUERY = MethodMatchers.create()
+            .ofSubTypes("javax.persistence.Query", "jakarta.persistence.Query")
+            .names("getResultList")
+            .addWithoutParametersMatcher()
+            .build();
+
+    /**
+     * Methods executing a query returning a {@code ResultSet}.
+     */
+    public static final MethodMatchers EXECUTE_QUERY = MethodMatchers.create()
+            .ofSubTypes(JAVA_SQL_STATEMENT)
+            .names("executeQuery")
+            .withAnyParameters()
+            .build();
+
+    /**
+     * JPA and Hibernate methods inserting or updating an entity.
+     */
+    public static final MethodMatchers PERSIST_METHOD = MethodMatchers.or(
+            MethodMatchers.create().ofSubTypes("javax.persistence.EntityManager", "jakarta.persistence.EntityManager")
+                    .names("persist", "merge")
+                    .withAnyParameters().build(),
+            MethodMatchers.create().ofSubTypes("org.hibernate.Session")
+                    .names("save", "persist", "saveOrUpdate", "merge", "update")
+                    .withAnyParameters().build());
+
+    private SqlMethods() {
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.CheckForNull;
+
+/**
+ * Classification of a SQL statement, computed by a lightweight tokenizer (linear in the length of the text, without
+ * regular expressions).
+ * <p>
+ * The statement is the first {@code SELECT}, {@code INSERT INTO}, {@code UPDATE ... SET}, {@code DELETE FROM} or
+ * {@code MERGE INTO} found in the text. Parts of the text not known statically (see {@link #UNKNOWN}) prevent
+ * reporting a missing clause.
+ */
+public final class SqlStatement {
+
+    /**
+     * Character standing for a part of the text not known statically.
+     */
+    public static final char UNKNOWN = '\u0000';
+
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, MERGE
+    }
+
+    public enum Feature {
+        /** {@code SELECT *} */
+        SELECT_STAR,
+        /** {@code UPDATE} or {@code DELETE} without {@code WHERE} */
+        MISSING_WHERE,
+        /** {@code LIKE '%...'} */
+        LEADING_WILDCARD_LIKE,
+        /** {@code SELECT ... ORDER BY} without {@code LIMIT}, {@code FETCH FIRST}, {@code TOP}... */
+        ORDER_BY_WITHOUT_LIMIT,
+        /**
+         * {@code SELECT} without {@code LIMIT}, {@code FETCH FIRST}, {@code TOP}... (except a single aggregate and a
+         * lookup by identifier : {@code WHERE u.id = :id} without {@code OR} nor {@code JOIN})
+         */
+        SELECT_WITHOUT_LIMIT
+    }
+
+    private static final Set<String> LIMITING_KEYWORDS = Set.of("LIMIT", "FETCH", "TOP", "ROWNUM", "OFFSET");
+    private static final Set<String> AGGREGATE_FUNCTIONS = Set.of("COUNT", "SUM", "AVG", "MIN", "MAX");
+
+    private final Kind kind;
+    private final Set<Feature> features;
+
+    private SqlStatement(Kind kind, Set<Feature> features) {
+        this.kind = kind;
+        this.features = features;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public boolean isDml() {
+        return kind != Kind.SELECT;
+    }
+
+    public boolean has(Feature feature) {
+        return features.contains(feature);
+    }
+
+    /**
+     * @return the classification of the statement, null if the text is not SQL
+     */
+    @CheckForNull
+    public static SqlStatement parse(String text) {
+        List<Token> tokens = tokenize(text);
+        // last FROM and SET : a statement is looked for at each token, the text must stay scanned once
+        int lastFrom = lastIndexOfWord(tokens, "FROM");
+        int lastSet = lastIndexOfWord(tokens, "SET");
+        for (int i = 0; i < tokens.size(); i++) {
+            Kind kind = statementKind(tokens, i, lastFrom, lastSet);
+            if (kind != null) {
+                return new SqlStatement(kind, features(kind, tokens, i));
+            }
+        }
+        return null;
+    }
+
+    @CheckForNull
+    private static Kind statementKind(List<Token> tokens, int start, int lastFrom, int lastSet) {
+        Token token = tokens.get(start);
+        if (token.type != TokenType.WORD) {
+            return null;
+        }
+        switch (token.text) {
+            case "SELECT":
+                return lastFrom > start ? Kind.SELECT : null;
+            case "INSERT":
+                return isWord(tokens, start + 1, "INTO") ? Kind.INSERT : null;
+            case "DELETE":
+                return isWord(tokens, start + 1, "FROM") ? Kind.DELETE : null;
+            case "MERGE":
+                return isWord(tokens, start + 1, "INTO") ? Kind.MERGE : null;
+            case "UPDATE":
+                return (isType(tokens, start + 1, TokenType.WORD) || isType(tokens, start + 1, TokenType.UNKNOWN))
+                        && lastSet > start + 1 ? Kind.UPDATE : null;
+            default:
+                return null;
+        }
+    }
+
+    private static Set<Feature> features(Kind kind, List<Token> tokens, int start) {
+        Set<Feature> features = EnumSet.noneOf(Feature.class);
+        boolean where = false;
+        boolean limit = false;
+        boolean unknown = false;
+        boolean unknownAfterOrderBy = false;
+        boolean orderBy = false;
+        boolean groupBy = false;
+        boolean idLookup = false;
+        boolean or = false;
+        boolean join = false;
+        for (int i = start; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.type == TokenType.UNKNOWN) {
+                unknown = true;
+                unknownAfterOrderBy |= orderBy;
+            } else if (token.type == TokenType.WORD) {
+                switch (token.text) {
+                    case "SELECT":
+                        int next = isWord(tokens, i + 1, "DISTINCT") || isWord(tokens, i + 1, "ALL") ? i + 2 : i + 1;
+                        if (isType(tokens, next, TokenType.STAR)) {
+                            features.add(Feature.SELECT_STAR);
+                        }
+                        break;
+                    case "WHERE":
+                        where = true;
+                        break;
+                    case "LIKE":
+                    case "ILIKE":
+                        if (isType(tokens, i + 1, TokenType.STRING) && tokens.get(i + 1).text.startsWith("%")) {
+                            features.add(Feature.LEADING_WILDCARD_LIKE);
+                        }
+                        break;
+                    case "ORDER":
+                        orderBy |= isWord(tokens, i + 1, "BY");
+                        break;
+                    case "GROUP":
+                        groupBy |= isWord(tokens, i + 1, "BY");
+                        break;
+                    case "ID":
+                        idLookup |= where && isIdEquality(tokens, i);
+                        break;
+                    case "OR":
+                        or |= where;
+                        break;
+                    case "JOIN":
+                        join = true;
+                        break;
+                    default:
+                        limit |= LIMITING_KEYWORDS.contains(token.text);
+                        break;
+                }
+            }
+        }
+        if ((kind == Kind.UPDATE || kind == Kind.DELETE) && !where && !unknown) {
+            features.add(Feature.MISSING_WHERE);
+        }
+        if (kind == Kind.SELECT && !limit) {
+            boolean singleRow = (!groupBy && isAggregate(tokens, start + 1)) || (idLookup && !or && !join);
+            if (!unknown && !singleRow) {
+                features.add(Feature.SELECT_WITHOUT_LIMIT);
+            }
+            if (orderBy && !unknownAfterOrderBy) {
+                features.add(Feature.ORDER_BY_WITHOUT_LIMIT);
+            }
+        }
+        return features;
+    }
+
+    /**
+     * @return true if the selected value (at the given index) is an aggregate function, returning a single row
+     */
+    private static boolean isAggregate(List<Token> tokens, int index) {
+        return index + 1 < tokens.size() && tokens.get(index).type == TokenType.WORD
+                && AGGREGATE_FUNCTIONS.contains(tokens.get(index).text) && "(".equals(tokens.get(index + 1).text);
+    }
+
+    /**
+     * @return true if the {@code ID} column (at the given index) is compared to a single value : {@code id = ?},
+     * {@code u.id = :id}, {@code id = 'x'} or {@code id = 42}
+     */
+    private static boolean isIdEquality(List<Token> tokens, int index) {
+        boolean column = isWord(tokens, index - 1, "WHERE") || isWord(tokens, index - 1, "AND")
+                || (isOther(tokens, index - 1, ".") && isType(tokens, index - 2, TokenType.WORD));
+        if (!column || !isOther(tokens, index + 1, "=")) {
+            return false;
+        }
+        return isType(tokens, index + 2, TokenType.PARAMETER) || isType(tokens, index + 2, TokenType.STRING)
+                || (isType(tokens, index + 2, TokenType.OTHER) && Character.isDigit(tokens.get(index + 2).text.charAt(0)));
+    }
+
+    private static boolean isOther(List<Token> tokens, int index, String text) {
+        return isType(tokens, index, TokenType.OTHER) && text.equals(tokens.get(index).text);
+    }
+
+    private static boolean isType(List<Token> tokens, int index, TokenType type) {
+        return index >= 0 && index < tokens.size() && tokens.get(index).type == type;
+    }
+
+    private static boolean isWord(List<Token> tokens, int index, String word) {
+        return isType(tokens, index, TokenType.WORD) && word.equals(tokens.get(index).text);
+    }
+
+    private static int lastIndexOfWord(List<Token> tokens, String word) {
+        for (int i = tokens.size() - 1; i >= 0; i--) {
+            if (isWord(tokens, i, word)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private enum TokenType {
+        WORD, STRING, STAR, PARAMETER, UNKNOWN, OTHER
+    }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String text;
+
+        private Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Split the text into words (upper case), quoted strings (without quotes), stars, parameters and other characters.
+     * Comments and white spaces are skipped.
+     */
+    private static List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && i + 1 < length && text.charAt(i + 1) == '-') {
+                i = skipUntil(text, i + 2, "\n");
+            } else if (c == '/' && i + 1 < length && text.charAt(i + 1) == '*') {
+                i = skipUntil(text, i + 2, "*/");
+            } else if (c == '\'') {
+                int end = closingQuote(text, i + 1, '\'');
+                tokens.add(new Token(TokenType.STRING, text.substring(i + 1, Math.min(end, length))));
+                i = end + 1;
+            } else if (c == '"' || c == '`') {
+                int end = closingQuote(text, i + 1, c);
+                tokens.add(new Token(TokenType.WORD, text.substring(i + 1, Math.min(end, length)).toUpperCase(Locale.ROOT)));
+                i = end + 1;
+            } else if (Character.isLetter(c) || c == '_') {
+                int end = i + 1;
+                while (end < length && (Character.isLetterOrDigit(text.charAt(end)) || text.charAt(end) == '_' || text.charAt(end) == '$')) {
+                    end++;
+                }
+                tokens.add(new Token(TokenType.WORD, text.substring(i, end).toUpperCase(Locale.ROOT)));
+                i = end;
+            } else if (c == '*') {
+                tokens.add(new Token(TokenType.STAR, "*"));
+                i++;
+            } else if (c == '?' || c == ':') {
+                tokens.add(new Token(TokenType.PARAMETER, String.valueOf(c)));
+                i++;
+            } else if (c == UNKNOWN) {
+                tokens.add(new Token(TokenType.UNKNOWN, ""));
+                i++;
+            } else {
+                tokens.add(new Token(TokenType.OTHER, String.valueOf(c)));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static int skipUntil(String text, int start, String end) {
+        int index = text.indexOf(end, start);
+        return index < 0 ? text.length() : index + end.length();
+    }
+
+    /**
+     * @return index of the closing quote (doubled quotes being escaped quotes), or the length of the text
+     */
+    private static int closingQuote(String text, int start, char quote) {
+        int i = start;
+        while (i < text.length()) {
+            if (text.charAt(i) == quote) {
+                if (i + 1 < text.length() && text.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i;
+            }
+            i++;
+        }
+        return text.length();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import javax.annotation.CheckForNull;
+
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.ForEachStatement;
+import org.sonar.plugins.java.api.tree.ForStatementTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.ParenthesizedTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.Tree.Kind;
+
+/**
+ * Navigation in the syntax tree shared by the checks.
+ * <p>
+ * Lookups of an enclosing tree stop at class boundaries (classes, anonymous classes, enums, interfaces, records) :
+ * the code of a nested class is not executed by the enclosing code.
+ */
+public final class TreeUtils {
+
+    private TreeUtils() {
+        // Utility class
+    }
+
+    /**
+     * @return the innermost loop executing the tree at each iteration, null if none in the method. Lambdas are
+     * boundaries too : their body is not executed by the loop declaring them.
+     */
+    @CheckForNull
+    public static Tree getEnclosingLoop(Tree tree) {
+        Tree child = tree;
+        Tree parent = tree.parent();
+        while (parent != null && !isClassBoundary(parent) && !parent.is(Kind.METHOD, Kind.CONSTRUCTOR,
+                Kind.LAMBDA_EXPRESSION, Kind.INITIALIZER, Kind.STATIC_INITIALIZER)) {
+            if ((parent.is(Kind.FOR_STATEMENT) && ((ForStatementTree) parent).initializer() != child)
+                    || (parent.is(Kind.FOR_EACH_STATEMENT) && ((ForEachStatement) parent).expression() != child)
+                    || parent.is(Kind.WHILE_STATEMENT, Kind.DO_STATEMENT)) {
+                return parent;
+            }
+            child = parent;
+            parent = parent.parent();
+        }
+        return null;
+    }
+
+    /**
+     * @return the method or constructor declaring the tree, lambdas included, null if the tree is in a field
+     * initializer or an initializer block
+     */
+    @CheckForNull
+    public static MethodTree getEnclosingMethod(Tree tree) {
+        Tree parent = tree.parent();
+        while (parent != null && !isClassBoundary(parent) && !parent.is(Kind.METHOD, Kind.CONSTRUCTOR)) {
+            parent = parent.parent();
+        }
+        return parent != null && parent.is(Kind.METHOD, Kind.CONSTRUCTOR) ? (MethodTree) parent : null;
+    }
+
+    /**
+     * @return true if the ancestor is a (strict) ancestor of the tree
+     */
+    public static boolean isInTree(Tree tree, Tree ancestor) {
+        Tree parent = tree.parent();
+        while (parent != null) {
+            if (parent == ancestor) {
+                return true;
+            }
+            parent = parent.parent();
+        }
+        return false;
+    }
+
+    public static ExpressionTree skipParentheses(ExpressionTree expression) {
+        ExpressionTree result = expression;
+        while (result.is(Kind.PARENTHESIZED_EXPRESSION)) {
+            result = ((ParenthesizedTree) result).expression();
+        }
+        return result;
+    }
+
+    @CheckForNull
+    public static Tree parentSkippingParentheses(Tree tree) {
+        Tree parent = tree.parent();
+        while (parent != null && parent.is(Kind.PARENTHESIZED_EXPRESSION)) {
+            parent = parent.parent();
+        }
+        return parent;
+    }
+
+    /**
+     * @return true for local variables and parameters of methods, constructors and lambdas
+     */
+    public static boolean isLocalVariable(Symbol symbol) {
+        return symbol.isVariableSymbol() && symbol.owner() != null && symbol.owner().isMethodSymbol();
+    }
+
+    private static boolean isClassBoundary(Tree tree) {
+        return tree.is(Kind.CLASS, Kind.ENUM, Kind.INTERFACE, Kind.RECORD, Kind.ANNOTATION_TYPE);
+    }
+}
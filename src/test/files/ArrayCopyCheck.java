@@ -15,9 +15,11 @@
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 class TestClass {
 
@@ -503,6 +505,208 @@ class TestClass {
 		} while (i < len);
 	}
 	
+	public void copyWithOtherStatements(int mode) {
+		final int len = 5;
+		final boolean[] src = new boolean[len];
+		boolean[] dest = new boolean[len];
+
+		// Copy without block
+		for (int i = 0; i < len; i++) // Noncompliant {{Use System.arraycopy to copy arrays}}
+			dest[i] = src[i];
+
+		// Copy nested by switch
+		for (int i = 0; i < len; i++) { // Noncompliant {{Use System.arraycopy to copy arrays}}
+			switch (mode) {
+				case 1:
+					dest[i] = src[i];
+					break;
+				default:
+					break;
+			}
+		}
+
+		// Copy nested by synchronized
+		for (int i = 0; i < len; i++) { // Noncompliant {{Use System.arraycopy to copy arrays}}
+			synchronized (this) {
+				dest[i] = src[i];
+			}
+		}
+
+		// Copy nested by labeled block
+		for (int i = 0; i < len; i++) { // Noncompliant {{Use System.arraycopy to copy arrays}}
+			label: {
+				dest[i] = src[i];
+			}
+		}
+
+		// Copy in nested loop is reported once, on the nested loop
+		for (int j = 0; j < len; j++) {
+			for (int i = 0; i < len; i++) { // Noncompliant {{Use System.arraycopy to copy arrays}}
+				dest[i] = src[i];
+			}
+		}
+	}
+
+	public int[] resizeArray(int[] values, int size) {
+		// Resize by creating a bigger array
+		int[] bigger = new int[values.length * 2];
+		for (int i = 0; i < values.length; i++) { // Noncompliant {{Use Arrays.copyOf to copy and resize arrays}}
+			bigger[i] = values[i];
+		}
+
+		// Resize then replace the source
+		int[] tmp = new int[size + 10];
+		for (int i = 0; i < size; i++) { // Noncompliant {{Use Arrays.copyOf to copy and resize arrays}}
+			tmp[i] = values[i];
+		}
+		values = tmp;
+		return values;
+	}
+
+	public void copyCollections(List<String> list, String[] array) {
+		String[] dest = new String[list.size()];
+		List<String> copy = new ArrayList<>();
+
+		// List to array
+		for (int i = 0; i < list.size(); i++) { // Noncompliant {{Use toArray(new T[0]) to copy a collection into an array}}
+			dest[i] = list.get(i);
+		}
+
+		// List to array by foreach
+		int k = 0;
+		for (String s : list) { // Noncompliant {{Use toArray(new T[0]) to copy a collection into an array}}
+			dest[k++] = s;
+		}
+
+		// Array to list
+		for (int i = 0; i < array.length; i++) { // Noncompliant {{Use Collections.addAll or Arrays.asList to copy an array into a collection}}
+			copy.add(array[i]);
+		}
+
+		// Array to list by foreach
+		for (String s : array) { // Noncompliant {{Use Collections.addAll or Arrays.asList to copy an array into a collection}}
+			copy.add(s);
+		}
+
+		// List to list
+		for (int i = 0; i < list.size(); i++) { // Noncompliant {{Use new ArrayList<>(collection) or addAll to copy a collection}}
+			copy.add(list.get(i));
+		}
+
+		// List to list by foreach
+		for (String s : list) { // Noncompliant {{Use new ArrayList<>(collection) or addAll to copy a collection}}
+			copy.add(s);
+		}
+
+		// List to list nested by try
+		for (String s : list) { // Noncompliant {{Use new ArrayList<>(collection) or addAll to copy a collection}}
+			try {
+				copy.add(s);
+			} finally {
+				k++;
+			}
+		}
+	}
+
+	public void filterOrTransformCollections(List<String> list, String[] array) {
+		String[] dest = new String[list.size()];
+		List<String> copy = new ArrayList<>();
+
+		// Filter
+		for (String s : list) {
+			if (s.isEmpty()) {
+				copy.add(s);
+			}
+		}
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] != null) {
+				copy.add(array[i]);
+			}
+		}
+		int k = 0;
+		for (String s : list) {
+			if (!s.isEmpty()) {
+				dest[k++] = s;
+			}
+		}
+
+		// Transformation
+		for (String s : list) {
+			copy.add(s.trim());
+		}
+		for (int i = 0; i < list.size(); i++) {
+			dest[i] = list.get(i).trim();
+		}
+
+		// Filter with jumps
+		for (String s : list) {
+			if (s.isEmpty()) {
+				continue;
+			}
+			copy.add(s);
+		}
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == null) {
+				break;
+			}
+			copy.add(array[i]);
+		}
+		outer:
+		for (String s : list) {
+			for (int i = 0; i < array.length; i++) {
+				if (s.equals(array[i])) {
+					continue outer;
+				}
+			}
+			copy.add(s);
+		}
+
+		// Jump of a switch, not of the loop
+		for (String s : list) { // Noncompliant {{Use new ArrayList<>(collection) or addAll to copy a collection}}
+			switch (s) {
+				case "a":
+					k++;
+					break;
+				default:
+					break;
+			}
+			copy.add(s);
+		}
+
+		// Index other than the loop counter
+		for (int i = 0; i < array.length; i++) {
+			copy.add(array[0]);
+		}
+		for (int i = 0; i < list.size(); i++) {
+			copy.add(list.get(k));
+		}
+		for (int i = 0; i < list.size(); i++) {
+			dest[i] = list.get(k);
+		}
+		for (int i = 0; i < list.size(); i++) {
+			dest[0] = list.get(i);
+		}
+		for (String s : list) {
+			dest[0] = s;
+		}
+		for (String s : array) {
+			dest[0] = s;
+		}
+		int j = 0;
+		while (j < array.length) { // Noncompliant {{Use Collections.addAll or Arrays.asList to copy an array into a collection}}
+			copy.add(array[j]);
+			j++;
+		}
+
+		// Same collection
+		for (int i = 0; i < 2; i++) {
+			copy.add(copy.get(i));
+		}
+		for (String s : copy) {
+			copy.add(s);
+		}
+	}
+
 	private boolean transform(boolean a) {
 		return !a;
 	}
@@ -0,0 +1,100 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+class TestClass {
+
+	public void copyRowsOK(int[][] src, int rows, int cols) {
+		int[][] dest = new int[rows][cols];
+
+		// Copy of rows
+		for (int i = 0; i < rows; i++) {
+			System.arraycopy(src[i], 0, dest[i], 0, cols);
+		}
+		for (int i = 0; i < rows; i++) {
+			dest[i] = src[i].clone();
+		}
+
+		// Transposition
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < cols; j++) {
+				dest[j][i] = src[i][j];
+			}
+		}
+
+		// Transformation
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < cols; j++) {
+				dest[i][j] = src[i][j] * 2;
+			}
+		}
+
+		// Shift in the same array
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < cols - 1; j++) {
+				src[i][j] = src[i][j + 1];
+			}
+		}
+	}
+
+	public void copyRowsKO(int[][] src, int rows, int cols) {
+		int[][] dest = new int[rows][cols];
+
+		// Copy element by element
+		for (int i = 0; i < rows; i++) {
+			for (int j = 0; j < cols; j++) { // Noncompliant {{Use System.arraycopy or clone to copy each row of the array}}
+				dest[i][j] = src[i][j];
+			}
+		}
+
+		// Copy element by element, rows in the inner loop
+		for (int j = 0; j < cols; j++) {
+			int i = 0;
+			while (i < rows) { // Noncompliant {{Use System.arraycopy or clone to copy each row of the array}}
+				dest[i][j] = src[i][j];
+				i++;
+			}
+		}
+	}
+
+	public void arraycopyOK(int[] src, int len) {
+		int[] dest = new int[len];
+
+		// Copy all elements at once
+		System.arraycopy(src, 0, dest, 0, len);
+
+		// Copy of chunks
+		for (int i = 0; i < len; i += 4) {
+			System.arraycopy(src, i, dest, i, 4);
+		}
+	}
+
+	public void arraycopyKO(int[] src, int len) {
+		int[] dest = new int[len];
+
+		// Copy one element at a time
+		for (int i = 0; i < len; i++) { // Noncompliant {{Use a single System.arraycopy call to copy all the elements}}
+			System.arraycopy(src, i, dest, i, 1);
+		}
+
+		// Copy one element at a time, conditionally
+		for (int i = 0; i < len; i++) { // Noncompliant {{Use a single System.arraycopy call to copy all the elements}}
+			if (src[i] > 0) {
+				System.arraycopy(src, i, dest, i, 1);
+			}
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+class AvoidBlockingCallsInSynchronized {
+
+    private final Object lock = new Object();
+    private final ReentrantLock reentrantLock = new ReentrantLock();
+    private final BlockingQueue<String> queue;
+    private Statement statement;
+    private List<String> lines;
+    private int count;
+
+    AvoidBlockingCallsInSynchronized(BlockingQueue<String> queue) {
+        this.queue = queue;
+    }
+
+    synchronized void readFile(Path path) throws IOException {
+        lines = Files.readAllLines(path); // Noncompliant [[secondary=-1]] {{Use a ReentrantLock instead of synchronized around this blocking call: it pins the carrier thread of virtual threads.}}
+    }
+
+    void readStream(InputStream input) throws IOException {
+        synchronized (lock) {
+            count += input.read(); // Noncompliant [[secondary=-1]]
+        }
+    }
+
+    void query() throws SQLException {
+        synchronized (this) {
+            if (count > 0) {
+                statement.executeQuery("SELECT id FROM users"); // Noncompliant [[secondary=-2]]
+            }
+        }
+    }
+
+    synchronized void waitFor(Future<String> future) throws InterruptedException, ExecutionException {
+        lines.add(future.get()); // Noncompliant [[secondary=-1]]
+    }
+
+    synchronized void sleep() throws InterruptedException {
+        Thread.sleep(100); // Noncompliant [[secondary=-1]]
+    }
+
+    void take() throws InterruptedException {
+        synchronized (lock) {
+            lines.add(queue.take()); // Noncompliant [[secondary=-1]]
+        }
+    }
+
+    synchronized void refresh(Path path) throws IOException {
+        count++;
+        load(path); // Noncompliant [[secondary=-2,+15]]
+    }
+
+    void refreshLater(Path path) throws IOException {
+        synchronized (lock) {
+            reload(path); // Noncompliant [[secondary=-1,+10]]
+        }
+    }
+
+    private void reload(Path path) throws IOException {
+        lines.clear();
+        load(path);
+    }
+
+    private void load(Path path) throws IOException {
+        lines = Files.readAllLines(path);
+    }
+
+    private int recursive(int depth) {
+        return depth > 0 ? recursive(depth - 1) : count;
+    }
+
+    synchronized int compute() {
+        return recursive(count); // Compliant: no blocking call
+    }
+
+    synchronized void pingFirst(Path path) throws IOException {
+        ping(path, count); // Noncompliant [[secondary=-1,+11]]
+    }
+
+    synchronized void pongFirst(Path path) throws IOException {
+        pong(path, count); // Noncompliant [[secondary=-1,+7]] pong only blocks through ping, computed first
+    }
+
+    private void ping(Path path, int depth) throws IOException {
+        if (depth > 0) {
+            pong(path, depth - 1);
+        }
+        lines = Files.readAllLines(path);
+    }
+
+    private void pong(Path path, int depth) throws IOException {
+        ping(path, depth);
+    }
+
+    synchronized void increment() {
+        count++;
+        lines.add("line"); // Compliant
+    }
+
+    void readWithLock(Path path) throws IOException {
+        reentrantLock.lock();
+        try {
+            lines = Files.readAllLines(path); // Compliant: ReentrantLock does not pin the carrier thread
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    void readOutside(Path path) throws IOException {
+        List<String> read = Files.readAllLines(path); // Compliant
+        synchronized (lock) {
+            lines = read;
+        }
+    }
+
+    void nested(InputStream input) throws IOException {
+        synchronized (lock) {
+            synchronized (this) {
+                count += input.read(); // Noncompliant [[secondary=-2]] reported once, from the outermost region
+            }
+        }
+    }
+
+    synchronized void nestedInMethod(InputStream input) throws IOException {
+        synchronized (lock) {
+            count += input.read(); // Noncompliant [[secondary=-2]]
+        }
+    }
+
+    synchronized Runnable deferredSynchronized(InputStream input) {
+        return () -> {
+            synchronized (lock) {
+                try {
+                    count += input.read(); // Noncompliant [[secondary=-2]] the lambda is not run while holding the monitor of the method
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    synchronized Runnable deferred(Path path) {
+        return () -> {
+            try {
+                lines = Files.readAllLines(path); // Compliant: not executed while holding the monitor
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+}
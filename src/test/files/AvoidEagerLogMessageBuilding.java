@@ -0,0 +1,83 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.utils.log.Loggers;
+
+class AvoidEagerLogMessageBuilding {
+
+    private static final Logger SLF4J = LoggerFactory.getLogger(AvoidEagerLogMessageBuilding.class);
+    private static final org.apache.logging.log4j.Logger LOG4J = LogManager.getLogger(AvoidEagerLogMessageBuilding.class);
+    private static final java.util.logging.Logger JUL = java.util.logging.Logger.getLogger("jul");
+    private static final org.sonar.api.utils.log.Logger SONAR = Loggers.get(AvoidEagerLogMessageBuilding.class);
+    private static final String PREFIX = "prefix";
+
+    void slf4j(Object user, List<String> names, int[] ids) {
+        SLF4J.debug("user : " + user); // Noncompliant {{Use a parameterized message or a Supplier instead of building the message when the level may be disabled.}}
+        SLF4J.trace(String.format("user : %s", user)); // Noncompliant
+        SLF4J.debug(user.toString()); // Noncompliant
+        SLF4J.debug("user : {}", user.toString()); // Noncompliant {{Guard this log statement by the level, or pass a Supplier: this argument is computed even when the level is disabled.}}
+        SLF4J.debug("ids : {}", Arrays.toString(ids)); // Noncompliant
+        SLF4J.debug("names : {}", names.stream().map(String::trim).collect(Collectors.joining(","))); // Noncompliant
+        SLF4J.debug("user : {}", user);
+        SLF4J.debug(PREFIX + " constant");
+        SLF4J.info("user : " + user);
+        SLF4J.error("user : " + user);
+    }
+
+    void slf4jGuarded(Object user) {
+        if (SLF4J.isDebugEnabled()) {
+            SLF4J.debug("user : " + user);
+        }
+        if (user != null && SLF4J.isTraceEnabled()) {
+            SLF4J.trace("user : {}", user.toString());
+        }
+    }
+
+    void log4j(Object user) {
+        LOG4J.debug("user : " + user); // Noncompliant
+        LOG4J.debug("user : {}", user);
+        LOG4J.debug(() -> "user : " + user);
+        LOG4J.debug("user : {}", () -> user.toString());
+    }
+
+    void jul(Object user) {
+        JUL.fine("user : " + user); // Noncompliant
+        JUL.log(Level.FINER, "user : " + user); // Noncompliant
+        JUL.log(Level.FINE, "user : {0}", user);
+        JUL.fine(() -> "user : " + user);
+        JUL.log(Level.SEVERE, "user : " + user);
+        if (JUL.isLoggable(Level.FINE)) {
+            JUL.fine("user : " + user);
+        }
+    }
+
+    void sonar(Object user) {
+        SONAR.debug("user : " + user); // Noncompliant
+        SONAR.debug("user : {}", user);
+        SONAR.info("user : " + user);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class AvoidExceptionsAsControlFlowInLoops {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvoidExceptionsAsControlFlowInLoops.class);
+
+    List<Integer> parseAll(List<String> values) {
+        List<Integer> numbers = new ArrayList<>();
+        for (String value : values) {
+            try {
+                numbers.add(Integer.parseInt(value));
+            } catch (NumberFormatException e) { // Noncompliant [[secondary=-3]] {{Check the value before instead of catching NumberFormatException in this loop: exceptions capture a stack trace at each failing iteration.}}
+                // ignored
+            }
+        }
+        return numbers;
+    }
+
+    void exitOnException(Iterator<String> iterator) {
+        while (true) {
+            try {
+                send(iterator.next());
+            } catch (NoSuchElementException e) { // Noncompliant [[secondary=-3]] {{Check the value before instead of catching NoSuchElementException in this loop: exceptions capture a stack trace at each failing iteration.}}
+                break;
+            }
+        }
+    }
+
+    void multiCatch(Object[] values) {
+        for (int i = 0; i < 100; i++) {
+            try {
+                send((String) values[i]);
+            } catch (IOException | ClassCastException | ArrayIndexOutOfBoundsException e) { // Noncompliant [[secondary=-3]] {{Check the value before instead of catching ClassCastException in this loop: exceptions capture a stack trace at each failing iteration.}}
+                LOGGER.debug("skipped {}", i, e);
+            }
+        }
+    }
+
+    void doWhile(List<String> values) {
+        int i = 0;
+        do {
+            try {
+                send(values.get(i));
+            } catch (IndexOutOfBoundsException e) { // Noncompliant [[secondary=-3]]
+                return;
+            }
+        } while (i++ < 10);
+    }
+
+    void rethrown(List<String> values) {
+        for (String value : values) {
+            try {
+                Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalStateException("Invalid value " + value, e);
+            }
+        }
+    }
+
+    void loggedAsError(List<String> values) {
+        for (String value : values) {
+            try {
+                Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                LOGGER.error("Invalid value {}", value, e);
+            }
+        }
+    }
+
+    void checkedException(List<Reader> readers) {
+        for (Reader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                // ignored
+            }
+        }
+    }
+
+    void broadCatch(List<String> values) {
+        for (String value : values) {
+            try {
+                Integer.parseInt(value);
+            } catch (RuntimeException e) {
+                // ignored
+            }
+        }
+    }
+
+    void notInLoop(String value) {
+        try {
+            Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            // ignored
+        }
+    }
+
+    void inLambda(List<String> values) {
+        for (String value : values) {
+            Runnable task = () -> {
+                try {
+                    Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    // ignored
+                }
+            };
+            task.run();
+        }
+    }
+
+    private void send(String value) throws IOException {
+    }
+}
@@ -42,6 +42,23 @@ class AvoidFullSQLRequestCheck {
         String requestNonCompiliant_nSpace = "SELECT   *FROM table"; // Noncompliant {{Don't use the query SELECT * FROM}}
     }
 
+    public void concatenatedSQLrequest(String table, String column) {
+        dummyCall("SELECT * " + "FROM myTable"); // Noncompliant {{Don't use the query SELECT * FROM}}
+        dummyCall("SELECT * FROM " + table + " WHERE id = ?"); // Noncompliant {{Don't use the query SELECT * FROM}}
+        dummyCall("SELECT " + column + " FROM " + table);
+        dummyCall("SELECT count(*) FROM " + table);
+        dummyCall("SELECT id, name FROM myTable WHERE name LIKE '% * FROM %'");
+        dummyCall("""
+            SELECT *
+              FROM myTable
+             WHERE id = ?
+            """); // Noncompliant@-4 {{Don't use the query SELECT * FROM}}
+        dummyCall("""
+            SELECT id
+              FROM myTable
+            """);
+    }
+
     private void dummyCall(String request) {
 
     }
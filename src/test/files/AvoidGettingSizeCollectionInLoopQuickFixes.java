@@ -0,0 +1,64 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.List;
+
+class AvoidGettingSizeCollectionInLoopQuickFixes {
+
+    int sum(List<Integer> values) {
+        int sum = 0;
+        for (int i = 0; i < values.size(); i++) { // Noncompliant [[sc=29;ec=42;quickfixes=qf1]]
+            // fix@qf1 {{Store size() in a variable of the loop}}
+            // edit@qf1 [[sc=23;ec=23]] {{, valuesSize = values.size()}}
+            // edit@qf1 [[sc=29;ec=42]] {{valuesSize}}
+            sum += values.get(i);
+        }
+        return sum;
+    }
+
+    int count(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); ++i) { // Noncompliant [[sc=29;ec=42;quickfixes=qf2]]
+            // fix@qf2 {{Store length() in a variable of the loop}}
+            // edit@qf2 [[sc=23;ec=23]] {{, textLength = text.length()}}
+            // edit@qf2 [[sc=29;ec=42]] {{textLength}}
+            if (text.charAt(i) == ' ') {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    void removeEmpty(List<String> values) {
+        for (int i = 0; i < values.size(); i++) { // Noncompliant [[sc=29;ec=42;quickfixes=!]]
+            if (values.get(i).isEmpty()) {
+                values.remove(i--);
+            }
+        }
+    }
+
+    int sumWhile(List<Integer> values) {
+        int sum = 0;
+        int i = 0;
+        while (i < values.size()) { // Noncompliant [[sc=20;ec=33;quickfixes=!]]
+            sum += values.get(i++);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class AvoidInefficientStreamPipelines {
+
+    List<String> trim(List<String> values) {
+        return values.stream().map(String::trim).collect(Collectors.toList()).stream() // Noncompliant {{Remove this collect(): chain the operations on the stream instead of collecting it to stream it again.}}
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    List<String> trimToCollection(List<String> values) {
+        return values.stream().collect(Collectors.toCollection(ArrayList::new)).stream().sorted().collect(Collectors.toList()); // Noncompliant
+    }
+
+    int countNonEmpty(List<String> values) {
+        return values.stream().filter(value -> !value.isEmpty()).collect(Collectors.toList()).size(); // Noncompliant {{Use count() instead of collecting the stream to get its size.}}
+    }
+
+    boolean hasName(List<User> users, String name) {
+        return users.stream().map(User::getName).collect(Collectors.toSet()).contains(name); // Noncompliant {{Use anyMatch(element::equals) instead of collecting the stream to check if it contains an element.}}
+    }
+
+    boolean noAdult(List<User> users) {
+        return users.stream().filter(User::isAdult).collect(Collectors.toList()).isEmpty(); // Noncompliant {{Use findAny().isEmpty() instead of collecting the stream to check if it is empty.}}
+    }
+
+    int countNames(List<User> users) {
+        return users.stream().map(User::getName).collect(Collectors.toSet()).size(); // Noncompliant {{Use distinct().count() instead of collecting the stream to a set to get its size.}}
+    }
+
+    List<String> uniqueNames(List<User> users) {
+        return users.stream().map(User::getName).collect(Collectors.toUnmodifiableSet()).stream() // Noncompliant {{Remove this collect(): chain distinct() and the operations on the stream instead of collecting it to a set to stream it again.}}
+                .map(String::trim)
+                .collect(Collectors.toList());
+    }
+
+    int countLinkedNames(List<User> users) {
+        return users.stream().map(User::getName).collect(Collectors.toCollection(LinkedHashSet::new)).size(); // Noncompliant {{Use distinct().count() instead of collecting the stream to a set to get its size.}}
+    }
+
+    List<String> sortedNames(List<User> users) {
+        return users.stream().map(User::getName).collect(Collectors.toCollection(TreeSet::new)).stream().collect(Collectors.toList()); // Compliant: ordered by the set
+    }
+
+    int countSortedNames(List<User> users) {
+        return users.stream().map(User::getName).collect(Collectors.toCollection(TreeSet::new)).size(); // Compliant: de-duplicated by the comparator
+    }
+
+    boolean hasSortedName(List<User> users, String name) {
+        return users.stream().map(User::getName).collect(Collectors.toCollection(TreeSet::new)).contains(name); // Noncompliant {{Use anyMatch(element::equals) instead of collecting the stream to check if it contains an element.}}
+    }
+
+    Set<String> names(List<User> users) {
+        return users.stream().map(User::getName).collect(Collectors.toSet()); // Compliant
+    }
+
+    Optional<String> first(List<String> values) {
+        return values.stream().sorted().findFirst(); // Noncompliant {{Use min() instead of sorted().findFirst(): it finds the smallest element without sorting the stream.}}
+    }
+
+    Optional<User> youngest(List<User> users) {
+        return users.stream().sorted(Comparator.comparing(User::getAge)).findFirst(); // Noncompliant
+    }
+
+    OptionalInt smallest(int[] values) {
+        return IntStream.of(values).sorted().findFirst(); // Noncompliant
+    }
+
+    List<String> sorted(List<String> values) {
+        return values.stream().sorted().limit(3).collect(Collectors.toList()); // Compliant
+    }
+
+    Optional<User> oldest(List<User> users) {
+        return users.stream().max(Comparator.comparing(User::getAge)); // Compliant
+    }
+
+    boolean hasAdult(List<User> users) {
+        return users.stream().filter(User::isAdult).count() > 0; // Noncompliant {{Use anyMatch() instead of filter().count() > 0: it stops at the first match.}}
+    }
+
+    boolean hasAdultReversed(List<User> users) {
+        return 0 != users.stream().filter(User::isAdult).count(); // Noncompliant {{Use anyMatch() instead of filter().count() > 0: it stops at the first match.}}
+    }
+
+    boolean hasAdultAtLeastOne(List<User> users) {
+        return users.stream().filter(User::isAdult).count() >= 1; // Noncompliant {{Use anyMatch() instead of filter().count() > 0: it stops at the first match.}}
+    }
+
+    boolean hasNoAdult(List<User> users) {
+        return users.stream().filter(User::isAdult).count() == 0; // Noncompliant {{Use noneMatch() instead of filter().count() == 0: it stops at the first match.}}
+    }
+
+    boolean hasNoAdultReversed(List<User> users) {
+        return 1 > users.stream().filter(User::isAdult).count(); // Noncompliant {{Use noneMatch() instead of filter().count() == 0: it stops at the first match.}}
+    }
+
+    boolean hasNames(List<User> users) {
+        return users.stream().map(User::getName).count() > 0; // Noncompliant {{Use findAny() instead of comparing count() with 0: it stops at the first element.}}
+    }
+
+    boolean hasManyAdults(List<User> users) {
+        return users.stream().filter(User::isAdult).count() > 1; // Compliant
+    }
+
+    boolean hasAdultCount(List<User> users, long expected) {
+        return users.stream().filter(User::isAdult).count() == expected; // Compliant
+    }
+
+    boolean hasValues(List<String> values) {
+        return values.size() > 0; // Compliant: not a stream
+    }
+
+    static class User {
+        private String name;
+        private int age;
+
+        String getName() {
+            return name;
+        }
+
+        int getAge() {
+            return age;
+        }
+
+        boolean isAdult() {
+            return age >= 18;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class AvoidLoadingWholeResultSet {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final RowMapper<String> nameMapper = (rs, rowNum) -> rs.getString("name");
+    private List<String> names;
+
+    AvoidLoadingWholeResultSet(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    void queryForListIteratedOnce() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT id, name FROM users"); // Noncompliant [[secondary=+1]] {{Process the rows with a RowCallbackHandler or queryForStream instead of loading them all in a list iterated once.}}
+        for (Map<String, Object> row : rows) {
+            send(row.get("name"));
+        }
+    }
+
+    void queryWithRowMapperIteratedOnce() {
+        for (String name : jdbcTemplate.query("SELECT name FROM users", nameMapper)) { // Noncompliant [[secondary=+0]]
+            send(name);
+        }
+    }
+
+    void forEach() {
+        jdbcTemplate.query("SELECT name FROM users", (rs, rowNum) -> rs.getString(1)) // Noncompliant [[secondary=+0]]
+                .forEach(this::send);
+    }
+
+    void resultListIteratedOnce() {
+        List<?> users = entityManager.createQuery("SELECT u FROM User u").getResultList(); // Noncompliant [[secondary=+2]] {{Use getResultStream() instead of loading all the results in a list iterated once.}}
+
+        for (Object user : users) {
+            send(user);
+        }
+    }
+
+    void rowCallbackHandler() {
+        jdbcTemplate.query("SELECT name FROM users", rs -> {
+            send(rs.getString("name"));
+        });
+    }
+
+    List<String> returned() {
+        return jdbcTemplate.query("SELECT name FROM users", nameMapper);
+    }
+
+    void iteratedTwice() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT id, name FROM users");
+        for (Map<String, Object> row : rows) {
+            send(row.get("id"));
+        }
+        for (Map<String, Object> row : rows) {
+            send(row.get("name"));
+        }
+    }
+
+    void sizeAndIteration() {
+        List<?> users = entityManager.createQuery("SELECT u FROM User u").getResultList();
+        send(users.size());
+        users.forEach(this::send);
+    }
+
+    void storedInField() {
+        names = jdbcTemplate.queryForList("SELECT name FROM users", String.class);
+    }
+
+    void single() {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(*) FROM users", Integer.class);
+        send(count);
+    }
+
+    private void send(Object value) {
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.data.repository.CrudRepository;
+
+class AvoidParallelStreamMisuse {
+
+    interface UserRepository extends CrudRepository<String, Long> {
+    }
+
+    private final List<String> names = new ArrayList<>();
+    private UserRepository repository;
+
+    int sum(List<Integer> values) {
+        return values.parallelStream().mapToInt(Integer::intValue).sum(); // Compliant
+    }
+
+    int sumSmall() {
+        return List.of(1, 2, 3).parallelStream().mapToInt(Integer::intValue).sum(); // Noncompliant {{Use a sequential stream: this source is too small to benefit from parallelism.}}
+    }
+
+    int sumStream() {
+        return Stream.of(1, 2, 3).parallel().mapToInt(Integer::intValue).sum(); // Noncompliant {{Use a sequential stream: this source is too small to benefit from parallelism.}}
+    }
+
+    long countRange() {
+        return IntStream.range(0, 100).parallel().filter(i -> i % 3 == 0).count(); // Noncompliant {{Use a sequential stream: this source is too small to benefit from parallelism.}}
+    }
+
+    long countLargeRange() {
+        return IntStream.range(0, 1_000_000).parallel().filter(i -> i % 3 == 0).count(); // Compliant
+    }
+
+    int sumArray(Integer[] values) {
+        return Arrays.asList(values).parallelStream().mapToInt(Integer::intValue).sum(); // Compliant
+    }
+
+    int sumLinked(LinkedList<Integer> values) {
+        return values.parallelStream().mapToInt(Integer::intValue).sum(); // Noncompliant {{Use a sequential stream, or copy the elements into an ArrayList: this source splits badly.}}
+    }
+
+    int sumLinkedStream(LinkedList<Integer> values) {
+        return values.stream().map(value -> value * 2).parallel().mapToInt(Integer::intValue).sum(); // Noncompliant {{Use a sequential stream, or copy the elements into an ArrayList: this source splits badly.}}
+    }
+
+    List<Integer> iterate() {
+        return Stream.iterate(1, i -> i * 2).parallel().limit(20).collect(Collectors.toList()); // Noncompliant {{Use a sequential stream, or copy the elements into an ArrayList: this source splits badly.}}
+    }
+
+    long countLines(BufferedReader reader) {
+        return reader.lines().parallel().filter(String::isEmpty).count(); // Noncompliant
+    }
+
+    long sequentialAgain(LinkedList<Integer> values) {
+        return values.stream().parallel().filter(value -> value > 0).sequential().count(); // Compliant: made sequential
+    }
+
+    List<String> read(List<Path> paths) {
+        return paths.parallelStream()
+                .map(path -> {
+                    try {
+                        return Files.readString(path); // Noncompliant [[secondary=-3]] {{Avoid blocking calls in parallel streams: they hold the threads of the common ForkJoinPool.}}
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+    }
+
+    List<String> load(List<Long> ids) {
+        return ids.parallelStream()
+                .filter(id -> repository.existsById(id)) // Noncompliant [[secondary=-1]] {{Avoid blocking calls in parallel streams: they hold the threads of the common ForkJoinPool.}}
+                .map(id -> repository.findById(id).orElse(null)) // Compliant: reported by EC1
+                .collect(Collectors.toList());
+    }
+
+    List<String> loadReferences(List<Long> ids) {
+        return ids.stream()
+                .parallel()
+                .filter(repository::existsById) // Noncompliant [[secondary=-1]]
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+    }
+
+    void sleep(Stream<Integer> values) {
+        values.parallel().forEach(value -> {
+            try {
+                Thread.sleep(value); // Noncompliant [[secondary=-2]]
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    List<String> copy(List<String> values) {
+        List<String> result = new ArrayList<>();
+        values.parallelStream().filter(value -> !value.isEmpty()).forEach(result::add); // Noncompliant {{Collect the results of the parallel stream instead of modifying this shared collection.}}
+        return result;
+    }
+
+    Map<String, Integer> index(List<String> values) {
+        Map<String, Integer> result = new HashMap<>();
+        values.parallelStream().forEach(value -> result.put(value, value.length())); // Noncompliant {{Collect the results of the parallel stream instead of modifying this shared collection.}}
+        return result;
+    }
+
+    void addNames(List<String> values) {
+        values.parallelStream().map(String::trim).forEach(value -> names.add(value)); // Noncompliant
+    }
+
+    Map<String, Integer> indexConcurrent(List<String> values) {
+        ConcurrentHashMap<String, Integer> result = new ConcurrentHashMap<>();
+        values.parallelStream().forEach(value -> result.put(value, value.length())); // Compliant: thread-safe
+        return result;
+    }
+
+    List<List<String>> split(List<String> values) {
+        return values.parallelStream()
+                .map(value -> {
+                    List<String> parts = new ArrayList<>();
+                    parts.add(value); // Compliant: local to the lambda
+                    return parts;
+                })
+                .collect(Collectors.toList());
+    }
+
+    List<String> sequential(List<Path> paths) {
+        List<String> result = new ArrayList<>();
+        paths.stream().map(Path::toString).forEach(result::add); // Compliant: sequential
+        return result;
+    }
+}
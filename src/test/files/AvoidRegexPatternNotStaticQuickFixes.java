@@ -0,0 +1,86 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.regex.Pattern;
+
+class AvoidRegexPatternNotStaticQuickFixes {
+
+    private static final String SEPARATOR = ",";
+
+    boolean isNumber(String value) {
+        final Pattern numberPattern = Pattern.compile("[0-9]+"); // Noncompliant [[sc=39;ec=64;quickfixes=qf1]]
+        // fix@qf1 {{Move to a static final field}}
+        // edit@qf1 [[sl=24;el=24;sc=49;ec=49]] {{\n    private static final Pattern NUMBER_PATTERN = Pattern.compile("[0-9]+");}}
+        // edit@qf1 [[sc=39;ec=64]] {{NUMBER_PATTERN}}
+        return numberPattern.matcher(value).matches();
+    }
+
+    String[] split(String value) {
+        return Pattern.compile(SEPARATOR + "\\s*", Pattern.CASE_INSENSITIVE).split(value); // Noncompliant [[sc=16;ec=77;quickfixes=qf2]]
+        // fix@qf2 {{Move to a static final field}}
+        // edit@qf2 [[sl=24;el=24;sc=49;ec=49]] {{\n    private static final Pattern PATTERN = Pattern.compile(SEPARATOR + "\\s*", Pattern.CASE_INSENSITIVE);}}
+        // edit@qf2 [[sc=16;ec=77]] {{PATTERN}}
+    }
+
+    boolean matches(String regex, String value) {
+        return Pattern.compile(regex).matcher(value).matches(); // Noncompliant [[sc=16;ec=38;quickfixes=!]]
+    }
+
+    boolean matchesAnonymous(String value) {
+        return new Object() {
+            boolean matches() {
+                return Pattern.compile("a+").matcher(value).matches(); // Noncompliant [[sc=24;ec=45;quickfixes=!]]
+            }
+        }.matches();
+    }
+}
+
+class AvoidRegexPatternNotStaticForwardReference {
+
+    boolean isWord(String value) {
+        return Pattern.compile(WORD).matcher(value).matches(); // Noncompliant [[sc=16;ec=37;quickfixes=qf3]]
+        // fix@qf3 {{Move to a static final field}}
+        // edit@qf3 [[sl=+6;el=+6;sc=47;ec=47]] {{\n    private static final Pattern PATTERN = Pattern.compile(WORD);}}
+        // edit@qf3 [[sc=16;ec=37]] {{PATTERN}}
+    }
+
+    private static final String WORD = "\\w+";
+}
+
+class AvoidRegexPatternNotStaticWithoutStaticField {
+
+    boolean isWord(String value) {
+        return Pattern.compile("\\w+").matcher(value).matches(); // Noncompliant [[sc=16;ec=39;quickfixes=qf4]]
+        // fix@qf4 {{Move to a static final field}}
+        // edit@qf4 [[sl=-1;el=-1;sc=5;ec=5]] {{private static final Pattern PATTERN = Pattern.compile("\\w+");\n\n    }}
+        // edit@qf4 [[sc=16;ec=39]] {{PATTERN}}
+    }
+}
+
+class AvoidRegexPatternNotStaticIndentedWithTabs {
+
+	private static final String WORD = "\\w+";
+
+	boolean isWord(String value) {
+		return Pattern.compile(WORD).matcher(value).matches(); // Noncompliant [[sc=10;ec=31;quickfixes=qf5]]
+		// fix@qf5 {{Move to a static final field}}
+		// edit@qf5 [[sl=-3;el=-3;sc=44;ec=44]] {{\n	private static final Pattern PATTERN = Pattern.compile(WORD);}}
+		// edit@qf5 [[sc=10;ec=31]] {{PATTERN}}
+	}
+}
@@ -0,0 +1,34 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+class AvoidSQLRequestInLoopAndReuseJdbc {
+
+    void preparedInLoop(Connection connection, List<String> names) throws SQLException {
+        for (String name : names) {
+            PreparedStatement statement = connection.prepareStatement("DELETE FROM users WHERE name = ?"); // Noncompliant {{Prepare this statement once before the loop and re-bind its parameters.}}
+            statement.setString(1, name);
+            connection.prepareStatement("SELECT * FROM " + name); // Noncompliant {{Avoid SQL request in loop}}
+        }
+    }
+}
@@ -19,8 +19,11 @@ package fr.greencodeinitiative.java.checks;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 class AvoidSQLRequestInLoopCheck {
     AvoidSQLRequestInLoopCheck(AvoidSQLRequestInLoopCheck mc) {
@@ -148,4 +151,11 @@ class AvoidSQLRequestInLoopCheck {
 		}
 	}
 
+    public void testWithPreparedStatementInLoop(Connection conn, List<String> names) throws SQLException {
+        for (String name : names) {
+            PreparedStatement constant = conn.prepareStatement("DELETE FROM users WHERE name = ?"); // Compliant, left to EC534
+            constant.setString(1, name);
+            PreparedStatement built = conn.prepareStatement("SELECT * FROM " + name); // Noncompliant {{Avoid SQL request in loop}}
+        }
+    }
 }
\ No newline at end of file
@@ -145,6 +145,44 @@ class AvoidSetConstantInBatchUpdateCheck {
         }
     }
 
+    private static final int STATUS_ACTIVE = 1;
+    private static final String PREFIX = "EMP-";
+    private static final String CODE = PREFIX + "001";
+    private static final long START = System.currentTimeMillis();
+    private final BigDecimal rate = BigDecimal.ONE;
+    private int counter = 0;
+
+    enum Status { ACTIVE, INACTIVE }
+
+    int[] batchInsertWithFinalOrComputedConstants(DummyClass[] data) {
+        try (Connection con = DriverManager.getConnection("jdbc:oracle:thin:@localhost:1521:xe", "system", "oracle")) {
+            PreparedStatement stmt = con.prepareStatement("insert into Emp values(?,?,?,?,?,?,?,?,?,?,?,?,?)");
+            final int batchSize = 100;
+            int effectivelyFinal = 2 * 3;
+            int reassigned = 0;
+            String label = "emp";
+            for (DummyClass o : data) {
+                stmt.setInt(1, STATUS_ACTIVE); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setString(2, PREFIX + "name"); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setString(3, CODE); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setInt(4, batchSize); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setInt(5, effectivelyFinal); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setString(6, Status.ACTIVE.name());
+                stmt.setString(7, label + "-" + 1); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setLong(8, -(long) 7); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setBigDecimal(9, rate); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setBigDecimal(10, BigDecimal.valueOf(STATUS_ACTIVE)); // Noncompliant {{Avoid setting constants in batch update}}
+                stmt.setInt(11, reassigned);
+                stmt.setLong(12, START);
+                stmt.setInt(13, counter);
+                stmt.setString(13, label + o.getField2());
+                stmt.addBatch();
+                reassigned++;
+            }
+            return stmt.executeBatch();
+        }
+    }
+
     class DummyClass {
 
         public int getField1() {
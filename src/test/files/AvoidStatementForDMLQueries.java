@@ -31,4 +31,16 @@ class AvoidStatementForDMLQueries {
         Statement statement = connection.createStatement();
         statement.executeUpdate("INSERT INTO persons(id, name) VALUES(2, 'Toto')");  // Noncompliant {{You must not use Statement for a DML query}}
     }
-}
\ No newline at end of file
+
+    public void concatenated(int id, String table) {
+        Statement statement = connection.createStatement();
+        statement.executeUpdate("DELETE FROM persons " + "WHERE id = " + id);  // Noncompliant {{You must not use Statement for a DML query}}
+        statement.executeUpdate("UPDATE " + table + " SET name = 'Toto'");  // Noncompliant {{You must not use Statement for a DML query}}
+        statement.executeUpdate("""
+            INSERT INTO persons(id, name)
+            VALUES(3, 'Titi')
+            """);  // Noncompliant@-3 {{You must not use Statement for a DML query}}
+        statement.executeUpdate("CREATE TABLE persons(id INT, name VARCHAR(32))");
+        statement.executeUpdate("Hello, please update the table");
+    }
+}
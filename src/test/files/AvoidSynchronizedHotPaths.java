@@ -0,0 +1,87 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+
+class AvoidSynchronizedHotPaths {
+
+    private final Object lock = new Object();
+    private long count;
+    private int errors;
+    private String name;
+    private final Map<String, String> cache = new Hashtable<>(); // Noncompliant [[secondary=+33]] {{Use a ConcurrentHashMap instead of a Hashtable: every access takes the same lock.}}
+    private final List<String> items = new Vector<>(); // Noncompliant [[secondary=+36,+45]] {{Use an ArrayList, or a CopyOnWriteArrayList if it is shared, instead of a Vector: every access takes the same lock.}}
+    private final Map<String, String> wrapped = Collections.synchronizedMap(new HashMap<>()); // Noncompliant [[secondary=+39]] {{Use a concurrent collection (ConcurrentHashMap, CopyOnWriteArrayList...) instead of a synchronized wrapper: every access takes the same lock.}}
+
+    synchronized void increment() { // Noncompliant [[secondary=+11,+15]] {{Use an AtomicLong or a LongAdder instead of synchronizing this counter.}}
+        count++;
+    }
+
+    void add(int n) {
+        synchronized (lock) { // Noncompliant [[secondary=+14]]
+            errors += n;
+        }
+    }
+
+    synchronized long next() { // Noncompliant [[secondary=-9,+5]]
+        return ++count;
+    }
+
+    synchronized long getCount() { // Noncompliant [[secondary=-13,-3]] {{Use a volatile field instead of synchronizing these reads.}}
+        return this.count;
+    }
+
+    synchronized int getErrors() { // Noncompliant [[secondary=-12]]
+        return errors;
+    }
+
+    synchronized void rename(String newName) {
+        if (newName != null) {
+            name = newName;
+        }
+    }
+
+    String cached(String key) {
+        return cache.get(key);
+    }
+
+    void addItem(String item) {
+        items.add(item);
+    }
+
+    String wrappedValue(String key) {
+        return wrapped.get(key);
+    }
+
+    void local() {
+        synchronized (lock) {
+            List<String> copy = new ArrayList<>(items);
+            name = String.join(",", copy);
+        }
+    }
+
+    synchronized void empty() {
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.context.annotation.Bean;
+
+class AvoidThreadPoolMisuse {
+
+    private static final ExecutorService SHARED = Executors.newCachedThreadPool(); // Noncompliant {{Shut down this thread pool when it is no longer used.}}
+
+    private final ExecutorService workers = Executors.newFixedThreadPool(4); // Noncompliant {{Bound the threads and the queue of this thread pool: use a ThreadPoolExecutor with a bounded queue and a rejection policy.}}
+    private final ExecutorService bounded = new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100)); // Compliant
+    private final ExecutorService unboundedQueue = new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>()); // Noncompliant {{Bound the threads and the queue of this thread pool: use a ThreadPoolExecutor with a bounded queue and a rejection policy.}}
+    private final ExecutorService boundedQueue = new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(100)); // Compliant
+    private ScheduledExecutorService scheduler;
+    private ExecutorService lazy;
+    private ForkJoinPool forkJoinPool;
+
+    AvoidThreadPoolMisuse() {
+        forkJoinPool = new ForkJoinPool(4); // Compliant: constructor, shut down
+    }
+
+    @PostConstruct
+    void setUp() {
+        scheduler = Executors.newScheduledThreadPool(1); // Compliant: initialization, shut down
+    }
+
+    void handle(List<Callable<String>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4); // Noncompliant {{Create this thread pool once (field, constructor, bean) instead of at each call.}}
+        executor.invokeAll(tasks);
+        executor.shutdown();
+    }
+
+    void handleOnce(Runnable task) {
+        Executors.newSingleThreadExecutor().submit(task); // Noncompliant {{Create this thread pool once (field, constructor, bean) instead of at each call.}}
+    }
+
+    void handleAll(List<Runnable> tasks) {
+        for (Runnable task : tasks) {
+            ExecutorService executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1)); // Noncompliant {{Create this thread pool once (field, constructor, bean) instead of at each call.}}
+            executor.submit(task);
+            executor.shutdown();
+        }
+    }
+
+    ExecutorService executor() {
+        return Executors.newFixedThreadPool(2); // Noncompliant {{Bound the threads and the queue of this thread pool: use a ThreadPoolExecutor with a bounded queue and a rejection policy.}}
+    }
+
+    @Bean
+    ExecutorService boundedExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(10)); // Compliant: bean, returned
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    void startLazily() {
+        if (lazy == null) {
+            lazy = new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(10)); // Compliant: stored in a field, shut down
+        }
+    }
+
+    void stop() {
+        scheduler.shutdown();
+        lazy.shutdownNow();
+        this.forkJoinPool.shutdown();
+        workers.shutdown();
+        bounded.shutdown();
+        unboundedQueue.shutdown();
+        boundedQueue.shutdown();
+    }
+}
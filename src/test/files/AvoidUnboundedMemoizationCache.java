@@ -0,0 +1,123 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+class AvoidUnboundedMemoizationCache {
+
+    private static final Map<String, Integer> LENGTHS = new ConcurrentHashMap<>(); // Noncompliant [[secondary=+13]] {{Bound this memoization cache: use Caffeine with a maximum size or an expiration.}}
+    private static final Map<Class<?>, String> NAMES = new HashMap<>(); // Noncompliant [[secondary=+19]] {{Bound this memoization cache: use a WeakHashMap to release entries with their keys.}}
+    private static final Map<String, String> UPPER = new HashMap<>(); // Noncompliant [[secondary=+25]] {{Bound this memoization cache: use a LinkedHashMap overriding removeEldestEntry.}}
+
+    // Bounded
+    private static final Map<String, String> LOWER = new HashMap<>();
+    private static final Map<String, String> TRIMMED = new HashMap<>();
+    private static final Map<Class<?>, String> WEAK = new WeakHashMap<>();
+
+    // Not long-lived
+    private final Map<String, Integer> instanceLengths = new HashMap<>();
+
+    int length(String value) {
+        return LENGTHS.computeIfAbsent(value, String::length);
+    }
+
+    String name(Class<?> type) {
+        String name = NAMES.get(type);
+        if (name == null) {
+            name = type.getSimpleName();
+            NAMES.put(type, name);
+        }
+        return name;
+    }
+
+    String upper(String value) {
+        if (!UPPER.containsKey(value)) {
+            UPPER.put(value, value.toUpperCase());
+        }
+        return UPPER.get(value);
+    }
+
+    String lower(String value) {
+        if (LOWER.size() > 1000) {
+            return value.toLowerCase();
+        }
+        return LOWER.computeIfAbsent(value, String::toLowerCase);
+    }
+
+    String trimmed(String value) {
+        return TRIMMED.computeIfAbsent(value, String::trim);
+    }
+
+    void evict(String value) {
+        TRIMMED.remove(value);
+    }
+
+    String weak(Class<?> type) {
+        return WEAK.computeIfAbsent(type, Class::getName);
+    }
+
+    int instanceLength(String value) {
+        return instanceLengths.computeIfAbsent(value, String::length);
+    }
+
+    // Lookup and store in unrelated lambdas of field initializers
+    private static final Map<String, String> REGISTRY = new HashMap<>();
+    private static final Function<String, String> READER = key -> REGISTRY.get(key);
+    private static final Consumer<String> WRITER = key -> REGISTRY.put(key, key);
+
+    @Service
+    static class PriceService {
+        private final Map<String, Double> prices = new HashMap<>(); // Noncompliant [[secondary=+3]] {{Bound this memoization cache: use a LinkedHashMap overriding removeEldestEntry.}}
+
+        double price(String product) {
+            return prices.computeIfAbsent(product, p -> 1.0);
+        }
+    }
+
+    @Component
+    static class BoundedService {
+        private final Map<String, Double> prices = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+                return size() > 100;
+            }
+        };
+
+        double price(String product) {
+            return prices.computeIfAbsent(product, p -> 1.0);
+        }
+    }
+
+    static class NotABean {
+        private final Map<String, Double> prices = new HashMap<>();
+
+        double price(String product) {
+            return prices.computeIfAbsent(product, p -> 1.0);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.sql.DataSource;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class User {
+}
+
+interface UserRepository extends JpaRepository<User, Long> {
+    List<User> findByName(String name);
+
+    List<User> findByName(String name, Pageable pageable);
+
+    Page<User> findByEmail(String email, Pageable pageable);
+
+    Stream<User> streamByName(String name);
+
+    User findFirstByName(String name);
+}
+
+@RestController
+class UserController {
+
+    private final UserRepository repository;
+    private final EntityManager entityManager;
+    private final UserService service;
+
+    UserController(UserRepository repository, EntityManager entityManager, UserService service) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.service = service;
+    }
+
+    @GetMapping("/users")
+    public List<User> all() {
+        return repository.findAll(); // Noncompliant [[secondary=-1]] {{Add a Pageable parameter to this query, or stream its result, to bound the memory used by the request.}}
+    }
+
+    @GetMapping("/users/sorted")
+    public List<User> sorted() {
+        return repository.findAll(Sort.by("name")); // Noncompliant [[secondary=-1]]
+    }
+
+    @GetMapping("/users/named")
+    public List<User> named(String name) {
+        return repository.findByName(name); // Noncompliant [[secondary=-1]]
+    }
+
+    @GetMapping("/users/page")
+    public Page<User> page(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    @GetMapping("/users/named/page")
+    public List<User> namedPage(String name, Pageable pageable) {
+        repository.findByEmail(name, pageable);
+        return repository.findByName(name, pageable);
+    }
+
+    @GetMapping("/users/ids")
+    public List<User> byIds(List<Long> ids) {
+        return repository.findAllById(ids);
+    }
+
+    @GetMapping("/user")
+    public User first(String name) {
+        repository.count();
+        return repository.findFirstByName(name);
+    }
+
+    @GetMapping("/users/jpql")
+    public List<?> jpql() {
+        return entityManager.createQuery("SELECT u FROM User u ORDER BY u.name").getResultList(); // Noncompliant [[secondary=-1]] {{Add a LIMIT or FETCH FIRST clause to this query, or stream its result, to bound the memory used by the request.}}
+    }
+
+    @GetMapping("/users/jpql/limited")
+    public List<?> jpqlLimited() {
+        return entityManager.createQuery("SELECT u FROM User u ORDER BY u.name").setMaxResults(100).getResultList();
+    }
+
+    @GetMapping("/users/sql")
+    public List<?> sql(String name) {
+        return entityManager.createNativeQuery("SELECT * FROM users WHERE name = ? " + "LIMIT 100").getResultList();
+    }
+
+    @GetMapping("/users/count")
+    public Object count() {
+        return entityManager.createNativeQuery("SELECT count(*) FROM users").getSingleResult();
+    }
+
+    @GetMapping("/users/helper")
+    public List<?> helper() {
+        return service.load();
+    }
+
+    @GetMapping("/users/{id}")
+    public Object byId(long id) {
+        return entityManager.createQuery("SELECT u FROM User u WHERE u.id = :id").setParameter("id", id).getResultList();
+    }
+
+    @GetMapping("/users/count/jpql")
+    public List<?> countJpql() {
+        return entityManager.createQuery("SELECT COUNT(u) FROM User u").getResultList();
+    }
+
+    @GetMapping("/users/single")
+    public Object single(String name) {
+        return entityManager.createQuery("SELECT u FROM User u WHERE u.name = :name").setParameter("name", name).getSingleResult();
+    }
+
+    @GetMapping("/users/variable")
+    public List<?> variable() {
+        String sql = "SELECT u FROM User u WHERE u.active = true"; // Noncompliant [[secondary=-1]]
+        Query query = entityManager.createQuery(sql);
+        return query.getResultList();
+    }
+
+    @GetMapping("/users/variable/limited")
+    public List<?> variableLimited() {
+        Query query = entityManager.createQuery("SELECT u FROM User u WHERE u.active = true");
+        query.setMaxResults(50);
+        return query.getResultList();
+    }
+
+    @GetMapping("/users/messages")
+    public String messages(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Select a user from the list, or create one");
+        }
+        return String.format("Selected %s from the list", name);
+    }
+
+    public void notMapped() {
+        repository.findAll();
+    }
+
+    static List<User> staticHelper(UserRepository repository) {
+        return repository.findAll();
+    }
+
+    private List<User> privateMethod() {
+        return repository.findAll();
+    }
+}
+
+@Service
+class UserService {
+
+    private final EntityManager entityManager;
+
+    UserService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<?> load() {
+        return query("SELECT id, name FROM users"); // Noncompliant [[secondary=-64]]
+    }
+
+    private List<?> query(String sql) {
+        return entityManager.createNativeQuery(sql).getResultList();
+    }
+
+    public List<?> batch() {
+        return entityManager.createNativeQuery("SELECT id, name FROM users").getResultList();
+    }
+}
+
+@RestController
+class UserJdbcController {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate limitedJdbcTemplate;
+
+    UserJdbcController(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.limitedJdbcTemplate = new JdbcTemplate(dataSource);
+        limitedJdbcTemplate.setMaxRows(100);
+    }
+
+    @GetMapping("/jdbc/users")
+    public ResultSet all() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT name FROM users ORDER BY name"); // Noncompliant [[secondary=-2]]
+        return statement.executeQuery();
+    }
+
+    @GetMapping("/jdbc/users/limited")
+    public ResultSet limited() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT name FROM users ORDER BY name");
+        statement.setMaxRows(100);
+        return statement.executeQuery();
+    }
+
+    @GetMapping("/jdbc/users/statement")
+    public ResultSet statement() throws SQLException {
+        Statement statement = dataSource.getConnection().createStatement();
+        statement.setLargeMaxRows(100);
+        return statement.executeQuery("SELECT name FROM users ORDER BY name");
+    }
+
+    @GetMapping("/jdbc/users/template")
+    public List<Map<String, Object>> template() {
+        return jdbcTemplate.queryForList("SELECT name FROM users ORDER BY name"); // Noncompliant [[secondary=-1]]
+    }
+
+    @GetMapping("/jdbc/users/template/limited")
+    public List<Map<String, Object>> templateLimited() {
+        return limitedJdbcTemplate.queryForList("SELECT name FROM users ORDER BY name");
+    }
+}
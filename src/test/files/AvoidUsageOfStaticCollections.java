@@ -18,19 +18,69 @@
 package fr.greencodeinitiative.java.checks;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * Not compliant
  */
 public class AvoidUsageOfStaticCollections {
 
-    public static final List<String> LIST = new ArrayList<String>(); // Noncompliant {{Avoid usage of static collections.}}
+    public static final List<String> LIST = new ArrayList<String>(); // Noncompliant [[secondary=+18]] {{Avoid static collections that only grow: use a bounded cache with eviction.}}
+
+    public static final Set<String> SET = new HashSet<String>(); // Noncompliant [[secondary=+17]] {{Avoid static collections that only grow: use a bounded cache with eviction.}}
+
+    public static final Map<String, String> MAP = new HashMap<String, String>(); // Noncompliant [[secondary=+16,+17]] {{Avoid static collections that only grow: use a bounded cache with eviction.}}
+
+    private static final Map<String, Integer> MEMO = new ConcurrentHashMap<>(); // memoization cache : reported by EC533
+
+    private static final Cache<String, String> GUAVA_CACHE = CacheBuilder.newBuilder().build(); // Noncompliant [[secondary=+21]] {{Avoid static collections that only grow: use a bounded cache with eviction.}}
 
-    public static final Set<String> SET = new HashSet<String>(); // Noncompliant {{Avoid usage of static collections.}}
+    private static final LoadingCache<String, Integer> CAFFEINE_CACHE = Caffeine.newBuilder().build(String::length); // Noncompliant [[secondary=+23]] {{Avoid static collections that only grow: use a bounded cache with eviction.}}
 
-    public static final Map<String, String> MAP = new HashMap<String, String>(); // Noncompliant {{Avoid usage of static collections.}}
+    private static String[] history = new String[0]; // Noncompliant [[secondary=+25]] {{Avoid static collections that only grow: use a bounded cache with eviction.}}
 
     public AvoidUsageOfStaticCollections() {
     }
 
+    public void register(String value) {
+        LIST.add(value);
+        AvoidUsageOfStaticCollections.SET.add(value);
+        MAP.put(value, value);
+        MAP.putIfAbsent(value, value);
+    }
+
+    public int memoize(String key) {
+        return MEMO.computeIfAbsent(key, String::length);
+    }
+
+    public String cached(String key) throws Exception {
+        return GUAVA_CACHE.get(key, () -> key);
+    }
+
+    public int loaded(String key) {
+        return CAFFEINE_CACHE.get(key);
+    }
+
+    public void record(String value) {
+        history = Arrays.copyOf(history, history.length + 1);
+        history[history.length - 1] = value;
+    }
+
+    private static final Map<String, String> ITERATED = new HashMap<>(); // Noncompliant [[secondary=+3]] {{Avoid static collections that only grow: use a bounded cache with eviction.}}
+
+    public void iterate(String value) {
+        ITERATED.put(value, value);
+        for (String v : ITERATED.values()) {
+            System.out.println(v);
+        }
+        ITERATED.keySet().forEach(System.out::println);
+        Iterator<String> it = ITERATED.values().iterator();
+        it.next();
+    }
+
 }
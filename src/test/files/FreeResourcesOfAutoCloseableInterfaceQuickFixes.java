@@ -0,0 +1,66 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+class FreeResourcesOfAutoCloseableInterfaceQuickFixes {
+
+    String firstLine(String fileName) throws IOException {
+        BufferedReader reader = null;
+        try { // Noncompliant [[sc=9;el=+12;ec=10;quickfixes=qf1]]
+            // fix@qf1 {{Convert to try-with-resources}}
+            // edit@qf1 [[sl=-1;el=+0;sc=9;ec=9]] {{}}
+            // edit@qf1 [[sc=12;ec=12]] {{ (BufferedReader reader = new BufferedReader(new FileReader(fileName)))}}
+            // edit@qf1 [[sl=+0;el=+6;sc=14;ec=67]] {{}}
+            // edit@qf1 [[sl=+8;el=+12;sc=10;ec=10]] {{}}
+            reader = new BufferedReader(new FileReader(fileName));
+            return reader.readLine();
+        } finally {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+
+    String firstLineCaught(String fileName) {
+        FileReader reader = null;
+        try { // Noncompliant [[sc=9;el=+7;ec=10;quickfixes=!]]
+            reader = new FileReader(fileName);
+            return String.valueOf(reader.read());
+        } catch (IOException e) {
+            return reader == null ? "" : e.getMessage();
+        } finally {
+            reader.close();
+        }
+    }
+
+    String firstLineCaughtIgnored(String fileName) {
+        FileReader reader = null;
+        try { // Noncompliant [[sc=9;el=+7;ec=10;quickfixes=!]]
+            reader = new FileReader(fileName);
+            return String.valueOf(reader.read());
+        } catch (IOException e) {
+            return "";
+        } finally {
+            reader.close();
+        }
+    }
+}
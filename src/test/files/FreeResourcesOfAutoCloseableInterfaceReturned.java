@@ -0,0 +1,132 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+class FreeResourcesOfAutoCloseableInterfaceReturned {
+
+    private DataSource dataSource;
+    private Connection connection;
+
+    public long countLinesKO(Path path) throws IOException {
+        return Files.lines(path).count(); // Noncompliant {{Use try-with-resources to close the AutoCloseable returned by this method.}}
+    }
+
+    public List<String> filterLinesKO(Path path) throws IOException {
+        Stream<String> lines = Files.lines(path); // Noncompliant {{Use try-with-resources to close the AutoCloseable returned by this method.}}
+        return lines.filter(line -> !line.isEmpty()).collect(Collectors.toList());
+    }
+
+    public long countFilesKO(Path path) throws IOException {
+        return Files.list(path).filter(Files::isRegularFile).count(); // Noncompliant {{Use try-with-resources to close the AutoCloseable returned by this method.}}
+    }
+
+    public String readKO(Path path) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(path); // Noncompliant [[secondary=+2]] {{Use try-with-resources to close the AutoCloseable returned by this method.}}
+        String line = reader.readLine();
+        reader.close();
+        return line;
+    }
+
+    public int queryKO(String sql) throws SQLException {
+        Connection connection = dataSource.getConnection(); // Noncompliant {{Use try-with-resources to close the AutoCloseable returned by this method.}}
+        PreparedStatement statement = connection.prepareStatement(sql); // Noncompliant {{Use try-with-resources to close the AutoCloseable returned by this method.}}
+        ResultSet resultSet = statement.executeQuery(); // Noncompliant {{Use try-with-resources to close the AutoCloseable returned by this method.}}
+        return resultSet.getInt(1);
+    }
+
+    public int chainedQueryKO(Connection connection, String sql) throws SQLException {
+        return connection.prepareStatement(sql).executeQuery().getInt(1); // Noncompliant {{Use try-with-resources to close the AutoCloseable returned by this method.}}
+    }
+
+    public long countLinesOK(Path path) throws IOException {
+        try (Stream<String> lines = Files.lines(path)) {
+            return lines.count();
+        }
+    }
+
+    public long walkOK(Path path) throws IOException {
+        Stream<Path> paths = Files.walk(path);
+        try (paths) {
+            return paths.count();
+        }
+    }
+
+    public int queryOK(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            ResultSet resultSet = statement.executeQuery();
+            return resultSet.getInt(1);
+        }
+    }
+
+    public String readInFinallyOK(Path path) throws IOException {
+        BufferedReader reader = null;
+        try {
+            reader = Files.newBufferedReader(path);
+            return reader.readLine();
+        } finally {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+
+    public Stream<String> returnedOK(Path path) throws IOException {
+        return Files.lines(path).map(String::trim);
+    }
+
+    public Stream<String> returnedVariableOK(Path path) throws IOException {
+        Stream<String> lines = Files.lines(path);
+        return lines;
+    }
+
+    public long flatMapOK(List<Path> paths) {
+        return paths.stream().flatMap(path -> {
+            try {
+                return Files.lines(path);
+            } catch (IOException e) {
+                return Stream.empty();
+            }
+        }).count();
+    }
+
+    public void storedOK() throws SQLException {
+        connection = dataSource.getConnection();
+    }
+
+    public void passedOK(Path path) throws IOException {
+        consume(Files.newBufferedReader(path));
+    }
+
+    private void consume(BufferedReader reader) {
+    }
+}
@@ -18,6 +18,13 @@
 package fr.greencodeinitiative.java.checks;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
 
 /**
  * Compliant
@@ -29,6 +36,72 @@ public class GoodUsageOfStaticCollections {
     public final Set<String> SET = new HashSet<String>(); // Compliant
     public final Map<String, String> MAP = new HashMap<String, String>(); // Compliant
 
+    // Immutable
+    public static final List<String> CONSTANTS = List.of("a", "b");
+    public static final Set<String> UNMODIFIABLE = Collections.unmodifiableSet(new HashSet<>(CONSTANTS));
+    public static final Map<String, Integer> LOOKUP = ImmutableMap.of("a", 1);
+    public static final List<String> FIXED_SIZE = Arrays.asList("a", "b");
+    public static final int[] TABLE = {1, 2, 3};
+
+    // Only filled when initializing the class
+    private static final Map<String, String> ALIASES = new HashMap<>();
+
+    static {
+        ALIASES.put("a", "b");
+    }
+
+    // Bounded
+    private static final Cache<String, String> GUAVA_CACHE = CacheBuilder.newBuilder().maximumSize(100).build();
+    private static final LoadingCache<String, Integer> CAFFEINE_CACHE = Caffeine.newBuilder()
+            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .build(String::length);
+    private static final Map<String, String> WEAK = new WeakHashMap<>();
+    private static final Map<String, String> LRU = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > 100;
+        }
+    };
+
+    // Shrunk
+    private static final Deque<String> QUEUE = new ArrayDeque<>();
+    private static final Map<String, String> SESSIONS = new HashMap<>();
+    private static List<String> buffer = new ArrayList<>();
+    private static final Map<String, String> EXPIRED = new HashMap<>();
+    private static final List<String> WINDOW = new ArrayList<>();
+
+    // Not written
+    private static final Map<String, String> READ_ONLY = new HashMap<>();
+
     private GoodUsageOfStaticCollections() {
     }
+
+    public void use(String value) throws Exception {
+        GUAVA_CACHE.get(value, () -> value);
+        CAFFEINE_CACHE.get(value);
+        WEAK.put(value, value);
+        LRU.put(value, value);
+        QUEUE.offer(value);
+        QUEUE.poll();
+        SESSIONS.put(value, value);
+        SESSIONS.keySet().removeIf(String::isEmpty);
+        buffer.add(value);
+        READ_ONLY.get(value);
+    }
+
+    public void flush() {
+        buffer = new ArrayList<>();
+    }
+
+    public void expire(String value) {
+        EXPIRED.put(value, value);
+        Iterator<Map.Entry<String, String>> it = EXPIRED.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().isEmpty()) {
+                it.remove();
+            }
+        }
+        WINDOW.add(value);
+        WINDOW.subList(0, WINDOW.size() / 2).clear();
+    }
 }
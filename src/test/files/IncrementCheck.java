@@ -15,13 +15,19 @@
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntSupplier;
+
 class MyClass {
     MyClass(MyClass mc) {
     }
 
     int foo1() {
         int counter = 0;
-        return counter++; // Noncompliant {{Use ++i instead of i++}}
+        return counter++; // primitive : compiled as ++counter
     }
 
     int foo11() {
@@ -31,7 +37,7 @@ class MyClass {
 
     void foo2(int value) {
         int counter = 0;
-        counter++; // Noncompliant {{Use ++i instead of i++}}
+        counter++;
     }
 
     void foo22(int value) {
@@ -50,7 +56,7 @@ class MyClass {
     }
 
     void foo50(int value) {
-        for (int i=0; i < 10; i++) { // Noncompliant {{Use ++i instead of i++}}
+        for (int i=0; i < 10; i++) {
             System.out.println(i);
         }
     }
@@ -60,4 +66,29 @@ class MyClass {
             System.out.println(i);
         }
     }
-}
\ No newline at end of file
+
+    Integer boxedUsed(List<Integer> values) {
+        Integer counter = 0;
+        values.add(counter++); // Noncompliant {{Use a primitive counter or an AtomicInteger instead of incrementing a boxed value}}
+        Long total = 0L;
+        long previous = (total++); // Noncompliant {{Use a primitive counter or an AtomicInteger instead of incrementing a boxed value}}
+        return counter++; // Noncompliant {{Use a primitive counter or an AtomicInteger instead of incrementing a boxed value}}
+    }
+
+    void boxedDiscarded() {
+        Integer counter = 0;
+        counter++;
+        for (Long i = 0L; i < 10; i++) {
+            System.out.println(i);
+        }
+    }
+
+    int atomicDiscarded(AtomicInteger counter, AtomicLong total, AtomicLongArray totals) {
+        counter.getAndIncrement(); // Noncompliant {{Use incrementAndGet() instead of getAndIncrement() when the result is not used}}
+        total.getAndIncrement(); // Noncompliant {{Use incrementAndGet() instead of getAndIncrement() when the result is not used}}
+        totals.getAndIncrement(0); // Noncompliant {{Use incrementAndGet() instead of getAndIncrement() when the result is not used}}
+        counter.incrementAndGet();
+        IntSupplier supplier = () -> counter.getAndIncrement();
+        return counter.getAndIncrement();
+    }
+}
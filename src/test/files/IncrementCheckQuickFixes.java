@@ -0,0 +1,33 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IncrementCheckQuickFixes {
+
+    void increment(AtomicInteger counter) {
+        counter.getAndIncrement(); // Noncompliant [[sc=9;ec=34;quickfixes=qf1]]
+        // fix@qf1 {{Replace with incrementAndGet()}}
+        // edit@qf1 [[sc=17;ec=32]] {{incrementAndGet}}
+    }
+
+    Integer increment(Integer value) {
+        return value++; // Noncompliant [[sc=16;ec=23;quickfixes=!]]
+    }
+}
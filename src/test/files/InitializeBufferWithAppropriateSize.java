@@ -45,4 +45,8 @@ class InitializeBufferWithAppropriateSize {
 	public void testBuilderNonCompliant() {
 		StringBuilder stringBuilder = new StringBuilder(); // Noncompliant {{Initialize StringBuilder or StringBuffer with appropriate size}}
 	}
+
+	public String testBuilderNonCompliantAppended(String name) {
+		return new StringBuilder().append("Hello ").append(name).toString(); // Noncompliant {{Initialize StringBuilder or StringBuffer with appropriate size}}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+class InitializeBufferWithAppropriateSizeQuickFixes {
+
+    String chained(String name) {
+        return new StringBuilder().append("Hello ").append(name).append('!').toString(); // Noncompliant [[sc=16;ec=35;quickfixes=qf1]]
+        // fix@qf1 {{Initialize with a capacity of 23}}
+        // edit@qf1 [[sc=34;ec=34]] {{23}}
+    }
+
+    String variable(String first, String last) {
+        StringBuilder builder = new StringBuilder(); // Noncompliant [[sc=33;ec=52;quickfixes=qf2]]
+        // fix@qf2 {{Initialize with a capacity of 34}}
+        // edit@qf2 [[sc=51;ec=51]] {{34}}
+        builder.append(first).append(", ");
+        builder.append(last);
+        return builder.toString();
+    }
+
+    String loop(String[] values) {
+        StringBuilder builder = new StringBuilder(); // Noncompliant [[sc=33;ec=52;quickfixes=!]]
+        for (String value : values) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    String escaping(String value) {
+        StringBuilder builder = new StringBuilder(); // Noncompliant [[sc=33;ec=52;quickfixes=!]]
+        append(builder, value);
+        return builder.toString();
+    }
+
+    private void append(StringBuilder builder, String value) {
+        builder.append(value);
+    }
+}
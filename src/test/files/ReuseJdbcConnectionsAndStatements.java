@@ -0,0 +1,110 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import javax.sql.DataSource;
+
+class ReuseJdbcConnectionsAndStatements {
+
+    private static final String UPDATE = "UPDATE users SET name = ? WHERE id = ?";
+
+    private DataSource dataSource;
+
+    void connectionsInLoop(List<String> names) throws SQLException {
+        for (String name : names) {
+            try (Connection connection = dataSource.getConnection()) { // Noncompliant {{Get the connection once before the loop.}}
+                connection.isValid(1);
+            }
+        }
+        int i = 0;
+        while (i++ < 10) {
+            Connection connection = DriverManager.getConnection("jdbc:h2:mem:"); // Noncompliant {{Get the connection once before the loop.}}
+            connection.close();
+        }
+        for (Connection connection = dataSource.getConnection(); !connection.isClosed(); ) {
+            connection.close();
+        }
+    }
+
+    void tasksCreatedInLoop(List<String> names, List<Callable<Connection>> tasks) {
+        for (String name : names) {
+            tasks.add(() -> dataSource.getConnection()); // executed later, once per task
+        }
+    }
+
+    void statementsInLoop(Connection connection, List<String> queries) throws SQLException {
+        for (String query : queries) {
+            try (Statement statement = connection.createStatement()) { // Noncompliant {{Create the statement once before the loop and reuse it.}}
+                statement.execute(query);
+            }
+        }
+    }
+
+    void preparedInLoop(Connection connection, List<String> names) throws SQLException {
+        for (String name : names) {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) { // Noncompliant {{Prepare this statement once before the loop and re-bind its parameters.}}
+                statement.setString(1, name);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement("DELETE FROM users WHERE name = ?")) { // Noncompliant {{Prepare this statement once before the loop and re-bind its parameters.}}
+                statement.setString(1, name);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + name)) {
+                statement.executeQuery();
+            }
+        }
+    }
+
+    void preparedOnce(Connection connection, List<String> names) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            for (String name : names) {
+                statement.setString(1, name);
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    void callInLoop(Connection connection, List<String> names) throws SQLException {
+        for (String name : names) {
+            rename(connection, name);
+        }
+    }
+
+    void rename(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE)) { // Noncompliant [[secondary=-5]] {{Prepare this statement once before the loops calling this method and re-bind its parameters.}}
+            statement.setString(1, name);
+            statement.executeUpdate();
+        }
+    }
+
+    void notCalledInLoop(Connection connection, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            statement.setString(1, name);
+            statement.executeUpdate();
+        }
+    }
+}
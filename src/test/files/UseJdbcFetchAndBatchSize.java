@@ -0,0 +1,82 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+class UseJdbcFetchAndBatchSize {
+
+    void readWithoutFetchSize(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id, name FROM users");
+             ResultSet rs = statement.executeQuery()) { // Noncompliant [[secondary=+1]] {{Call setFetchSize() on the statement to read the rows by chunks of a known size.}}
+            while (rs.next()) {
+                send(rs.getString("name"));
+            }
+        }
+    }
+
+    void readWithoutStatementVariable(Connection connection) throws SQLException {
+        ResultSet rs = connection.createStatement().executeQuery("SELECT id, name FROM users"); // Noncompliant [[secondary=+2]]
+        int count = 0;
+        while (rs.next()) {
+            count++;
+        }
+        send(count);
+    }
+
+    void readWithFetchSize(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id, name FROM users")) {
+            statement.setFetchSize(500);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    send(rs.getString("name"));
+                }
+            }
+        }
+    }
+
+    void readOneRow(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT count(*) FROM users")) {
+            if (rs.next()) {
+                send(rs.getInt(1));
+            }
+        }
+    }
+
+    void persistInLoop(EntityManager entityManager, List<Object> users) {
+        for (Object user : users) {
+            entityManager.persist(user); // Noncompliant {{Configure hibernate.jdbc.batch_size so that the entities persisted in this loop are sent in batches.}}
+        }
+        users.forEach(user -> entityManager.merge(user));
+    }
+
+    void persistOnce(EntityManager entityManager, Object user) {
+        entityManager.persist(user);
+    }
+
+    private void send(Object value) {
+    }
+}
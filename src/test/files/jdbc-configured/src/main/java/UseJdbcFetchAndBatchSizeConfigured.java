@@ -0,0 +1,47 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+class UseJdbcFetchAndBatchSizeConfigured {
+
+    void read(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id, name FROM users");
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                send(rs.getString("name"));
+            }
+        }
+    }
+
+    void persistInLoop(EntityManager entityManager, List<Object> users) {
+        for (Object user : users) {
+            entityManager.persist(user);
+        }
+    }
+
+    private void send(Object value) {
+    }
+}
@@ -74,9 +74,26 @@ class JavaRulesDefinitionTest {
     void assertRuleProperties() {
         Rule rule = repository.rule("EC67");
         assertThat(rule).isNotNull();
-        assertThat(rule.name()).isEqualTo("Use ++i instead of i++");
+        assertThat(rule.name()).isEqualTo("Avoid incrementing boxed numbers and discarding getAndIncrement() results");
+        assertThat(rule.htmlDescription()).contains("Integer count = 0;").doesNotContain("Use ++i");
         assertThat(rule.debtRemediationFunction().type()).isEqualTo(Type.CONSTANT_ISSUE);
         assertThat(rule.type()).isEqualTo(RuleType.CODE_SMELL);
+        assertThat(rule.param("aggregationThreshold")).isNotNull();
+        assertThat(rule.param("aggregationThreshold").defaultValue()).isEqualTo("0");
+    }
+
+    @Test
+    void testOverriddenStaticCollectionsMetadata() {
+        Rule rule = repository.rule("EC76");
+        assertThat(rule.name()).isEqualTo("Avoid static collections that only grow");
+        assertThat(rule.htmlDescription()).contains("SESSIONS.remove(session);");
+    }
+
+    @Test
+    void testThreadPoolFactoryClassesParameter() {
+        Rule rule = repository.rule("EC542");
+        assertThat(rule.param("factoryClasses")).isNotNull();
+        assertThat(rule.param("factoryClasses").defaultValue()).isNullOrEmpty();
     }
 
     @Test
@@ -33,4 +33,12 @@ class ArrayCopyCheckTest {
                 .verifyIssues();
     }
 
+    @Test
+    void testMultiDimensional() {
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/ArrayCopyCheckMultiDimensional.java")
+                .withCheck(new ArrayCopyCheck())
+                .verifyIssues();
+    }
+
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ package fr.greencodeinitiative.java.checks;
 
 import org.junit.jupiter.api.Test;
 import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.java.checks.verifier.internal.InternalCheckVerifier;
 
 class AvoidGettingSizeCollectionInLoopTest {
     @Test
@@ -76,4 +77,14 @@ class AvoidGettingSizeCollectionInLoopTest {
                 .withCheck(new AvoidGettingSizeCollectionInLoop())
                 .verifyNoIssues();
     }
+
+    @Test
+    void testQuickFixes() {
+        InternalCheckVerifier.newInstance()
+                .onFile("src/test/files/AvoidGettingSizeCollectionInLoopQuickFixes.java")
+                .withCheck(new AvoidGettingSizeCollectionInLoop())
+                .withQuickFixes()
+                .verifyIssues();
+    }
+
 }
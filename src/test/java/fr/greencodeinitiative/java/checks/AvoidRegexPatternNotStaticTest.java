@@ -19,6 +19,7 @@ package fr.greencodeinitiative.java.checks;
 
 import org.junit.jupiter.api.Test;
 import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.java.checks.verifier.internal.InternalCheckVerifier;
 
 class AvoidRegexPatternNotStaticTest {
 
@@ -41,4 +42,14 @@ class AvoidRegexPatternNotStaticTest {
                 .withCheck(new AvoidRegexPatternNotStatic())
                 .verifyNoIssues();
     }
+
+    @Test
+    void testQuickFixes() {
+        InternalCheckVerifier.newInstance()
+                .onFile("src/test/files/AvoidRegexPatternNotStaticQuickFixes.java")
+                .withCheck(new AvoidRegexPatternNotStatic())
+                .withQuickFixes()
+                .verifyIssues();
+    }
+
 }
@@ -30,4 +30,12 @@ class AvoidSQLRequestInLoopCheckTest {
                 .verifyIssues();
     }
 
+    @Test
+    void reportedOnceWithReuseJdbcConnectionsAndStatements() {
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/AvoidSQLRequestInLoopAndReuseJdbc.java")
+                .withChecks(new AvoidSQLRequestInLoop(), new ReuseJdbcConnectionsAndStatements())
+                .verifyIssues();
+    }
+
 }
\ No newline at end of file
@@ -17,6 +17,7 @@
  */
 package fr.greencodeinitiative.java.checks;
 
+import fr.greencodeinitiative.java.utils.FilesUtils;
 import org.junit.jupiter.api.Test;
 import org.sonar.java.checks.verifier.CheckVerifier;
 
@@ -27,6 +28,7 @@ class AvoidUsageOfStaticCollectionsTests {
         CheckVerifier.newVerifier()
                 .onFile("src/test/files/AvoidUsageOfStaticCollections.java")
                 .withCheck(new AvoidUsageOfStaticCollections())
+                .withClassPath(FilesUtils.getClassPath("target/test-jars"))
                 .verifyIssues();
     }
 
@@ -35,6 +37,7 @@ class AvoidUsageOfStaticCollectionsTests {
         CheckVerifier.newVerifier()
                 .onFile("src/test/files/GoodUsageOfStaticCollections.java")
                 .withCheck(new AvoidUsageOfStaticCollections())
+                .withClassPath(FilesUtils.getClassPath("target/test-jars"))
                 .verifyNoIssues();
     }
 
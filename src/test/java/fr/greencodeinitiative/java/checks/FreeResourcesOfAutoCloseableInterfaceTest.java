@@ -19,6 +19,7 @@ package fr.greencodeinitiative.java.checks;
 
 import org.junit.jupiter.api.Test;
 import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.java.checks.verifier.internal.InternalCheckVerifier;
 
 class FreeResourcesOfAutoCloseableInterfaceTest {
 
@@ -38,4 +39,22 @@ class FreeResourcesOfAutoCloseableInterfaceTest {
                 .withCheck(new FreeResourcesOfAutoCloseableInterface())
                 .verifyIssues();
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_returned_resources() {
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/FreeResourcesOfAutoCloseableInterfaceReturned.java")
+                .withCheck(new FreeResourcesOfAutoCloseableInterface())
+                .verifyIssues();
+    }
+
+    @Test
+    void testQuickFixes() {
+        InternalCheckVerifier.newInstance()
+                .onFile("src/test/files/FreeResourcesOfAutoCloseableInterfaceQuickFixes.java")
+                .withCheck(new FreeResourcesOfAutoCloseableInterface())
+                .withQuickFixes()
+                .verifyIssues();
+    }
+
+}
@@ -19,6 +19,7 @@ package fr.greencodeinitiative.java.checks;
 
 import org.junit.jupiter.api.Test;
 import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.java.checks.verifier.internal.InternalCheckVerifier;
 
 class IncrementCheckTest {
 
@@ -30,4 +31,23 @@ class IncrementCheckTest {
                 .verifyIssues();
     }
 
-}
\ No newline at end of file
+    @Test
+    void testAggregated() {
+        IncrementCheck check = new IncrementCheck();
+        check.aggregationThreshold = 2;
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/IncrementCheckAggregated.java")
+                .withCheck(check)
+                .verifyIssues();
+    }
+
+    @Test
+    void testQuickFixes() {
+        InternalCheckVerifier.newInstance()
+                .onFile("src/test/files/IncrementCheckQuickFixes.java")
+                .withCheck(new IncrementCheck())
+                .withQuickFixes()
+                .verifyIssues();
+    }
+
+}
@@ -19,6 +19,7 @@ package fr.greencodeinitiative.java.checks;
 
 import org.junit.jupiter.api.Test;
 import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.java.checks.verifier.internal.InternalCheckVerifier;
 
 class InitializeBufferWithAppropriateSizeTest {
 
@@ -30,4 +31,33 @@ class InitializeBufferWithAppropriateSizeTest {
                 .verifyIssues();
     }
 
-}
\ No newline at end of file
+    @Test
+    void testAggregated() {
+        InitializeBufferWithAppropriateSize check = new InitializeBufferWithAppropriateSize();
+        check.aggregationThreshold = 2;
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/InitializeBufferWithAppropriateSizeAggregated.java")
+                .withCheck(check)
+                .verifyIssues();
+    }
+
+    @Test
+    void testBelowAggregationThreshold() {
+        InitializeBufferWithAppropriateSize check = new InitializeBufferWithAppropriateSize();
+        check.aggregationThreshold = 10;
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/InitializeBufferWithAppropriateSize.java")
+                .withCheck(check)
+                .verifyIssues();
+    }
+
+    @Test
+    void testQuickFixes() {
+        InternalCheckVerifier.newInstance()
+                .onFile("src/test/files/InitializeBufferWithAppropriateSizeQuickFixes.java")
+                .withCheck(new InitializeBufferWithAppropriateSize())
+                .withQuickFixes()
+                .verifyIssues();
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import fr.greencodeinitiative.java.utils.FilesUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.java.checks.verifier.CheckVerifier;
+
+class UseJdbcFetchAndBatchSizeTest {
+
+    @Test
+    void test() {
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/UseJdbcFetchAndBatchSize.java")
+                .withCheck(new UseJdbcFetchAndBatchSize())
+                .withClassPath(FilesUtils.getClassPath("target/test-jars"))
+                .verifyIssues();
+    }
+
+    @Test
+    void testConfigured() {
+        // settings read in src/test/files/jdbc-configured/src/main/resources/application.properties
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/jdbc-configured/src/main/java/UseJdbcFetchAndBatchSizeConfigured.java")
+                .withCheck(new UseJdbcFetchAndBatchSize())
+                .withClassPath(FilesUtils.getClassPath("target/test-jars"))
+                .verifyNoIssues();
+    }
+
+    @Test
+    void testConfiguredInSrcPackage() {
+        // the module is found through src/main/java, not through the package named src
+        CheckVerifier.newVerifier()
+                .onFile("src/test/files/jdbc-configured/src/main/java/src/UseJdbcFetchAndBatchSizeInSrcPackage.java")
+                .withCheck(new UseJdbcFetchAndBatchSize())
+                .withClassPath(FilesUtils.getClassPath("target/test-jars"))
+                .verifyNoIssues();
+    }
+
+    @Test
+    void testSettingsReadAgainWhenModified(@TempDir Path module) throws IOException {
+        // in SonarLint, the same check analyzes the files while the settings are edited
+        UseJdbcFetchAndBatchSize check = new UseJdbcFetchAndBatchSize();
+        Path sources = Files.createDirectories(module.resolve("src/main/java"));
+        Path properties = Files.createDirectories(module.resolve("src/main/resources")).resolve("application.properties");
+        Files.copy(Paths.get("src/test/files/jdbc-configured/src/main/resources/application.properties"), properties);
+        Path configured = Files.copy(Paths.get("src/test/files/jdbc-configured/src/main/java/UseJdbcFetchAndBatchSizeConfigured.java"),
+                sources.resolve("UseJdbcFetchAndBatchSizeConfigured.java"));
+        Path notConfigured = Files.copy(Paths.get("src/test/files/UseJdbcFetchAndBatchSize.java"),
+                sources.resolve("UseJdbcFetchAndBatchSize.java"));
+        CheckVerifier.newVerifier()
+                .onFile(configured.toString())
+                .withCheck(check)
+                .withClassPath(FilesUtils.getClassPath("target/test-jars"))
+                .verifyNoIssues();
+
+        FileTime modified = Files.getLastModifiedTime(properties);
+        Files.writeString(properties, "spring.datasource.url=jdbc:postgresql://localhost/db");
+        Files.setLastModifiedTime(properties, FileTime.fromMillis(modified.toMillis() + 1000));
+        CheckVerifier.newVerifier()
+                .onFile(notConfigured.toString())
+                .withCheck(check)
+                .withClassPath(FilesUtils.getClassPath("target/test-jars"))
+                .verifyIssues();
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.checks.enums;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static fr.greencodeinitiative.java.utils.JavaParserTestUtils.collect;
+import static fr.greencodeinitiative.java.utils.JavaParserTestUtils.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConstOrLiteralDeclareTest {
+
+    private static CompilationUnitTree tree;
+
+    @BeforeAll
+    static void parseSource() {
+        tree = parse("import java.math.*;\n" +
+                "import java.time.*;\n" +
+                "import java.util.Optional;\n" +
+                "class A {\n" +
+                "  Object[] constants = { Integer.MAX_VALUE, BigDecimal.TEN, BigInteger.TWO, Duration.ZERO,\n" +
+                "      LocalTime.NOON, ZoneOffset.UTC, Instant.EPOCH };\n" +
+                "  Object[] others = { Integer.SIZE, LocalTime.now().getHour(), this.constants };\n" +
+                "  Object[] factories = { Integer.valueOf(1), BigInteger.valueOf(2L), Optional.empty(),\n" +
+                "      Duration.ofSeconds(3), LocalDate.of(2024, 1, 1) };\n" +
+                "  Object[] calls = { Integer.toString(1), Optional.of(\"a\"), LocalDate.now(), \"a\".concat(\"b\") };\n" +
+                "}");
+    }
+
+    @Test
+    void wellKnownConstants() {
+        List<MemberSelectExpressionTree> members = collect(tree, Tree.Kind.MEMBER_SELECT, MemberSelectExpressionTree.class);
+        assertThat(members.stream().filter(ConstOrLiteralDeclare::isWellKnownConstant).map(m -> m.identifier().name()))
+                .containsExactly("MAX_VALUE", "TEN", "TWO", "ZERO", "NOON", "UTC", "EPOCH");
+    }
+
+    @Test
+    void factoryMethods() {
+        List<MethodInvocationTree> invocations = collect(tree, Tree.Kind.METHOD_INVOCATION, MethodInvocationTree.class);
+        assertThat(invocations.stream().filter(ConstOrLiteralDeclare::isFactoryMethod).map(m -> m.methodSymbol().name()))
+                .containsExactly("valueOf", "valueOf", "empty", "ofSeconds", "of");
+    }
+
+    @Test
+    void fromClassName() {
+        assertThat(ConstOrLiteralDeclare.fromClassName("java.math.BigInteger")).isEqualTo(ConstOrLiteralDeclare.BIGINTEGER);
+        assertThat(ConstOrLiteralDeclare.fromClassName("java.util.Optional")).isEqualTo(ConstOrLiteralDeclare.OPTIONAL);
+        assertThat(ConstOrLiteralDeclare.fromClassName("java.lang.String")).isNull();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fr.greencodeinitiative.java.checks.AvoidBlockingCallsInSynchronized;
+import fr.greencodeinitiative.java.checks.IncrementCheck;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.SonarProduct;
+import org.sonar.api.SonarRuntime;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.config.Configuration;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.model.DefaultModuleScannerContext;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.ModuleScannerContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_SMART_NULLS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalysisBudgetTest {
+
+    private static final long MILLISECOND = 1_000_000;
+
+    private final JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    void cost() {
+        assertThat(AnalysisBudget.getCost(AvoidBlockingCallsInSynchronized.class)).isEqualTo(AnalysisCost.Level.EXPENSIVE);
+        assertThat(AnalysisBudget.getCost(IncrementCheck.class)).isEqualTo(AnalysisCost.Level.CHEAP);
+    }
+
+    @Test
+    void skipsExpensiveCheckOnceExceeded() {
+        AnalysisBudget budget = new AnalysisBudget(new AvoidBlockingCallsInSynchronized(), moduleContext -> 10, clock::get);
+
+        assertThat(budget.run(context, work(6))).isTrue();
+        assertThat(budget.isExceeded()).isFalse();
+        assertThat(budget.run(context, work(6))).isTrue();
+        assertThat(budget.isExceeded()).isTrue();
+        assertThat(budget.run(context, work(6))).isFalse();
+        assertThat(runs).hasValue(2);
+
+        budget.reset();
+        assertThat(budget.isExceeded()).isFalse();
+        assertThat(budget.run(context, work(6))).isTrue();
+        assertThat(runs).hasValue(3);
+    }
+
+    @Test
+    void neverSkipsCheapCheck() {
+        AnalysisBudget budget = new AnalysisBudget(new IncrementCheck(), moduleContext -> 10, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(budget.run(context, work(6))).isTrue();
+        }
+        assertThat(budget.isExceeded()).isFalse();
+        assertThat(runs).hasValue(5);
+    }
+
+    @Test
+    void unlimitedBudget() {
+        AnalysisBudget budget = new AnalysisBudget(new AvoidBlockingCallsInSynchronized(), moduleContext -> 0, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(budget.run(context, work(6))).isTrue();
+        }
+        assertThat(budget.isExceeded()).isFalse();
+    }
+
+    @Test
+    void budgetReadOncePerFile() {
+        AtomicInteger reads = new AtomicInteger();
+        AnalysisBudget budget = new AnalysisBudget(new AvoidBlockingCallsInSynchronized(), moduleContext -> {
+            reads.incrementAndGet();
+            return 10;
+        }, clock::get);
+
+        budget.run(context, work(1));
+        budget.run(context, work(1));
+        assertThat(reads).hasValue(1);
+        budget.reset();
+        budget.run(context, work(1));
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void budgetOnlyInSonarLint() {
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getLong(AnalysisBudget.BUDGET_PROPERTY)).thenReturn(Optional.of(50L));
+        assertThat(AnalysisBudget.getBudget(moduleContext(SonarProduct.SONARLINT, configuration))).isEqualTo(50);
+        assertThat(AnalysisBudget.getBudget(moduleContext(SonarProduct.SONARLINT, mock(Configuration.class, RETURNS_SMART_NULLS))))
+                .isEqualTo(AnalysisBudget.DEFAULT_BUDGET);
+        assertThat(AnalysisBudget.getBudget(moduleContext(SonarProduct.SONARQUBE, configuration))).isZero();
+        assertThat(AnalysisBudget.getBudget(context)).isZero();
+    }
+
+    private static ModuleScannerContext moduleContext(SonarProduct product, Configuration configuration) {
+        SonarRuntime runtime = mock(SonarRuntime.class);
+        when(runtime.getProduct()).thenReturn(product);
+        SensorContext sensorContext = mock(SensorContext.class);
+        when(sensorContext.runtime()).thenReturn(runtime);
+        when(sensorContext.config()).thenReturn(configuration);
+        SonarComponents sonarComponents = mock(SonarComponents.class);
+        when(sonarComponents.context()).thenReturn(sensorContext);
+        return new DefaultModuleScannerContext(sonarComponents, JavaVersionImpl.fromString("11"), false, null);
+    }
+
+    private Runnable work(long millis) {
+        return () -> {
+            runs.incrementAndGet();
+            clock.addAndGet(millis * MILLISECOND);
+        };
+    }
+}
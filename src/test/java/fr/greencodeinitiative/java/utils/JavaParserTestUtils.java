@@ -0,0 +1,68 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.sonar.java.model.JParser;
+import org.sonar.java.model.JParserConfig;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.ListTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Parses Java sources with semantic (JDK and test jars on classpath) to get trees outside of a check verifier
+ */
+public final class JavaParserTestUtils {
+
+    private JavaParserTestUtils() {
+    }
+
+    public static CompilationUnitTree parse(String source) {
+        JParserConfig config = JParserConfig.Mode.FILE_BY_FILE.create(JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION,
+                FilesUtils.getClassPath("target/test-jars"));
+        String version = Integer.toString(JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION.asInt());
+        return JParser.parse(config.astParser(), version, "Test.java", source);
+    }
+
+    /**
+     * @return all trees of the given kind, in visit order
+     */
+    public static <T extends Tree> List<T> collect(Tree root, Tree.Kind kind, Class<T> type) {
+        List<T> result = new ArrayList<>();
+        root.accept(new BaseTreeVisitor() {
+            @Override
+            protected void scan(@Nullable Tree tree) {
+                if (tree instanceof ListTree) {
+                    // elements of a list are not dispatched through this method by the list itself
+                    ((ListTree<?>) tree).forEach(this::scan);
+                    return;
+                }
+                if (tree != null && tree.is(kind)) {
+                    result.add(type.cast(tree));
+                }
+                super.scan(tree);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JdbcSettingsTest {
+
+    @Test
+    void empty() {
+        JdbcSettings settings = new JdbcSettings();
+        settings.addProperties("application.properties", "spring.datasource.url=jdbc:postgresql://localhost/db\n");
+        assertThat(settings.isBatchSizeConfigured()).isFalse();
+        assertThat(settings.isFetchSizeConfigured()).isFalse();
+        assertThat(settings.getFiles()).containsExactly("application.properties");
+    }
+
+    @Test
+    void properties() {
+        JdbcSettings settings = new JdbcSettings();
+        settings.addProperties("application.properties", "spring.jpa.properties.hibernate.jdbc.batch_size=50\n"
+                + "spring.jdbc.template.fetch-size=500\n");
+        assertThat(settings.isBatchSizeConfigured()).isTrue();
+        assertThat(settings.isFetchSizeConfigured()).isTrue();
+    }
+
+    @Test
+    void yaml() {
+        JdbcSettings settings = new JdbcSettings();
+        settings.addYaml("application.yml", "spring:\n"
+                + "  datasource:\n"
+                + "    url: jdbc:mysql://localhost/db?useCursorFetch=true&defaultFetchSize=500\n"
+                + "  jpa:\n"
+                + "    # comment\n"
+                + "    properties:\n"
+                + "      hibernate:\n"
+                + "        jdbc:\n"
+                + "          batch_size: 50\n");
+        assertThat(settings.isBatchSizeConfigured()).isTrue();
+        assertThat(settings.isFetchSizeConfigured()).isTrue();
+    }
+
+    @Test
+    void yamlSiblings() {
+        JdbcSettings settings = new JdbcSettings();
+        settings.addYaml("application.yml", "hibernate:\n"
+                + "  jdbc:\n"
+                + "    time_zone: UTC\n"
+                + "  batch_size: 50\n");
+        assertThat(settings.isBatchSizeConfigured()).isFalse();
+    }
+
+    @Test
+    void persistenceXml() {
+        JdbcSettings settings = new JdbcSettings();
+        settings.addPersistenceXml("persistence.xml", "<persistence><persistence-unit name=\"pu\"><properties>\n"
+                + "  <property name=\"hibernate.jdbc.batch_size\" value=\"50\"/>\n"
+                + "  <property name='hibernate.jdbc.fetch_size' value='500'/>\n"
+                + "</properties></persistence-unit></persistence>");
+        assertThat(settings.isBatchSizeConfigured()).isTrue();
+        assertThat(settings.isFetchSizeConfigured()).isTrue();
+    }
+
+    @Test
+    void read(@TempDir Path module) throws IOException {
+        Path resources = Files.createDirectories(module.resolve("src/main/resources"));
+        Files.writeString(resources.resolve("application.properties"), "spring.jpa.properties.hibernate.jdbc.batch_size=50");
+        Files.createDirectories(resources.resolve("config"));
+        Files.writeString(resources.resolve("config/application-prod.yml"), "spring:\n  jdbc:\n    template:\n      fetch-size: 500\n");
+        Files.writeString(resources.resolve("other.properties"), "hibernate.jdbc.fetch_size=500");
+        JdbcSettings settings = JdbcSettings.read(module);
+        assertThat(settings.isBatchSizeConfigured()).isTrue();
+        assertThat(settings.isFetchSizeConfigured()).isTrue();
+        assertThat(settings.getFiles()).hasSize(2);
+    }
+
+    @Test
+    void readPersistenceXml(@TempDir Path module) throws IOException {
+        Path metaInf = Files.createDirectories(module.resolve("src/main/resources/META-INF"));
+        Files.writeString(metaInf.resolve("persistence.xml"), "<property name=\"hibernate.jdbc.batch_size\" value=\"50\"/>");
+        Files.writeString(module.resolve("src/main/resources/persistence.xml"), "<property name=\"hibernate.jdbc.fetch_size\" value=\"50\"/>");
+        JdbcSettings settings = JdbcSettings.read(module);
+        assertThat(settings.isBatchSizeConfigured()).isTrue();
+        assertThat(settings.isFetchSizeConfigured()).isFalse();
+    }
+
+    @Test
+    void isUpToDate(@TempDir Path module) throws IOException {
+        Path resources = Files.createDirectories(module.resolve("src/main/resources"));
+        Path properties = Files.writeString(resources.resolve("application.properties"), "spring.jpa.properties.hibernate.jdbc.batch_size=50");
+        JdbcSettings settings = JdbcSettings.read(module);
+        assertThat(settings.isUpToDate(module)).isTrue();
+
+        Files.setLastModifiedTime(properties, FileTime.fromMillis(Files.getLastModifiedTime(properties).toMillis() + 1000));
+        assertThat(settings.isUpToDate(module)).isFalse();
+        settings = JdbcSettings.read(module);
+        assertThat(settings.isUpToDate(module)).isTrue();
+
+        Files.createDirectories(resources.resolve("config"));
+        Files.writeString(resources.resolve("config/application.yml"), "spring:\n  jdbc:\n    template:\n      fetch-size: 500\n");
+        assertThat(settings.isUpToDate(module)).isFalse();
+    }
+
+    @Test
+    void readWithoutResources(@TempDir Path module) {
+        JdbcSettings settings = JdbcSettings.read(module);
+        assertThat(settings.isBatchSizeConfigured()).isFalse();
+        assertThat(settings.getFiles()).isEmpty();
+    }
+
+}
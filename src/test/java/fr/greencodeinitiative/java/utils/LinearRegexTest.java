@@ -0,0 +1,87 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class LinearRegexTest {
+
+    @Test
+    void find() {
+        LinearRegex regex = LinearRegex.compileIgnoreCase("select\\s*\\*\\s*from");
+        assertThat(regex.find("   sElEcT * fRoM myTable")).isTrue();
+        assertThat(regex.find("SELECTABLE 2*2 FROMAGE")).isFalse();
+        assertThat(regex.pattern()).isEqualTo("select\\s*\\*\\s*from");
+    }
+
+    @Test
+    void matches() {
+        LinearRegex regex = LinearRegex.compile("[a-z]+");
+        assertThat(regex.matches("bob")).isTrue();
+        assertThat(regex.matches("bob ")).isFalse();
+        assertThat(LinearRegex.compileIgnoreCase("[a-z]+").matches("BOB")).isTrue();
+    }
+
+    @Test
+    void findAll() {
+        LinearRegex regex = LinearRegex.compile("name=\"([a-z.]+)\"");
+        assertThat(regex.findAll("<a name=\"b.c\"/><a name=\"d\"/>", 1)).containsExactly("b.c", "d");
+        assertThat(regex.findAll("<a/>", 1)).isEmpty();
+    }
+
+    @Test
+    void linearOnBacktrackingInput() {
+        // exponential with a backtracking engine
+        String text = "a".repeat(10_000) + "!";
+        assertThat(LinearRegex.compile("(a|aa)+$").find(text)).isFalse();
+    }
+
+    @Test
+    void noBacktrackingRegexInRules() throws IOException {
+        try (Stream<Path> sources = Files.walk(Paths.get("src/main/java"))) {
+            List<Path> offenders = sources
+                    .filter(path -> path.toString().endsWith(".java"))
+                    .filter(LinearRegexTest::usesJavaRegex)
+                    .collect(Collectors.toList());
+            assertThat(offenders)
+                    .describedAs("Rules must scan literals with " + LinearRegex.class.getSimpleName())
+                    .isEmpty();
+        }
+    }
+
+    private static boolean usesJavaRegex(Path path) {
+        try {
+            String source = Files.readString(path);
+            return source.contains("import java.util.regex.")
+                    || source.contains(".replaceAll(")
+                    || source.contains(".replaceFirst(")
+                    || source.contains(".split(");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.plugins.java.api.JavaFileScanner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The quick fixes rely on {@code org.sonar.java.reporting}, which is not part of the API of the Java analyzer : the
+ * checks must still report their issues when these classes are not available.
+ */
+class QuickFixesTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "IncrementCheck, IncrementCheck.java",
+            "InitializeBufferWithAppropriateSize, InitializeBufferWithAppropriateSize.java",
+            "FreeResourcesOfAutoCloseableInterface, FreeResourcesOfAutoCloseableInterface.java",
+            "AvoidGettingSizeCollectionInLoop, AvoidGettingSizeCollectionInForLoopBad.java",
+            "AvoidRegexPatternNotStatic, AvoidRegexPatternNotStatic.java"
+    })
+    void withoutReportingClasses(String check, String file) throws Exception {
+        try (WithoutReportingClassLoader classLoader = new WithoutReportingClassLoader()) {
+            Class<?> quickFixes = classLoader.loadClass(QuickFixes.class.getName());
+            assertThat(quickFixes.getMethod("isSupported").invoke(null)).isEqualTo(Boolean.FALSE);
+
+            Object instance = classLoader.loadClass("fr.greencodeinitiative.java.checks." + check).getConstructor().newInstance();
+            CheckVerifier.newVerifier()
+                    .onFile("src/test/files/" + file)
+                    .withCheck((JavaFileScanner) instance)
+                    .verifyIssues();
+        }
+    }
+
+    /**
+     * Loads the classes of the plugin, without the reporting classes of the Java analyzer.
+     */
+    private static class WithoutReportingClassLoader extends URLClassLoader {
+
+        WithoutReportingClassLoader() throws MalformedURLException {
+            super(new URL[]{Paths.get("target/classes").toUri().toURL()}, QuickFixesTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("org.sonar.java.reporting.")) {
+                throw new ClassNotFoundException(name);
+            }
+            if (!name.startsWith("fr.greencodeinitiative.java.")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                return loaded != null ? loaded : findClass(name);
+            }
+        }
+    }
+}
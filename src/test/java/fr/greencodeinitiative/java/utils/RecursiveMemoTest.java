@@ -0,0 +1,75 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecursiveMemoTest {
+
+    private final RecursiveMemo<String, Boolean> memo = new RecursiveMemo<>(Boolean.FALSE);
+    private final List<String> computed = new ArrayList<>();
+
+    @Test
+    void memoizedWithoutCycle() {
+        Map<String, List<String>> calls = Map.of("a", List.of("b"), "b", List.of());
+        assertThat(isBlocking("a", calls, Set.of("b"))).isTrue();
+        assertThat(isBlocking("b", calls, Set.of("b"))).isTrue();
+        assertThat(computed).containsExactly("a", "b");
+    }
+
+    @Test
+    void cycleThroughBlockingKey() {
+        // b is computed while a is in progress : it only blocks through a
+        Map<String, List<String>> calls = Map.of("a", List.of("b"), "b", List.of("a"));
+        assertThat(isBlocking("a", calls, Set.of("a"))).isTrue();
+        assertThat(isBlocking("b", calls, Set.of("a"))).isTrue();
+        assertThat(computed).containsExactly("a", "b", "b");
+    }
+
+    @Test
+    void cycleMemoizedWithOutermostKey() {
+        Map<String, List<String>> calls = Map.of("a", List.of("b"), "b", List.of("c", "a"), "c", List.of("b"));
+        assertThat(isBlocking("a", calls, Set.of())).isFalse();
+        assertThat(isBlocking("b", calls, Set.of())).isFalse();
+        assertThat(isBlocking("c", calls, Set.of())).isFalse();
+        assertThat(computed).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void clear() {
+        Map<String, List<String>> calls = Map.of("a", List.of());
+        isBlocking("a", calls, Set.of());
+        memo.clear();
+        isBlocking("a", calls, Set.of());
+        assertThat(computed).containsExactly("a", "a");
+    }
+
+    private boolean isBlocking(String method, Map<String, List<String>> calls, Set<String> blocking) {
+        return memo.get(method, key -> {
+            computed.add(key);
+            return calls.get(key).stream().anyMatch(callee -> isBlocking(callee, calls, blocking)) || blocking.contains(key);
+        });
+    }
+}
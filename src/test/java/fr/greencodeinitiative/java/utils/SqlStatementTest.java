@@ -0,0 +1,98 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import static fr.greencodeinitiative.java.utils.SqlStatement.Feature.LEADING_WILDCARD_LIKE;
+import static fr.greencodeinitiative.java.utils.SqlStatement.Feature.MISSING_WHERE;
+import static fr.greencodeinitiative.java.utils.SqlStatement.Feature.ORDER_BY_WITHOUT_LIMIT;
+import static fr.greencodeinitiative.java.utils.SqlStatement.Feature.SELECT_STAR;
+import static fr.greencodeinitiative.java.utils.SqlStatement.Feature.SELECT_WITHOUT_LIMIT;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementTest {
+
+    @Test
+    void notSql() {
+        assertThat(SqlStatement.parse("")).isNull();
+        assertThat(SqlStatement.parse("SELECTABLE 2*2 FROMAGE")).isNull();
+        assertThat(SqlStatement.parse("Please select a file")).isNull();
+        assertThat(SqlStatement.parse("Hello, please update the table")).isNull();
+        assertThat(SqlStatement.parse("CREATE TABLE persons(id INT)")).isNull();
+    }
+
+    @Test
+    void kind() {
+        assertThat(SqlStatement.parse("sElEcT id fRoM t").kind()).isEqualTo(SqlStatement.Kind.SELECT);
+        assertThat(SqlStatement.parse("insert into t values (1)").kind()).isEqualTo(SqlStatement.Kind.INSERT);
+        assertThat(SqlStatement.parse("UPDATE t SET a = 1").kind()).isEqualTo(SqlStatement.Kind.UPDATE);
+        assertThat(SqlStatement.parse("DELETE FROM t").kind()).isEqualTo(SqlStatement.Kind.DELETE);
+        assertThat(SqlStatement.parse("MERGE INTO t USING s ON (t.id = s.id)").kind()).isEqualTo(SqlStatement.Kind.MERGE);
+        assertThat(SqlStatement.parse("SELECT id FROM t").isDml()).isFalse();
+        assertThat(SqlStatement.parse("DELETE FROM t").isDml()).isTrue();
+    }
+
+    @Test
+    void selectStar() {
+        assertThat(SqlStatement.parse("SELECT     *FROM table").has(SELECT_STAR)).isTrue();
+        assertThat(SqlStatement.parse("SELECT DISTINCT * FROM t").has(SELECT_STAR)).isTrue();
+        assertThat(SqlStatement.parse("SELECT id FROM t WHERE id IN (SELECT * FROM s)").has(SELECT_STAR)).isTrue();
+        assertThat(SqlStatement.parse("SELECT count(*) FROM t").has(SELECT_STAR)).isFalse();
+        assertThat(SqlStatement.parse("SELECT id FROM t WHERE name = 'SELECT * FROM'").has(SELECT_STAR)).isFalse();
+        assertThat(SqlStatement.parse("SELECT id /* SELECT * */ FROM t").has(SELECT_STAR)).isFalse();
+    }
+
+    @Test
+    void missingWhere() {
+        assertThat(SqlStatement.parse("DELETE FROM t").has(MISSING_WHERE)).isTrue();
+        assertThat(SqlStatement.parse("UPDATE t SET a = 1 -- WHERE id = 1").has(MISSING_WHERE)).isTrue();
+        assertThat(SqlStatement.parse("UPDATE t SET a = 1 WHERE id = ?").has(MISSING_WHERE)).isFalse();
+        assertThat(SqlStatement.parse("DELETE FROM t" + SqlStatement.UNKNOWN).has(MISSING_WHERE)).isFalse();
+        assertThat(SqlStatement.parse("SELECT id FROM t").has(MISSING_WHERE)).isFalse();
+    }
+
+    @Test
+    void leadingWildcardLike() {
+        assertThat(SqlStatement.parse("SELECT id FROM t WHERE name LIKE '%bob'").has(LEADING_WILDCARD_LIKE)).isTrue();
+        assertThat(SqlStatement.parse("SELECT id FROM t WHERE name like '%it''s%'").has(LEADING_WILDCARD_LIKE)).isTrue();
+        assertThat(SqlStatement.parse("SELECT id FROM t WHERE name LIKE 'bob%'").has(LEADING_WILDCARD_LIKE)).isFalse();
+        assertThat(SqlStatement.parse("SELECT id FROM t WHERE name LIKE ?").has(LEADING_WILDCARD_LIKE)).isFalse();
+    }
+
+    @Test
+    void limit() {
+        assertThat(SqlStatement.parse("SELECT id FROM t ORDER BY id").has(ORDER_BY_WITHOUT_LIMIT)).isTrue();
+        assertThat(SqlStatement.parse("SELECT id FROM t ORDER BY id").has(SELECT_WITHOUT_LIMIT)).isTrue();
+        assertThat(SqlStatement.parse("SELECT id FROM t ORDER BY id LIMIT 10").has(ORDER_BY_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT id FROM t ORDER BY id FETCH FIRST 10 ROWS ONLY").has(ORDER_BY_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT TOP 10 id FROM t ORDER BY id").has(SELECT_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT id FROM t ORDER BY id" + SqlStatement.UNKNOWN).has(ORDER_BY_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT id FROM t WHERE id > " + SqlStatement.UNKNOWN).has(SELECT_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT id FROM t").has(ORDER_BY_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT count(*) FROM t").has(SELECT_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT max(id) FROM t GROUP BY name").has(SELECT_WITHOUT_LIMIT)).isTrue();
+        assertThat(SqlStatement.parse("SELECT u FROM User u WHERE u.id = :id").has(SELECT_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT name FROM t WHERE id = ? AND active = 1").has(SELECT_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT name FROM t WHERE id = 42").has(SELECT_WITHOUT_LIMIT)).isFalse();
+        assertThat(SqlStatement.parse("SELECT name FROM t WHERE id = ? OR name = ?").has(SELECT_WITHOUT_LIMIT)).isTrue();
+        assertThat(SqlStatement.parse("SELECT name FROM t JOIN o ON o.t_id = t.id WHERE t.id = ?").has(SELECT_WITHOUT_LIMIT)).isTrue();
+        assertThat(SqlStatement.parse("SELECT name FROM t WHERE parent_id = ?").has(SELECT_WITHOUT_LIMIT)).isTrue();
+        assertThat(SqlStatement.parse("SELECT name FROM t WHERE id > ?").has(SELECT_WITHOUT_LIMIT)).isTrue();
+    }
+
+}
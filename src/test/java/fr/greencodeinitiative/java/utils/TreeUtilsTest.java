@@ -0,0 +1,95 @@
+/*
+ * ecoCode - Java language - Provides rules to reduce the environmental footprint of your Java programs
+ * Copyright © 2023 Green Code Initiative (https://www.ecocode.io)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package fr.greencodeinitiative.java.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static fr.greencodeinitiative.java.utils.JavaParserTestUtils.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TreeUtilsTest {
+
+    private static final String SOURCE = "class A {\n" +
+            "  Runnable field = () -> a();\n" +
+            "  void m(java.util.List<String> list) {\n" +
+            "    for (int i = b(); i < c(); i++) {\n" +
+            "      d();\n" +
+            "      list.forEach(s -> e());\n" +
+            "      new Object() { void n() { f(); } };\n" +
+            "    }\n" +
+            "    for (String s : g()) { }\n" +
+            "    while (h()) { }\n" +
+            "  }\n" +
+            "  void a() {} int b() { return 0; } int c() { return 0; } void d() {} void e() {} void f() {}\n" +
+            "  java.util.List<String> g() { return null; } boolean h() { return false; }\n" +
+            "}\n";
+
+    @Test
+    void getEnclosingLoop() {
+        Map<String, MethodInvocationTree> calls = calls();
+        Tree loop = calls.get("d").parent().parent().parent();
+        assertThat(loop.is(Tree.Kind.FOR_STATEMENT)).isTrue();
+        assertThat(TreeUtils.getEnclosingLoop(calls.get("a"))).isNull();
+        // initializer executed once, condition at each iteration
+        assertThat(TreeUtils.getEnclosingLoop(calls.get("b"))).isNull();
+        assertThat(TreeUtils.getEnclosingLoop(calls.get("c"))).isSameAs(loop);
+        assertThat(TreeUtils.getEnclosingLoop(calls.get("d"))).isSameAs(loop);
+        // lambda and anonymous class bodies are not executed by the loop
+        assertThat(TreeUtils.getEnclosingLoop(calls.get("e"))).isNull();
+        assertThat(TreeUtils.getEnclosingLoop(calls.get("f"))).isNull();
+        // iterable of a for-each evaluated once, condition of a while at each iteration
+        assertThat(TreeUtils.getEnclosingLoop(calls.get("g"))).isNull();
+        assertThat(TreeUtils.getEnclosingLoop(calls.get("h"))).isNotNull();
+    }
+
+    @Test
+    void getEnclosingMethod() {
+        Map<String, MethodInvocationTree> calls = calls();
+        MethodTree method = TreeUtils.getEnclosingMethod(calls.get("d"));
+        assertThat(method.simpleName().name()).isEqualTo("m");
+        assertThat(TreeUtils.getEnclosingMethod(calls.get("a"))).isNull();
+        assertThat(TreeUtils.getEnclosingMethod(calls.get("e"))).isSameAs(method);
+        assertThat(TreeUtils.getEnclosingMethod(calls.get("f")).simpleName().name()).isEqualTo("n");
+        assertThat(TreeUtils.isInTree(calls.get("d"), method)).isTrue();
+        assertThat(TreeUtils.isInTree(calls.get("a"), method)).isFalse();
+    }
+
+    /**
+     * @return the invocations of the source, by method name
+     */
+    private static Map<String, MethodInvocationTree> calls() {
+        CompilationUnitTree tree = parse(SOURCE);
+        Map<String, MethodInvocationTree> calls = new HashMap<>();
+        tree.accept(new BaseTreeVisitor() {
+            @Override
+            public void visitMethodInvocation(MethodInvocationTree invocation) {
+                calls.put(invocation.methodSymbol().name(), invocation);
+                super.visitMethodInvocation(invocation);
+            }
+        });
+        return calls;
+    }
+}